@@ -1,6 +1,7 @@
 package ch.bfh;
 
 import ch.bfh.controller.CLIController;
+import ch.bfh.helper.BatchArgumentParser;
 
 import java.util.Locale;
 
@@ -12,6 +13,11 @@ public class Main {
         // Create CLIController
         CLIController cliController = new CLIController(locale);
 
+        // Run the whole pipeline without prompts if requested
+        if (BatchArgumentParser.isBatchMode(args)) {
+            System.exit(cliController.startBatch(args));
+        }
+
         // Start CLIController aka the program
         cliController.start(args);
     }
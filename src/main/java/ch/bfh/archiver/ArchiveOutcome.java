@@ -0,0 +1,138 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Describes how archiving a single URL with a single archiving service ended.
+ * <p>
+ * Besides the archived URL, the outcome holds the id of the job of services that archive asynchronously,
+ * the error of a failed attempt and when the archiving started and how long it took.
+ * </p>
+ *
+ * @param url         the URL that was archived
+ * @param serviceName the name of the archiving service
+ * @param status      how archiving the URL ended
+ * @param archivedUrl the archived URL, {@code "pending"} while the job of the service is still running, or null
+ * @param jobId       the id of the job of the service, or null if the service archives synchronously
+ * @param startedAt   when archiving the URL started
+ * @param duration    how long archiving the URL took
+ * @param error       the error of a failed attempt, or null
+ */
+public record ArchiveOutcome(String url, String serviceName, Status status, String archivedUrl, String jobId,
+                             Instant startedAt, Duration duration, ArchiverException error) {
+    /**
+     * Placeholder returned as archived URL while the job of the service is still running,
+     * like the synchronous {@link URLArchiver#archiveURL(String)} does.
+     */
+    public static final String PENDING = "pending";
+
+    /**
+     * How archiving a URL ended.
+     */
+    public enum Status {
+        /**
+         * The URL was archived by the service.
+         */
+        ARCHIVED,
+
+        /**
+         * The service accepted the URL and archives it in a job that is still running.
+         */
+        PENDING,
+
+        /**
+         * The URL was archived recently, the cached archived URL was used instead of calling the service.
+         */
+        CACHED,
+
+        /**
+         * The service was unavailable and not called.
+         */
+        UNAVAILABLE,
+
+        /**
+         * Archiving the URL failed.
+         */
+        FAILED
+    }
+
+    /**
+     * Creates the outcome of a URL archived by the service.
+     *
+     * @param url         the URL that was archived
+     * @param serviceName the name of the archiving service
+     * @param archivedUrl the archived URL
+     * @param startedAt   when archiving the URL started
+     * @return the outcome
+     */
+    public static ArchiveOutcome archived(String url, String serviceName, String archivedUrl, Instant startedAt) {
+        return new ArchiveOutcome(url, serviceName, Status.ARCHIVED, archivedUrl, null, startedAt, since(startedAt), null);
+    }
+
+    /**
+     * Creates the outcome of a URL accepted by the service and archived in a job that is still running.
+     *
+     * @param url         the URL that was archived
+     * @param serviceName the name of the archiving service
+     * @param jobId       the id of the job of the service
+     * @param startedAt   when archiving the URL started
+     * @return the outcome
+     */
+    public static ArchiveOutcome pending(String url, String serviceName, String jobId, Instant startedAt) {
+        return new ArchiveOutcome(url, serviceName, Status.PENDING, PENDING, jobId, startedAt, since(startedAt), null);
+    }
+
+    /**
+     * Creates the outcome of a URL that was archived recently and taken from the cache.
+     *
+     * @param url         the URL that was archived
+     * @param serviceName the name of the archiving service
+     * @param archivedUrl the cached archived URL
+     * @return the outcome
+     */
+    public static ArchiveOutcome cached(String url, String serviceName, String archivedUrl) {
+        return new ArchiveOutcome(url, serviceName, Status.CACHED, archivedUrl, null, Instant.now(), Duration.ZERO, null);
+    }
+
+    /**
+     * Creates the outcome of a URL that was not archived because the service was unavailable.
+     *
+     * @param url         the URL that was archived
+     * @param serviceName the name of the archiving service
+     * @param startedAt   when archiving the URL started
+     * @return the outcome
+     */
+    public static ArchiveOutcome unavailable(String url, String serviceName, Instant startedAt) {
+        return new ArchiveOutcome(url, serviceName, Status.UNAVAILABLE, null, null, startedAt, since(startedAt), null);
+    }
+
+    /**
+     * Creates the outcome of a URL that could not be archived.
+     *
+     * @param url         the URL that was archived
+     * @param serviceName the name of the archiving service
+     * @param error       the error of the last attempt
+     * @param startedAt   when archiving the URL started
+     * @return the outcome
+     */
+    public static ArchiveOutcome failed(String url, String serviceName, ArchiverException error, Instant startedAt) {
+        return new ArchiveOutcome(url, serviceName, Status.FAILED, null, null, startedAt, since(startedAt), error);
+    }
+
+    /**
+     * Returns the archived URL if the service archived the URL, accepted it or it was taken from the cache.
+     *
+     * @return the archived URL, or an empty optional if there is none
+     */
+    public Optional<String> getArchivedUrl() {
+        return archivedUrl == null || archivedUrl.isEmpty() ? Optional.empty() : Optional.of(archivedUrl);
+    }
+
+    private static Duration since(Instant startedAt) {
+        return Duration.between(startedAt, Instant.now());
+    }
+}
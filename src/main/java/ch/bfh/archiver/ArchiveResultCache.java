@@ -0,0 +1,194 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiveCacheException;
+import ch.bfh.model.archiving.ArchiveCacheEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of the URLs archived in earlier runs, stored as JSON file next to the pending jobs.
+ * <p>
+ * For every extracted URL and archiving service, the latest archived URL and the time it was archived are kept.
+ * As long as an entry is younger than the freshness window, the {@link ArchiverManager} uses it instead of
+ * asking the service to archive the URL again. Expired entries are dropped when the cache is saved.
+ * </p>
+ * <p>
+ * The cache can be used by multiple threads at the same time.
+ * </p>
+ */
+public class ArchiveResultCache {
+    /**
+     * Default location of the cache file.
+     */
+    public static final String DEFAULT_ARCHIVE_CACHE_FILE_PATH = "src/main/resources/archive_cache.json";
+
+    private static final String PENDING = "pending";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path cacheFile;
+    private final Duration freshness;
+    private final Clock clock;
+    private final Map<String, ArchiveCacheEntry> entries = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    /**
+     * Creates an empty cache that is saved to the given file.
+     *
+     * @param cacheFile the file the cache is saved to
+     * @param freshness how long an archived URL is used instead of archiving the URL again
+     */
+    public ArchiveResultCache(Path cacheFile, Duration freshness) {
+        this(cacheFile, freshness, Clock.systemUTC());
+    }
+
+    /**
+     * Creates an empty cache that is saved to the given file, using the given clock to date the entries.
+     *
+     * @param cacheFile the file the cache is saved to
+     * @param freshness how long an archived URL is used instead of archiving the URL again
+     * @param clock     the clock used to date and expire the entries
+     */
+    ArchiveResultCache(Path cacheFile, Duration freshness, Clock clock) {
+        this.cacheFile = cacheFile;
+        this.freshness = freshness;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the cache from the default cache file.
+     *
+     * @param freshness how long an archived URL is used instead of archiving the URL again
+     * @return the loaded cache, empty if the file does not exist yet
+     * @throws ArchiveCacheException if the cache file cannot be read
+     */
+    public static ArchiveResultCache load(Duration freshness) throws ArchiveCacheException {
+        return load(Path.of(DEFAULT_ARCHIVE_CACHE_FILE_PATH), freshness);
+    }
+
+    /**
+     * Loads the cache from the given file.
+     *
+     * @param cacheFile the file the cache is read from and saved to
+     * @param freshness how long an archived URL is used instead of archiving the URL again
+     * @return the loaded cache, empty if the file does not exist yet
+     * @throws ArchiveCacheException if the cache file cannot be read
+     */
+    public static ArchiveResultCache load(Path cacheFile, Duration freshness) throws ArchiveCacheException {
+        return load(cacheFile, freshness, Clock.systemUTC());
+    }
+
+    /**
+     * Loads the cache from the given file, using the given clock to date and expire the entries.
+     *
+     * @param cacheFile the file the cache is read from and saved to
+     * @param freshness how long an archived URL is used instead of archiving the URL again
+     * @param clock     the clock used to date and expire the entries
+     * @return the loaded cache, empty if the file does not exist yet
+     * @throws ArchiveCacheException if the cache file cannot be read
+     */
+    static ArchiveResultCache load(Path cacheFile, Duration freshness, Clock clock) throws ArchiveCacheException {
+        ArchiveResultCache cache = new ArchiveResultCache(cacheFile, freshness, clock);
+        if (!Files.isRegularFile(cacheFile)) {
+            return cache;
+        }
+
+        try {
+            List<ArchiveCacheEntry> entries = OBJECT_MAPPER.readValue(cacheFile.toFile(),
+                    new TypeReference<List<ArchiveCacheEntry>>() {
+                    });
+            for (ArchiveCacheEntry entry : entries) {
+                cache.entries.put(getKey(entry.getExtractedUrl(), entry.getServiceName()), entry);
+            }
+        } catch (IOException e) {
+            throw new ArchiveCacheException("Error reading archive result cache: " + e.getMessage());
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the archived URL of an extracted URL if the service archived it within the freshness window.
+     *
+     * @param extractedUrl the URL to archive
+     * @param serviceName  the name of the archiving service
+     * @return the archived URL, or an empty optional if there is no fresh entry
+     */
+    public Optional<String> lookup(String extractedUrl, String serviceName) {
+        ArchiveCacheEntry entry = entries.get(getKey(extractedUrl, serviceName));
+        if (entry == null || !isFresh(entry)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.getArchivedUrl());
+    }
+
+    /**
+     * Stores the archived URL of an extracted URL, dated with the current time.
+     * Placeholders of jobs that are not finished yet are ignored.
+     *
+     * @param extractedUrl the URL that was archived
+     * @param serviceName  the name of the archiving service
+     * @param archivedUrl  the URL of the archived copy
+     */
+    public void store(String extractedUrl, String serviceName, String archivedUrl) {
+        if (archivedUrl == null || archivedUrl.isEmpty() || archivedUrl.equals(PENDING)) {
+            return;
+        }
+        entries.put(getKey(extractedUrl, serviceName),
+                new ArchiveCacheEntry(extractedUrl, serviceName, archivedUrl, clock.millis()));
+        modified = true;
+    }
+
+    /**
+     * Saves the cache to its file if it changed since it was loaded. Expired entries are removed before saving.
+     *
+     * @throws ArchiveCacheException if the cache file cannot be written
+     */
+    public void save() throws ArchiveCacheException {
+        if (entries.values().removeIf(entry -> !isFresh(entry))) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+
+        List<ArchiveCacheEntry> sortedEntries = new ArrayList<>(entries.values());
+        sortedEntries.sort(Comparator.comparing(ArchiveCacheEntry::getExtractedUrl).thenComparing(ArchiveCacheEntry::getServiceName));
+        try {
+            OBJECT_MAPPER.writeValue(cacheFile.toFile(), sortedEntries);
+            modified = false;
+        } catch (IOException e) {
+            throw new ArchiveCacheException("Error writing archive result cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of cached archived URLs, including expired ones not removed yet.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isFresh(ArchiveCacheEntry entry) {
+        return Instant.ofEpochMilli(entry.getArchivedAt()).plus(freshness).isAfter(clock.instant());
+    }
+
+    private static String getKey(String extractedUrl, String serviceName) {
+        return serviceName + " " + extractedUrl;
+    }
+}
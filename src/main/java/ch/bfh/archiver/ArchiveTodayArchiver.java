@@ -1,6 +1,8 @@
 package ch.bfh.archiver;
 
 import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.helper.WebDriverPool;
+import ch.bfh.model.ConfigModel;
 import com.titusfortner.logging.SeleniumLogger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
@@ -16,8 +18,6 @@ import java.util.List;
 import java.util.logging.Level;
 
 
-import static ch.bfh.helper.WebDriverFactory.getWebDriver;
-
 /**
  * Implementation of the URLArchiver interface for the Archive.today service.
  * This class provides the mechanism to archive URLs using Archive.today's archiving capabilities.
@@ -43,6 +43,27 @@ public class ArchiveTodayArchiver implements URLArchiver {
     }
 
     private final boolean automated = false;
+    private final WebDriverPool webDriverPool;
+
+    /**
+     * Constructs an ArchiveTodayArchiver using a pool with the default number of browser sessions.
+     */
+    public ArchiveTodayArchiver() {
+        this(new WebDriverPool(ConfigModel.DEFAULT_WEB_DRIVER_POOL_SIZE, ConfigModel.DEFAULT_WEB_DRIVER_MAX_USES));
+    }
+
+    /**
+     * Constructs an ArchiveTodayArchiver using the browser sessions of the given pool.
+     *
+     * @param webDriverPool the pool the browser sessions are borrowed from
+     */
+    public ArchiveTodayArchiver(WebDriverPool webDriverPool) {
+        this.webDriverPool = webDriverPool;
+    }
+
+    public WebDriverPool getWebDriverPool() {
+        return webDriverPool;
+    }
 
     /**
      * Archives the given URL using the Archive.today service.
@@ -56,7 +77,8 @@ public class ArchiveTodayArchiver implements URLArchiver {
             throw new IllegalArgumentException("URL cannot be null or empty");
         }
 
-        WebDriver driver = getWebDriver();
+        WebDriver driver = webDriverPool.borrow();
+        boolean broken = false;
         String archivedUrl;
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
 
@@ -97,9 +119,20 @@ public class ArchiveTodayArchiver implements URLArchiver {
         } catch (TimeoutException e) {
             throw new ArchiverException("The URL could not be archived in less than five minutes!");
         } catch (ConnectionFailedException e) {
+            broken = true;
             throw new ArchiverException("The browser was closed or the network connection was closed!");
         } finally {
-            driver.quit();
+            // An interrupted thread was cancelled, so the browser is quit instead of being left on an unsolved CAPTCHA.
+            // The interrupt is cleared while quitting, otherwise the browser could not be reached anymore.
+            boolean interrupted = Thread.interrupted();
+            if (broken || interrupted) {
+                webDriverPool.invalidate(driver);
+            } else {
+                webDriverPool.release(driver);
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
         return archivedUrl;
     }
@@ -0,0 +1,330 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import ch.bfh.helper.HttpClientFactory;
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.FileModel;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Archiver implementation for the Archive.today service that submits URLs with plain HTTP requests.
+ * <p>
+ * The submit form is read for its submission id, the URL is posted to the submit endpoint and the snapshot that is
+ * still being captured is looked up until it is done. Archive.today sometimes answers with a CAPTCHA instead. Only
+ * then the URL is handed to the fallback archiver, which drives a browser so the user can solve the CAPTCHA.
+ * </p>
+ */
+public class ArchiveTodayHttpArchiver implements URLArchiver {
+    private static final String SERVICE_NAME = "ArchiveToday";
+    private static final String SERVICE_URL = "https://archive.today/";
+    private static final String CONTENT_TYPE = "application/x-www-form-urlencoded";
+    // Archive.today rejects requests without the user agent of a browser
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64; rv:128.0) Gecko/20100101 Firefox/128.0";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration POLLING_INTERVAL = Duration.ofSeconds(2);
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+    private static final int MAX_REDIRECTS = 5;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final String WORK_IN_PROGRESS_PATH = "/wip/";
+    private static final Pattern SUBMIT_ID = Pattern.compile("name=\"submitid\"\\s+value=\"([^\"]*)\"");
+    private static final Pattern REFRESH_URL = Pattern.compile("url=(\\S+)", Pattern.CASE_INSENSITIVE);
+    /**
+     * Parts of the pages of reCAPTCHA, hCaptcha and Cloudflare that only appear if a CAPTCHA has to be solved.
+     */
+    private static final List<String> CAPTCHA_MARKERS = List.of("g-recaptcha", "h-captcha", "cf-turnstile", "challenge-form");
+
+    private final HttpClient httpClient;
+    private final URI serviceUrl;
+    private final URLArchiver captchaFallback;
+    private final Duration pollingInterval;
+    private final Duration timeout;
+
+    /**
+     * Constructs a new ArchiveTodayHttpArchiver using the shared HTTP client.
+     *
+     * @param config          Configuration model holding the HTTP client settings.
+     * @param captchaFallback Archiver used if a CAPTCHA has to be solved, or null to fail instead.
+     */
+    public ArchiveTodayHttpArchiver(ConfigModel config, URLArchiver captchaFallback) {
+        this(HttpClientFactory.getHttpClient(config), SERVICE_URL, captchaFallback, POLLING_INTERVAL, TIMEOUT);
+    }
+
+    /**
+     * Constructs a new ArchiveTodayHttpArchiver talking to the given endpoint instead of Archive.today.
+     *
+     * @param httpClient      HTTP client used for all requests.
+     * @param serviceUrl      URL of the submit form, ending with a slash.
+     * @param captchaFallback Archiver used if a CAPTCHA has to be solved, or null to fail instead.
+     * @param pollingInterval Time between two lookups of a snapshot that is still being captured.
+     * @param timeout         Maximum time to wait for a snapshot to be captured.
+     */
+    ArchiveTodayHttpArchiver(HttpClient httpClient, String serviceUrl, URLArchiver captchaFallback,
+                             Duration pollingInterval, Duration timeout) {
+        this.httpClient = httpClient;
+        this.serviceUrl = URI.create(serviceUrl);
+        this.captchaFallback = captchaFallback;
+        this.pollingInterval = pollingInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Archives the given URL using the Archive.today service.
+     *
+     * @param url The URL to be archived.
+     * @return The URL of the snapshot.
+     * @throws ArchiverException if the URL could not be archived.
+     */
+    @Override
+    public String archiveURL(String url) throws ArchiverException {
+        return archiveURL(url, null);
+    }
+
+    /**
+     * Archives the given URL using the Archive.today service, falling back to the browser if a CAPTCHA is required.
+     *
+     * @param url       The URL to be archived.
+     * @param fileModel The file the URL was extracted from, passed on to the fallback archiver.
+     * @return The URL of the snapshot.
+     * @throws ArchiverException if the URL could not be archived.
+     */
+    @Override
+    public String archiveURL(String url, FileModel fileModel) throws ArchiverException {
+        return Futures.await(archiveAsync(url, fileModel)).archivedUrl();
+    }
+
+    /**
+     * Archives the given URL using the Archive.today service without blocking the calling thread.
+     * The requests are sent asynchronously and the snapshot is looked up with a delay between two lookups
+     * instead of a sleeping thread. If a CAPTCHA is required, the asynchronous call of the fallback archiver is used.
+     * Cancelling the returned future cancels the request in flight, the next lookup or the fallback archiver.
+     *
+     * @param url       The URL to be archived.
+     * @param fileModel The file the URL was extracted from, passed on to the fallback archiver.
+     * @return A future completing with the outcome holding the URL of the snapshot.
+     */
+    @Override
+    public CompletableFuture<ArchiveOutcome> archiveAsync(String url, FileModel fileModel) {
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("URL cannot be null or empty");
+        }
+
+        Instant startedAt = Instant.now();
+        CompletableFuture<Void> cancellation = new CompletableFuture<>();
+        CompletableFuture<ArchiveOutcome> outcome = followRedirectsAsync(createGetRequest(serviceUrl), MAX_REDIRECTS, cancellation)
+                .thenCompose(form -> {
+                    if (requiresCaptcha(form)) {
+                        return archiveWithFallback(url, fileModel, cancellation);
+                    }
+                    validate(form);
+                    HttpRequest submitRequest = createSubmitRequest(form.uri().resolve("submit/"), getSubmitId(form.body()), url);
+                    return sendAsync(submitRequest, cancellation).thenCompose(submitted -> {
+                        if (requiresCaptcha(submitted)) {
+                            return archiveWithFallback(url, fileModel, cancellation);
+                        }
+                        validate(submitted);
+                        URI snapshotUrl = getSnapshotUrl(submitted).orElseThrow(() ->
+                                new CompletionException(new ArchiverException("Unexpected response while archiving URL: " + url)));
+                        return awaitSnapshot(snapshotUrl, System.nanoTime() + timeout.toNanos(), cancellation)
+                                .thenApply(archivedUrl -> ArchiveOutcome.archived(url, SERVICE_NAME, archivedUrl.toString(), startedAt));
+                    });
+                })
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(
+                        Futures.toArchiverException(error, "IO error occurred while archiving URL: " + url)));
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                cancellation.complete(null);
+            }
+        });
+        return outcome;
+    }
+
+    /**
+     * Looks up a snapshot that is still being captured until Archive.today redirects to the finished snapshot.
+     *
+     * @param snapshotUrl  The URL of the snapshot returned by the submit endpoint.
+     * @param deadline     The {@link System#nanoTime()} after which the snapshot is not looked up anymore.
+     * @param cancellation The signal completing when archiving the URL is cancelled.
+     * @return A future completing with the URL of the finished snapshot, or with an {@link ArchiverException}
+     * if the snapshot is not finished in time.
+     */
+    private CompletableFuture<URI> awaitSnapshot(URI snapshotUrl, long deadline, CompletableFuture<Void> cancellation) {
+        if (!snapshotUrl.getPath().startsWith(WORK_IN_PROGRESS_PATH)) {
+            return CompletableFuture.completedFuture(snapshotUrl);
+        }
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.failedFuture(new ArchiverException(
+                    "The URL could not be archived in less than " + timeout.toMinutes() + " minutes!"));
+        }
+
+        return sendAsync(createGetRequest(snapshotUrl), cancellation).thenCompose(response -> {
+            validate(response);
+            Optional<URI> location = getSnapshotUrl(response);
+            if (location.isEmpty() || !location.get().getPath().startsWith(WORK_IN_PROGRESS_PATH)) {
+                return CompletableFuture.completedFuture(location.orElse(
+                        snapshotUrl.resolve("/" + snapshotUrl.getPath().substring(WORK_IN_PROGRESS_PATH.length()))));
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(pollingInterval.toMillis(), TimeUnit.MILLISECONDS);
+            return Futures.cancelOn(cancellation, CompletableFuture.supplyAsync(() -> snapshotUrl, delayed))
+                    .thenCompose(url -> awaitSnapshot(url, deadline, cancellation));
+        });
+    }
+
+    private CompletableFuture<ArchiveOutcome> archiveWithFallback(String url, FileModel fileModel,
+                                                                  CompletableFuture<Void> cancellation) {
+        if (captchaFallback == null) {
+            return CompletableFuture.failedFuture(
+                    new ArchiverException("Archive.today requires solving a CAPTCHA to archive URL: " + url));
+        }
+        return Futures.cancelOn(cancellation, captchaFallback.archiveAsync(url, fileModel));
+    }
+
+    /**
+     * Checks if the Archive.today service responds. A CAPTCHA page counts as available,
+     * because the URL can still be archived with the fallback archiver.
+     *
+     * @return true if the service is available, false otherwise.
+     */
+    @Override
+    public boolean isAvailable() {
+        try {
+            return Futures.await(followRedirectsAsync(createGetRequest(serviceUrl), MAX_REDIRECTS, new CompletableFuture<>())).statusCode() < SERVER_ERROR;
+        } catch (ArchiverException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the name of the archiving service.
+     * It is the same as the name of the browser based archiver, so both share their settings and results.
+     *
+     * @return A string representing the name of the service.
+     */
+    @Override
+    public String getServiceName() {
+        return SERVICE_NAME;
+    }
+
+    /**
+     * Checks if the archiving service is automated.
+     *
+     * @return true if no browser is opened when a CAPTCHA is required, false otherwise.
+     */
+    @Override
+    public boolean isAutomated() {
+        return captchaFallback == null || captchaFallback.isAutomated();
+    }
+
+    /**
+     * Checks if a response is a CAPTCHA page instead of the requested page.
+     *
+     * @param response The response to check.
+     * @return true if a CAPTCHA has to be solved, false otherwise.
+     */
+    static boolean requiresCaptcha(HttpResponse<String> response) {
+        String body = response.body() == null ? "" : response.body().toLowerCase(Locale.ROOT);
+        return CAPTCHA_MARKERS.stream().anyMatch(body::contains);
+    }
+
+    /**
+     * Reads the URL of the snapshot from a redirect or from the refresh header of a snapshot still being captured.
+     *
+     * @param response The response of the submit endpoint or of a snapshot lookup.
+     * @return The URL of the snapshot, or empty if the response does not point to one.
+     */
+    static Optional<URI> getSnapshotUrl(HttpResponse<String> response) {
+        Optional<String> location = isRedirect(response)
+                ? response.headers().firstValue("Location")
+                : response.headers().firstValue("Refresh").flatMap(refresh -> {
+            Matcher matcher = REFRESH_URL.matcher(refresh);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        });
+        return location.map(response.uri()::resolve);
+    }
+
+    private static String getSubmitId(String body) {
+        Matcher matcher = SUBMIT_ID.matcher(body == null ? "" : body);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    private static boolean isRedirect(HttpResponse<String> response) {
+        return response.statusCode() >= 300 && response.statusCode() < 400;
+    }
+
+    private CompletableFuture<HttpResponse<String>> followRedirectsAsync(HttpRequest request, int redirectsLeft,
+                                                                       CompletableFuture<Void> cancellation) {
+        return sendAsync(request, cancellation).thenCompose(response -> {
+            Optional<String> location = response.headers().firstValue("Location");
+            if (redirectsLeft <= 0 || !isRedirect(response) || location.isEmpty()) {
+                return CompletableFuture.completedFuture(response);
+            }
+            return followRedirectsAsync(createGetRequest(response.uri().resolve(location.get())), redirectsLeft - 1, cancellation);
+        });
+    }
+
+    private HttpRequest createGetRequest(URI uri) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .header("User-Agent", USER_AGENT)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest createSubmitRequest(URI uri, String submitId, String url) {
+        String postData = "submitid=" + URLEncoder.encode(submitId, StandardCharsets.UTF_8)
+                + "&url=" + URLEncoder.encode(url, StandardCharsets.UTF_8)
+                + "&anyway=1";
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .header("User-Agent", USER_AGENT)
+                .header("Content-Type", CONTENT_TYPE)
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(postData))
+                .build();
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request, CompletableFuture<Void> cancellation) {
+        return Futures.cancelOn(cancellation, this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    private static void validate(HttpResponse<String> response) {
+        try {
+            validateResponse(response);
+        } catch (ArchiverException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static void validateResponse(HttpResponse<String> response) throws ArchiverException {
+        if (response.statusCode() == TOO_MANY_REQUESTS) {
+            throw new ArchiverThrottledException("Too many requests: " + response.statusCode(),
+                    WaybackMachineJobPoller.parseRetryAfter(response).orElse(null));
+        }
+        if (response.statusCode() >= SERVER_ERROR) {
+            throw new ArchiverTransientException("Server error " + response.statusCode());
+        }
+        if (response.statusCode() >= 400) {
+            throw new ArchiverException("Non-successful response: " + response.statusCode());
+        }
+    }
+}
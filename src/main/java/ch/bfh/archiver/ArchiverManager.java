@@ -1,16 +1,67 @@
 package ch.bfh.archiver;
 
 import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import ch.bfh.model.FileModel;
+import ch.bfh.model.FolderModel;
+import ch.bfh.model.URLPair;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * Manages a collection of URL archivers and provides functionality
  * to archive URLs using selected archiving services.
+ * <p>
+ * If an {@link ArchiveResultCache} is set, URLs archived recently by a service are taken from the cache
+ * instead of being sent to the service again.
+ * </p>
+ * <p>
+ * The requests sent to every service are limited by its {@link RateLimiter}. If a service throttles a request,
+ * its rate limiter pauses all further requests to it, while the other services continue.
+ * Calls failing with a transient error are retried according to the {@link RetryPolicy}.
+ * </p>
+ * <p>
+ * The availability of every service is tracked by its {@link CircuitBreaker}. A service is only checked again
+ * once its cached availability expired, and it is not called anymore after repeated failures until a probe
+ * succeeds.
+ * </p>
+ * <p>
+ * {@link #archiveAsync(String, List, FileModel)} archives a URL with all selected services at the same time,
+ * using the asynchronous {@link URLArchiver#archiveAsync(String, FileModel)} of every archiver.
+ * {@link #archiveConcurrently(String, List, FileModel, ArchiverResultListener)} waits for them, at most for the
+ * archive timeout of every service, and combines their results.
+ * </p>
  */
 public class ArchiverManager {
+    /**
+     * Number of URLs an archiver processes at the same time in a batch run, unless configured otherwise.
+     */
+    public static final int DEFAULT_CONCURRENCY_LIMIT = 4;
+
+    /**
+     * Time an archiver may take to archive a URL when all archivers archive it at the same time,
+     * unless configured otherwise.
+     */
+    public static final Duration DEFAULT_ARCHIVE_TIMEOUT = Duration.ofMinutes(5);
+
     private final Map<String, URLArchiver> archivers = new HashMap<>();
+    private final Map<String, Integer> concurrencyLimits = new HashMap<>();
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, Duration> archiveTimeouts = new ConcurrentHashMap<>();
+    private ArchiveResultCache archiveResultCache;
+    private RetryPolicy retryPolicy = RetryPolicy.noRetries();
 
     /**
      * Adds an archiver to the manager using its service name as the key.
@@ -84,12 +135,72 @@ public class ArchiverManager {
     }
 
 
+    /**
+     * Sets the cache of recently archived URLs used to skip archiving them again.
+     *
+     * @param archiveResultCache the cache, or {@code null} to always archive the URLs
+     */
+    public void setArchiveResultCache(ArchiveResultCache archiveResultCache) {
+        this.archiveResultCache = archiveResultCache;
+    }
+
+    /**
+     * Sets the circuit breaker tracking the availability of the archiver with the given service name.
+     *
+     * @param serviceName    the service name of the archiver
+     * @param circuitBreaker the circuit breaker of the service
+     */
+    public void setCircuitBreaker(String serviceName, CircuitBreaker circuitBreaker) {
+        circuitBreakers.put(serviceName, circuitBreaker);
+    }
+
+    /**
+     * Returns the circuit breaker tracking the availability of the archiver with the given service name.
+     * If none was set, one with the default settings is created.
+     *
+     * @param serviceName the service name of the archiver
+     * @return the circuit breaker of the service
+     */
+    public CircuitBreaker getCircuitBreaker(String serviceName) {
+        return circuitBreakers.computeIfAbsent(serviceName, name -> new CircuitBreaker());
+    }
+
+    /**
+     * Checks whether the given archiver is available. The archiver itself is only asked if its cached
+     * availability expired or its circuit breaker probes it.
+     *
+     * @param archiver the archiver to check
+     * @return true if the archiver is available, false otherwise
+     */
+    public boolean isAvailable(URLArchiver archiver) {
+        return getCircuitBreaker(archiver.getServiceName()).isAvailable(archiver::isAvailable);
+    }
+
+    /**
+     * Sets the policy used to retry archiving calls that failed with a transient error.
+     *
+     * @param retryPolicy the retry policy
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Returns the policy used to retry archiving calls, holding the retry metrics of all runs.
+     *
+     * @return the retry policy, attempting every call only once unless another policy was set
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     /**
      * Archives a URL using the selected archivers.
      * <p>
      * This method processes the given URL with each archiver provided in the list of selected archivers.
      * It attempts to archive the URL using each archiver and collects the results. If an archiver is
      * unavailable, it is noted, and its service name is added to a list of unavailable archivers.
+     * Archivers that archived the URL recently are not called at all, their cached archived URL is used instead.
      * </p>
      * <p>
      * The method returns an {@link ArchiverResult} object containing two lists:
@@ -112,10 +223,14 @@ public class ArchiverManager {
         List<String> unavailableArchivers = new ArrayList<>();
 
         for (URLArchiver archiver : selectedArchivers) {
-            if (archiver.isAvailable()) {
-                String archivedUrl = archiver.archiveURL(url);
+            Optional<String> cachedUrl = getCachedArchivedURL(url, archiver);
+            if (cachedUrl.isPresent()) {
+                archivedUrls.add(cachedUrl.get());
+            } else if (isAvailable(archiver)) {
+                String archivedUrl = archiveLimited(archiver, url, null);
                 if (archivedUrl != null && !archivedUrl.isEmpty()) {
                     archivedUrls.add(archivedUrl);
+                    cacheArchivedURL(url, archiver, archivedUrl);
                 }
             } else {
                 unavailableArchivers.add(archiver.getServiceName());
@@ -123,4 +238,480 @@ public class ArchiverManager {
         }
         return new ArchiverResult(archivedUrls, unavailableArchivers);
     }
+
+    /**
+     * Archives a URL with all selected archivers at the same time and combines their results.
+     * <p>
+     * The method returns once all archivers are done or their {@link #getArchiveTimeout(String) timeout} expired,
+     * so it takes as long as the slowest archiver instead of all archivers together. An archiver that failed or did
+     * not finish in time is reported to the listener and left out of the result. An archiver that did not finish in
+     * time is cancelled, which releases its rate limiter permit and stops its requests or its browser.
+     * </p>
+     *
+     * @param url               the URL to be archived.
+     * @param selectedArchivers the archivers to archive the URL with.
+     * @param fileModel         the file the URL was extracted from, or null to let the archivers decide.
+     * @param listener          receives the errors of the archivers and the combined result.
+     * @return the archived URLs, in the order of the selected archivers, and the unavailable archivers.
+     */
+    public ArchiverResult archiveConcurrently(String url, List<URLArchiver> selectedArchivers, FileModel fileModel,
+                                              ArchiverResultListener listener) {
+        Instant startedAt = Instant.now();
+        List<CompletableFuture<ArchiveOutcome>> outcomes = selectedArchivers.stream()
+                .map(archiver -> withTimeout(archiver, url, fileModel, startedAt))
+                .toList();
+
+        List<String> archivedUrls = new ArrayList<>();
+        List<String> unavailableArchivers = new ArrayList<>();
+        for (int i = 0; i < selectedArchivers.size(); i++) {
+            URLArchiver archiver = selectedArchivers.get(i);
+            // Never completes exceptionally and at the latest once the timeout of the archiver expired
+            ArchiveOutcome outcome = outcomes.get(i).join();
+            switch (outcome.status()) {
+                case UNAVAILABLE -> unavailableArchivers.add(archiver.getServiceName());
+                case FAILED -> listener.onError(fileModel, url, archiver, outcome.error());
+                default -> outcome.getArchivedUrl().ifPresent(archivedUrls::add);
+            }
+        }
+
+        ArchiverResult result = new ArchiverResult(archivedUrls, unavailableArchivers);
+        listener.onResult(fileModel, url, result);
+        return result;
+    }
+
+    /**
+     * Archives a URL with a single archiver, cancelling the archiver once its archive timeout expired.
+     *
+     * @param archiver  the archiver to archive the URL with.
+     * @param url       the URL to be archived.
+     * @param fileModel the file the URL was extracted from, or null to let the archiver decide.
+     * @param startedAt when archiving the URL started.
+     * @return a future completing with the outcome, or with a failed outcome once the timeout expired.
+     */
+    private CompletableFuture<ArchiveOutcome> withTimeout(URLArchiver archiver, String url, FileModel fileModel,
+                                                          Instant startedAt) {
+        String serviceName = archiver.getServiceName();
+        Duration timeout = getArchiveTimeout(serviceName);
+        CompletableFuture<Void> cancellation = new CompletableFuture<>();
+        return archiveAsync(archiver, url, fileModel, cancellation).copy()
+                .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(result -> {
+                    if (result != null) {
+                        return result;
+                    }
+                    cancellation.complete(null);
+                    return ArchiveOutcome.failed(url, serviceName, new ArchiverException(
+                            serviceName + " did not archive the URL within " + timeout.toSeconds() + " seconds: " + url), startedAt);
+                });
+    }
+
+    /**
+     * Archives a URL with all selected archivers at the same time.
+     * <p>
+     * Unlike {@link #archive(String, List)}, the archivers do not wait for each other and the calling thread is not
+     * blocked. Cached archived URLs, the availability, rate limits, circuit breakers and retries are handled like in
+     * the synchronous methods. Every archiver yields one {@link ArchiveOutcome}; a failed archiver yields an outcome
+     * holding its error instead of failing the returned future.
+     * </p>
+     *
+     * @param url               the URL to be archived.
+     * @param selectedArchivers the archivers to archive the URL with.
+     * @param fileModel         the file the URL was extracted from, or null to let the archivers decide.
+     * @return a future completing with the outcomes of all archivers, in the order of the selected archivers.
+     */
+    public CompletableFuture<List<ArchiveOutcome>> archiveAsync(String url, List<URLArchiver> selectedArchivers, FileModel fileModel) {
+        List<CompletableFuture<ArchiveOutcome>> outcomes = selectedArchivers.stream()
+                .map(archiver -> archiveAsync(archiver, url, fileModel))
+                .toList();
+        return CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> outcomes.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Archives a URL with a single archiver without blocking the calling thread.
+     *
+     * @param archiver  the archiver to archive the URL with.
+     * @param url       the URL to be archived.
+     * @param fileModel the file the URL was extracted from, or null to let the archiver decide.
+     * @return a future completing with the outcome, which never completes exceptionally.
+     */
+    private CompletableFuture<ArchiveOutcome> archiveAsync(URLArchiver archiver, String url, FileModel fileModel) {
+        return archiveAsync(archiver, url, fileModel, new CompletableFuture<>());
+    }
+
+    /**
+     * Archives a URL with a single archiver until the given cancellation signal completes. Once cancelled, the
+     * archiver is cancelled as well and no further attempt is started.
+     *
+     * @param archiver     the archiver to archive the URL with.
+     * @param url          the URL to be archived.
+     * @param fileModel    the file the URL was extracted from, or null to let the archiver decide.
+     * @param cancellation the signal completing when archiving the URL is cancelled.
+     * @return a future completing with the outcome, which never completes exceptionally.
+     */
+    private CompletableFuture<ArchiveOutcome> archiveAsync(URLArchiver archiver, String url, FileModel fileModel,
+                                                           CompletableFuture<Void> cancellation) {
+        String serviceName = archiver.getServiceName();
+        Optional<String> cachedUrl = getCachedArchivedURL(url, archiver);
+        if (cachedUrl.isPresent()) {
+            return CompletableFuture.completedFuture(ArchiveOutcome.cached(url, serviceName, cachedUrl.get()));
+        }
+
+        Instant startedAt = Instant.now();
+        return CompletableFuture.supplyAsync(() -> isAvailable(archiver), Futures.VIRTUAL_THREADS)
+                .thenCompose(available -> available
+                        ? retryPolicy.executeAsync(() -> archiveOnceAsync(archiver, url, fileModel, cancellation))
+                        : CompletableFuture.completedFuture(ArchiveOutcome.unavailable(url, serviceName, startedAt)))
+                .handle((outcome, error) -> {
+                    if (error != null) {
+                        return ArchiveOutcome.failed(url, serviceName,
+                                Futures.toArchiverException(error, "Unexpected error while archiving URL: " + url), startedAt);
+                    }
+                    outcome.getArchivedUrl().ifPresent(archivedUrl -> cacheArchivedURL(url, archiver, archivedUrl));
+                    return outcome;
+                });
+    }
+
+    /**
+     * Starts archiving a URL with the given archiver once its rate limiter allows it. The permit is held until the
+     * returned future completes. A throttled request pauses the rate limiter of the archiver. Transient errors count
+     * as failures of the archiver's circuit breaker, any other answer of the service closes it; while the circuit is
+     * open, the archiver is not called at all.
+     * <p>
+     * Completing the cancellation signal cancels the wait for the permit or the archiver, which releases the permit
+     * right away. A cancelled archiver is neither counted as a failure nor as an answer of the service.
+     * </p>
+     *
+     * @param archiver     the archiver to archive the URL with.
+     * @param url          the URL to archive.
+     * @param fileModel    the file the URL was extracted from, or null to let the archiver decide.
+     * @param cancellation the signal completing when archiving the URL is cancelled.
+     * @return a future completing with the outcome of the archiver.
+     */
+    private CompletableFuture<ArchiveOutcome> archiveOnceAsync(URLArchiver archiver, String url, FileModel fileModel,
+                                                               CompletableFuture<Void> cancellation) {
+        String serviceName = archiver.getServiceName();
+        RateLimiter rateLimiter = getRateLimiter(serviceName);
+        CircuitBreaker circuitBreaker = getCircuitBreaker(serviceName);
+
+        // Waiting for a permit blocks, so it is done on a virtual thread; a permit acquired too late is released
+        return Futures.cancelOn(cancellation, Futures.supplyInterruptibly(rateLimiter::acquire, RateLimiter.Permit::close))
+                .thenCompose(permit -> {
+                    if (cancellation.isDone()) {
+                        permit.close();
+                        return CompletableFuture.failedFuture(new CancellationException());
+                    }
+                    if (!circuitBreaker.allowRequest()) {
+                        permit.close();
+                        return CompletableFuture.failedFuture(new ArchiverException(
+                                serviceName + " is unavailable after repeated failures, URL skipped: " + url));
+                    }
+                    CompletableFuture<ArchiveOutcome> outcome;
+                    try {
+                        outcome = archiver.archiveAsync(url, fileModel);
+                    } catch (RuntimeException e) {
+                        outcome = CompletableFuture.failedFuture(e);
+                    }
+                    return Futures.cancelOn(cancellation, outcome).whenComplete((result, error) -> {
+                        permit.close();
+                        Throwable cause = error == null ? null : Futures.unwrap(error);
+                        if (cause == null) {
+                            circuitBreaker.onSuccess();
+                            rateLimiter.onSuccess();
+                        } else if (cause instanceof ArchiverThrottledException throttled) {
+                            // A throttled request shows that the service is up
+                            circuitBreaker.onSuccess();
+                            rateLimiter.onThrottled(throttled.getRetryAfter());
+                        } else if ((cause instanceof ArchiverTransientException || cause instanceof RuntimeException)
+                                && !(cause instanceof CancellationException)) {
+                            // A cancelled archiver gave up the URL, it does not show that the service is down
+                            circuitBreaker.onFailure();
+                        } else if (cause instanceof ArchiverException) {
+                            // The service answered, the URL itself cannot be archived
+                            circuitBreaker.onSuccess();
+                        }
+                    });
+                });
+    }
+
+    /**
+     * Sets how many URLs the archiver with the given service name may process at the same time.
+     * If the archiver already has a rate limiter, it is replaced by one with the same rate and the new limit.
+     *
+     * @param serviceName the service name of the archiver
+     * @param limit       the maximum number of concurrent archiving calls, must be at least 1
+     * @throws IllegalArgumentException if the limit is smaller than 1
+     */
+    public void setConcurrencyLimit(String serviceName, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be at least 1");
+        }
+        concurrencyLimits.put(serviceName, limit);
+        rateLimiters.computeIfPresent(serviceName, (name, rateLimiter) -> rateLimiter.withMaxInFlight(limit));
+    }
+
+    /**
+     * Sets the rate limiter of the archiver with the given service name. Its maximum number of requests in flight
+     * replaces the concurrency limit of the archiver.
+     *
+     * @param serviceName the service name of the archiver
+     * @param rateLimiter the rate limiter for all requests sent to the service
+     */
+    public void setRateLimiter(String serviceName, RateLimiter rateLimiter) {
+        concurrencyLimits.put(serviceName, rateLimiter.getMaxInFlight());
+        rateLimiters.put(serviceName, rateLimiter);
+    }
+
+    /**
+     * Returns the rate limiter of the archiver with the given service name.
+     * If none was set, a rate limiter only limiting the requests in flight to the concurrency limit is created.
+     *
+     * @param serviceName the service name of the archiver
+     * @return the rate limiter for all requests sent to the service
+     */
+    public RateLimiter getRateLimiter(String serviceName) {
+        return rateLimiters.computeIfAbsent(serviceName, name -> new RateLimiter(getConcurrencyLimit(name)));
+    }
+
+    /**
+     * Sets how long the archiver with the given service name may take to archive a URL when all archivers
+     * archive it at the same time.
+     *
+     * @param serviceName the service name of the archiver
+     * @param timeout     the maximum time to wait for the archiver, must be positive
+     * @throws IllegalArgumentException if the timeout is zero or negative
+     * @see #archiveConcurrently(String, List, FileModel, ArchiverResultListener)
+     */
+    public void setArchiveTimeout(String serviceName, Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) {
+            throw new IllegalArgumentException("Archive timeout must be positive");
+        }
+        archiveTimeouts.put(serviceName, timeout);
+    }
+
+    /**
+     * Returns how long the archiver with the given service name may take to archive a URL when all archivers
+     * archive it at the same time.
+     *
+     * @param serviceName the service name of the archiver
+     * @return the configured timeout, or {@link #DEFAULT_ARCHIVE_TIMEOUT} if none was set
+     */
+    public Duration getArchiveTimeout(String serviceName) {
+        return archiveTimeouts.getOrDefault(serviceName, DEFAULT_ARCHIVE_TIMEOUT);
+    }
+
+    /**
+     * Returns how many URLs the archiver with the given service name may process at the same time
+     * during a batch run.
+     *
+     * @param serviceName the service name of the archiver
+     * @return the configured limit, or {@link #DEFAULT_CONCURRENCY_LIMIT} if none was set
+     */
+    public int getConcurrencyLimit(String serviceName) {
+        return concurrencyLimits.getOrDefault(serviceName, DEFAULT_CONCURRENCY_LIMIT);
+    }
+
+    /**
+     * Archives all URLs of a file using the selected archivers.
+     * <p>
+     * Every URL is processed on its own virtual thread, while each archiver handles at most
+     * {@link #getConcurrencyLimit(String)} URLs at the same time, at the rate allowed by its
+     * {@link #getRateLimiter(String) rate limiter}. The availability of the archivers is
+     * checked once before the run; unavailable archivers are reported in every result.
+     * </p>
+     * <p>
+     * The results are passed to the listener as soon as a URL is done, so they arrive in completion order
+     * and not in the order of the file. The method returns once all URLs have been processed.
+     * </p>
+     *
+     * @param fileModel         the file whose URLs should be archived.
+     * @param selectedArchivers the archivers to archive every URL with.
+     * @param listener          receives the result of every URL and the errors of the archivers.
+     */
+    public void archiveAll(FileModel fileModel, List<URLArchiver> selectedArchivers, ArchiverResultListener listener) {
+        Map<String, List<FileModel>> urls = new LinkedHashMap<>();
+        for (URLPair urlPair : fileModel.getUrlPairs()) {
+            urls.put(urlPair.getExtractedURL(), List.of(fileModel));
+        }
+        archiveAll(urls, selectedArchivers, listener);
+    }
+
+    /**
+     * Archives all URLs of all files within a folder using the selected archivers.
+     * <p>
+     * A URL referenced by several files is archived only once, and its errors are reported once, together with the
+     * first file referencing it. The result is reported once for every URL pair of the URL: as the files of a folder
+     * share their URL pairs, see {@link FolderModel}, this is usually the first file only, and an archived URL added
+     * to that file is visible in all files referencing the URL. Files keeping their own URL pair, because they already
+     * had other archived URLs for the URL, receive the result as well.
+     * </p>
+     *
+     * @param folderModel       the folder whose URLs should be archived.
+     * @param selectedArchivers the archivers to archive every URL with.
+     * @param listener          receives the result of every unique URL and the errors of the archivers.
+     * @see #archiveAll(FileModel, List, ArchiverResultListener)
+     */
+    public void archiveAll(FolderModel folderModel, List<URLArchiver> selectedArchivers, ArchiverResultListener listener) {
+        Map<String, List<FileModel>> urls = new LinkedHashMap<>();
+        folderModel.getURLIndex().forEach((url, files) -> {
+            // Report the result once per URL pair, so archived URLs are not added twice to a shared pair
+            Set<URLPair> urlPairs = Collections.newSetFromMap(new IdentityHashMap<>());
+            urls.put(url, files.stream().filter(file -> urlPairs.add(file.getUrlPair(url))).toList());
+        });
+        archiveAll(urls, selectedArchivers, listener);
+    }
+
+    /**
+     * Archives the given URLs on virtual threads and reports the results to the listener.
+     *
+     * @param urls              the URLs to archive, each with the files its result is reported with, the first of
+     *                          them is passed to the archivers and reported with the errors.
+     * @param selectedArchivers the archivers to archive every URL with.
+     * @param listener          receives the result of every URL and the errors of the archivers.
+     */
+    private void archiveAll(Map<String, List<FileModel>> urls, List<URLArchiver> selectedArchivers, ArchiverResultListener listener) {
+        List<URLArchiver> availableArchivers = new ArrayList<>();
+        List<String> unavailableArchivers = new ArrayList<>();
+
+        for (URLArchiver archiver : selectedArchivers) {
+            if (isAvailable(archiver)) {
+                availableArchivers.add(archiver);
+            } else {
+                unavailableArchivers.add(archiver.getServiceName());
+            }
+        }
+
+        SerializedListener serializedListener = new SerializedListener(listener);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            urls.forEach((url, files) ->
+                    executor.submit(() -> archiveInBatch(files, url, availableArchivers, unavailableArchivers, serializedListener)));
+        }
+    }
+
+    /**
+     * Archives a single URL of a batch run with every available archiver, holding a permit of the archiver's
+     * rate limiter for the duration of each call.
+     *
+     * @param files                the files the URL was extracted from, each receiving the result.
+     * @param url                  the URL to archive.
+     * @param availableArchivers   the archivers to archive the URL with.
+     * @param unavailableArchivers the names of the archivers that were unavailable at the start of the run.
+     * @param listener             receives the result and the errors.
+     */
+    private void archiveInBatch(List<FileModel> files, String url, List<URLArchiver> availableArchivers,
+                                List<String> unavailableArchivers, ArchiverResultListener listener) {
+        FileModel fileModel = files.getFirst();
+        List<String> archivedUrls = new ArrayList<>();
+
+        for (URLArchiver archiver : availableArchivers) {
+            Optional<String> cachedUrl = getCachedArchivedURL(url, archiver);
+            if (cachedUrl.isPresent()) {
+                archivedUrls.add(cachedUrl.get());
+                continue;
+            }
+
+            try {
+                String archivedUrl = archiveLimited(archiver, url, fileModel);
+                if (archivedUrl != null && !archivedUrl.isEmpty()) {
+                    archivedUrls.add(archivedUrl);
+                    cacheArchivedURL(url, archiver, archivedUrl);
+                }
+            } catch (ArchiverException e) {
+                listener.onError(fileModel, url, archiver, e);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                listener.onError(fileModel, url, archiver, new ArchiverException("Unexpected error while archiving URL: " + url, e));
+            }
+        }
+
+        ArchiverResult result = new ArchiverResult(archivedUrls, unavailableArchivers);
+        files.forEach(file -> listener.onResult(file, url, result));
+    }
+
+    /**
+     * Archives a URL with the given archiver, retrying it on transient errors according to the retry policy.
+     * Waits for the same asynchronous attempts as {@link #archiveAsync(String, List, FileModel)}, so the rate limits,
+     * circuit breakers and throttling are handled in one place.
+     *
+     * @param archiver  the archiver to archive the URL with.
+     * @param url       the URL to archive.
+     * @param fileModel the file the URL was extracted from, or null to let the archiver decide.
+     * @return the archived URL returned by the archiver.
+     * @throws ArchiverException if the last attempt failed or the thread was interrupted while waiting.
+     */
+    private String archiveLimited(URLArchiver archiver, String url, FileModel fileModel) throws ArchiverException {
+        CompletableFuture<Void> cancellation = new CompletableFuture<>();
+        CompletableFuture<ArchiveOutcome> outcome =
+                retryPolicy.executeAsync(() -> archiveOnceAsync(archiver, url, fileModel, cancellation));
+        // An interrupted thread cancels the outcome, which stops the archiver and releases its permit
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                cancellation.complete(null);
+            }
+        });
+        return Futures.await(outcome).archivedUrl();
+    }
+
+    /**
+     * Looks up the URL archived recently by the given archiver.
+     *
+     * @param url      the URL to archive.
+     * @param archiver the archiver to archive the URL with.
+     * @return the cached archived URL, or an empty optional if there is none or no cache is set.
+     */
+    private Optional<String> getCachedArchivedURL(String url, URLArchiver archiver) {
+        if (archiveResultCache == null) {
+            return Optional.empty();
+        }
+        return archiveResultCache.lookup(url, archiver.getServiceName());
+    }
+
+    /**
+     * Remembers the URL archived by the given archiver, if a cache is set.
+     *
+     * @param url         the URL that was archived.
+     * @param archiver    the archiver that archived the URL.
+     * @param archivedUrl the archived URL returned by the archiver.
+     */
+    private void cacheArchivedURL(String url, URLArchiver archiver, String archivedUrl) {
+        if (archiveResultCache != null) {
+            archiveResultCache.store(url, archiver.getServiceName(), archivedUrl);
+        }
+    }
+
+    /**
+     * Wraps a listener so that its callbacks are never invoked concurrently.
+     * A {@link ReentrantLock} is used instead of {@code synchronized} to avoid pinning the virtual threads.
+     */
+    private static class SerializedListener implements ArchiverResultListener {
+        private final ArchiverResultListener delegate;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        SerializedListener(ArchiverResultListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+            lock.lock();
+            try {
+                delegate.onResult(fileModel, extractedURL, result);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onError(FileModel fileModel, String extractedURL, URLArchiver archiver, ArchiverException exception) {
+            lock.lock();
+            try {
+                delegate.onError(fileModel, extractedURL, archiver, exception);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.model.FileModel;
+
+/**
+ * Receives the results of a batch archiving run started with
+ * {@link ArchiverManager#archiveAll(FileModel, java.util.List, ArchiverResultListener)}.
+ * <p>
+ * The callbacks are invoked from the worker threads as soon as a URL is done, but never concurrently,
+ * so implementations do not need to be thread-safe themselves.
+ * </p>
+ */
+public interface ArchiverResultListener {
+    /**
+     * Called once for every URL after all selected archivers have processed it. When a folder is archived, it is
+     * called once more for every file that does not share the URL pair of the URL with the other files.
+     *
+     * @param fileModel    the file the URL was extracted from
+     * @param extractedURL the URL that was archived
+     * @param result       the archived URLs and the archivers that were unavailable
+     */
+    void onResult(FileModel fileModel, String extractedURL, ArchiverResult result);
+
+    /**
+     * Called when an archiver failed to archive a URL. The remaining archivers still process the URL,
+     * and {@link #onResult(FileModel, String, ArchiverResult)} is called afterwards.
+     *
+     * @param fileModel    the file the URL was extracted from
+     * @param extractedURL the URL that could not be archived
+     * @param archiver     the archiver that failed
+     * @param exception    the reason of the failure
+     */
+    void onError(FileModel fileModel, String extractedURL, URLArchiver archiver, ArchiverException exception);
+}
@@ -0,0 +1,211 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.ConfigModel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps track of whether an archiving service is available, so it does not have to be checked before every URL.
+ * <p>
+ * While the circuit is {@link State#CLOSED closed}, a successful availability check is reused for the availability
+ * TTL, a failed one only once it opened the circuit, so the service is checked again below the failure threshold.
+ * Every failed check or request counts as failure, every successful one resets the count.
+ * After {@code failureThreshold} consecutive failures the circuit {@link State#OPEN opens}: the service is
+ * considered unavailable and neither checked nor called. Once the open duration has passed, the circuit is
+ * {@link State#HALF_OPEN half-open} and a single check or request probes the service. If the probe succeeds,
+ * the circuit closes again, otherwise it opens for another open duration.
+ * </p>
+ * <p>
+ * A {@link ReentrantLock} is used instead of {@code synchronized} to avoid pinning the virtual threads of a batch run.
+ * </p>
+ */
+public class CircuitBreaker {
+    private final Duration availabilityTtl;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private Boolean cachedAvailability;
+    private Instant checkedAt;
+
+    /**
+     * Creates a circuit breaker with the default settings.
+     */
+    public CircuitBreaker() {
+        this(Duration.ofSeconds(ConfigModel.DEFAULT_AVAILABILITY_CACHE_SECONDS),
+                ConfigModel.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                Duration.ofSeconds(ConfigModel.DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS));
+    }
+
+    /**
+     * Creates a circuit breaker with the given settings.
+     *
+     * @param availabilityTtl  the time the result of an availability check is reused
+     * @param failureThreshold the number of consecutive failures that open the circuit, at least 1
+     * @param openDuration     the time the circuit stays open before the service is probed again
+     */
+    public CircuitBreaker(Duration availabilityTtl, int failureThreshold, Duration openDuration) {
+        this(availabilityTtl, failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a circuit breaker with the given settings, reading the time from the given clock.
+     *
+     * @param availabilityTtl  the time the result of an availability check is reused
+     * @param failureThreshold the number of consecutive failures that open the circuit, at least 1
+     * @param openDuration     the time the circuit stays open before the service is probed again
+     * @param clock            the clock to read the time from
+     */
+    CircuitBreaker(Duration availabilityTtl, int failureThreshold, Duration openDuration, Clock clock) {
+        this.availabilityTtl = availabilityTtl;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a circuit breaker using the settings of the configuration.
+     *
+     * @param config the configuration holding the availability and circuit breaker settings
+     * @return the circuit breaker
+     */
+    public static CircuitBreaker fromConfig(ConfigModel config) {
+        return new CircuitBreaker(Duration.ofSeconds(config.getAvailabilityCacheSeconds()),
+                config.getCircuitBreakerFailureThreshold(),
+                Duration.ofSeconds(config.getCircuitBreakerOpenSeconds()));
+    }
+
+    /**
+     * Returns the state of the circuit, moving an open circuit to half-open if the open duration has passed.
+     *
+     * @return the current state
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+                state = State.HALF_OPEN;
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the service is available, using the given check only if the cached result is outdated or
+     * the circuit is half-open. The check runs while holding the lock, so only one thread probes the service.
+     *
+     * @param availabilityCheck checks the availability of the service, e.g. {@link URLArchiver#isAvailable()}
+     * @return true if the service is available, false otherwise
+     */
+    public boolean isAvailable(BooleanSupplier availabilityCheck) {
+        lock.lock();
+        try {
+            State currentState = getState();
+            if (currentState == State.OPEN) {
+                return false;
+            }
+            if (currentState == State.CLOSED && cachedAvailability != null
+                    && clock.instant().isBefore(checkedAt.plus(availabilityTtl))) {
+                return cachedAvailability;
+            }
+
+            boolean available = availabilityCheck.getAsBoolean();
+            if (available) {
+                onSuccess();
+            } else {
+                // Cached by onFailure() once the circuit opens
+                onFailure();
+            }
+            return available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a request may be sent to the service. If the open duration has passed, the request
+     * is let through as probe and further requests are rejected until its outcome is reported.
+     *
+     * @return true if the request may be sent, false if the circuit is open
+     */
+    public boolean allowRequest() {
+        lock.lock();
+        try {
+            State currentState = getState();
+            if (currentState == State.HALF_OPEN) {
+                // This request is the probe, reject all others until it is done
+                state = State.OPEN;
+                openedAt = clock.instant();
+                return true;
+            }
+            return currentState == State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a successful check or request, closing the circuit.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            cacheAvailability(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a failed check or request, opening the circuit if the failure threshold is reached.
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state != State.CLOSED || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = clock.instant();
+                cacheAvailability(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cacheAvailability(boolean available) {
+        cachedAvailability = available;
+        checkedAt = clock.instant();
+    }
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * The service is available and called normally.
+         */
+        CLOSED,
+
+        /**
+         * The service failed repeatedly and is not called.
+         */
+        OPEN,
+
+        /**
+         * The service is probed to find out whether it is available again.
+         */
+        HALF_OPEN
+    }
+}
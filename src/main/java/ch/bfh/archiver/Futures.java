@@ -0,0 +1,141 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverTransientException;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Helpers shared by the asynchronous archiving calls.
+ */
+final class Futures {
+    /**
+     * Runs every task on a new virtual thread, so tasks waiting for a rate limiter or a delay do not block a pool.
+     */
+    static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+
+    private Futures() {
+    }
+
+    /**
+     * Runs a blocking task on a new virtual thread. Unlike {@link CompletableFuture#supplyAsync}, cancelling the
+     * returned future interrupts the thread, so the task stops waiting instead of running on unnoticed.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result
+     * @return a future completing with the result of the task, or with the error it threw
+     */
+    static <T> CompletableFuture<T> supplyInterruptibly(Callable<T> task) {
+        return supplyInterruptibly(task, result -> {
+        });
+    }
+
+    /**
+     * Runs a blocking task on a new virtual thread that is interrupted when the returned future is cancelled.
+     *
+     * @param task    the task to run
+     * @param discard releases the result of a task that finished after the future was cancelled
+     * @param <T>     the type of the result
+     * @return a future completing with the result of the task, or with the error it threw
+     */
+    static <T> CompletableFuture<T> supplyInterruptibly(Callable<T> task, Consumer<? super T> discard) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Thread thread = Thread.ofVirtual().unstarted(() -> {
+            try {
+                T result = task.call();
+                if (!future.complete(result)) {
+                    discard.accept(result);
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                thread.interrupt();
+            }
+        });
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Cancels the given stage once the cancellation signal completes, so cancelling an operation also stops the
+     * request, the delay or the thread it is waiting for.
+     *
+     * @param cancellation the signal completing when the operation is cancelled
+     * @param stage        the stage the operation is waiting for
+     * @param <T>          the type of the result
+     * @return the stage
+     */
+    static <T> CompletableFuture<T> cancelOn(CompletableFuture<?> cancellation, CompletableFuture<T> stage) {
+        cancellation.thenRun(() -> stage.cancel(true));
+        return stage;
+    }
+
+    /**
+     * Removes the wrappers the {@link CompletableFuture} adds around the error of a stage.
+     *
+     * @param error the error a future completed with
+     * @return the error thrown by the stage
+     */
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Converts the error a future completed with into the archiver exception reported to the user.
+     * Network errors are transient, unexpected errors are wrapped with the given message.
+     *
+     * @param error   the error a future completed with
+     * @param message the message of the exception wrapping other errors
+     * @return the archiver exception
+     */
+    static ArchiverException toArchiverException(Throwable error, String message) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof ArchiverException archiverException) {
+            return archiverException;
+        }
+        if (cause instanceof IOException) {
+            return new ArchiverTransientException(message, cause);
+        }
+        return new ArchiverException(message, cause);
+    }
+
+    /**
+     * Waits for the given future, for synchronous archiving calls built on asynchronous ones.
+     * The future is cancelled if the waiting thread is interrupted.
+     *
+     * @param future the future to wait for
+     * @param <T>    the type of the result
+     * @return the result of the future
+     * @throws ArchiverException the error the future completed with, or if the thread was interrupted
+     */
+    static <T> T await(CompletableFuture<T> future) throws ArchiverException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ArchiverException("The archiving operation was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw toArchiverException(cause, "Unexpected error while archiving");
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.ConfigModel;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the requests sent to an archiving service.
+ * <p>
+ * At most {@link #getMaxInFlight()} requests are in flight at the same time, and new requests are started at a
+ * sustainable rate using a token bucket: tokens are refilled at the configured number of requests per minute, and
+ * up to {@code maxInFlight} tokens can be saved up for a burst.
+ * </p>
+ * <p>
+ * When the service reports that it is throttling the requests, see {@link #onThrottled(Optional)}, no new request
+ * is started until the time the service asked for has passed. If the service does not tell, the pause starts at the
+ * configured throttle backoff and doubles with every further throttled request, up to {@link #MAX_THROTTLE_BACKOFF}.
+ * A successful request resets the backoff.
+ * </p>
+ * <p>
+ * A {@link ReentrantLock} is used instead of {@code synchronized} to avoid pinning the virtual threads of a batch run.
+ * </p>
+ */
+public class RateLimiter {
+    /**
+     * Upper bound of the pause after consecutive throttled requests.
+     */
+    public static final Duration MAX_THROTTLE_BACKOFF = Duration.ofMinutes(15);
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxInFlight;
+    private final int requestsPerMinute;
+    private final Duration initialThrottleBackoff;
+    private final LongSupplier nanoTime;
+    private final Semaphore inFlight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+    private Duration throttleBackoff;
+
+    /**
+     * Creates a rate limiter that only limits the requests in flight.
+     *
+     * @param maxInFlight the maximum number of requests in flight, must be at least 1
+     */
+    public RateLimiter(int maxInFlight) {
+        this(maxInFlight, 0, Duration.ofSeconds(ConfigModel.DEFAULT_THROTTLE_BACKOFF_SECONDS));
+    }
+
+    /**
+     * Creates a rate limiter with the given limits.
+     *
+     * @param maxInFlight       the maximum number of requests in flight and the size of a burst, must be at least 1
+     * @param requestsPerMinute the sustainable number of requests per minute, 0 or less does not limit the rate
+     * @param throttleBackoff   the first pause after the service throttled a request without telling how long to wait
+     * @throws IllegalArgumentException if the maximum number of requests in flight is smaller than 1
+     */
+    public RateLimiter(int maxInFlight, int requestsPerMinute, Duration throttleBackoff) {
+        this(maxInFlight, requestsPerMinute, throttleBackoff, System::nanoTime);
+    }
+
+    /**
+     * Creates a rate limiter with the given limits, reading the time from the given source.
+     *
+     * @param maxInFlight       the maximum number of requests in flight and the size of a burst, must be at least 1
+     * @param requestsPerMinute the sustainable number of requests per minute, 0 or less does not limit the rate
+     * @param throttleBackoff   the first pause after the service throttled a request without telling how long to wait
+     * @param nanoTime          the source of the current time in nanoseconds
+     */
+    RateLimiter(int maxInFlight, int requestsPerMinute, Duration throttleBackoff, LongSupplier nanoTime) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of requests in flight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        this.requestsPerMinute = Math.max(0, requestsPerMinute);
+        this.initialThrottleBackoff = throttleBackoff;
+        this.nanoTime = nanoTime;
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.tokens = maxInFlight;
+        this.lastRefill = nanoTime.getAsLong();
+        this.pausedUntil = lastRefill;
+        this.throttleBackoff = throttleBackoff;
+    }
+
+    /**
+     * Creates a rate limiter for the given service using the limits of the configuration.
+     *
+     * @param config      the configuration holding the rate limits and the throttle backoff
+     * @param serviceName the service name of the archiver
+     * @param maxInFlight the maximum number of requests in flight
+     * @return the rate limiter
+     */
+    public static RateLimiter fromConfig(ConfigModel config, String serviceName, int maxInFlight) {
+        Integer requestsPerMinute = config.getRateLimits().get(serviceName);
+        return new RateLimiter(maxInFlight, requestsPerMinute == null ? 0 : requestsPerMinute,
+                Duration.ofSeconds(config.getThrottleBackoffSeconds()));
+    }
+
+    /**
+     * Creates a rate limiter with the same rate and backoff, but another maximum number of requests in flight.
+     *
+     * @param maxInFlight the maximum number of requests in flight
+     * @return the new rate limiter
+     */
+    public RateLimiter withMaxInFlight(int maxInFlight) {
+        return new RateLimiter(maxInFlight, requestsPerMinute, initialThrottleBackoff, nanoTime);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    /**
+     * Blocks until a request may be sent to the service.
+     * The returned permit must be closed once the request is done.
+     *
+     * @return the permit of the request
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public Permit acquire() throws InterruptedException {
+        inFlight.acquire();
+        try {
+            long waitNanos;
+            while ((waitNanos = reserve()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            inFlight.release();
+            throw e;
+        }
+        return new Permit();
+    }
+
+    /**
+     * Pauses all requests after the service throttled a request.
+     *
+     * @param retryAfter the time the service asked to wait, or an empty optional to use the backoff
+     */
+    public void onThrottled(Optional<Duration> retryAfter) {
+        lock.lock();
+        try {
+            Duration pause = retryAfter.orElse(throttleBackoff);
+            pausedUntil = Math.max(pausedUntil, nanoTime.getAsLong() + pause.toNanos());
+            // Do not start a burst right after the pause
+            tokens = 0;
+            Duration nextBackoff = throttleBackoff.multipliedBy(2);
+            throttleBackoff = nextBackoff.compareTo(MAX_THROTTLE_BACKOFF) > 0 ? MAX_THROTTLE_BACKOFF : nextBackoff;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the throttle backoff after a request succeeded.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            throttleBackoff = initialThrottleBackoff;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the requests are paused because the service throttled them.
+     *
+     * @return true if the requests are paused, false otherwise
+     */
+    public boolean isPaused() {
+        lock.lock();
+        try {
+            return nanoTime.getAsLong() < pausedUntil;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a token from the bucket if a request may be started now.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds to wait before trying again
+     */
+    long reserve() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            if (now < pausedUntil) {
+                return pausedUntil - now;
+            }
+            if (requestsPerMinute == 0) {
+                return 0;
+            }
+
+            // No tokens are refilled while the requests are paused
+            lastRefill = Math.max(lastRefill, pausedUntil);
+            tokens = Math.min(maxInFlight, tokens + (double) (now - lastRefill) * requestsPerMinute / NANOS_PER_MINUTE);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) * NANOS_PER_MINUTE / requestsPerMinute));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A request in flight. Closing the permit allows the next request to start.
+     */
+    public class Permit implements AutoCloseable {
+        private boolean closed;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                inFlight.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ch.bfh.archiver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the calls made through a {@link RetryPolicy} and how often they were retried.
+ * The counters are updated from the worker threads and can be read at any time.
+ */
+public class RetryMetrics {
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    /**
+     * Returns the number of calls made through the policy.
+     *
+     * @return the number of calls
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Returns the number of attempts made after a call failed with a transient error.
+     *
+     * @return the number of retries
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Returns the number of calls that succeeded after being retried.
+     *
+     * @return the number of recovered calls
+     */
+    public long getRecovered() {
+        return recovered.get();
+    }
+
+    /**
+     * Returns the number of calls that still failed with a transient error after the last attempt.
+     *
+     * @return the number of calls that ran out of attempts
+     */
+    public long getExhausted() {
+        return exhausted.get();
+    }
+
+    void recordCall() {
+        calls.incrementAndGet();
+    }
+
+    void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    void recordRecovered() {
+        recovered.incrementAndGet();
+    }
+
+    void recordExhausted() {
+        exhausted.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryMetrics { Calls: " + getCalls() + ", Retries: " + getRetries() + ", Recovered: " + getRecovered()
+                + ", Exhausted: " + getExhausted() + " }";
+    }
+}
@@ -0,0 +1,236 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import ch.bfh.model.ConfigModel;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retries archiving calls that failed with a transient error.
+ * <p>
+ * Only errors reported as {@link ArchiverTransientException} are retried, e.g. network errors, server errors and
+ * throttled requests. Other errors are passed on right away. A call is attempted at most {@code maxAttempts} times.
+ * </p>
+ * <p>
+ * Before every retry, the policy waits a random time between zero and an upper bound, which starts at the initial
+ * backoff and doubles with every retry up to the maximum backoff ("full jitter"). The random delay keeps the
+ * retries of many concurrent calls from hitting the service at the same time. If a throttled service asked to wait
+ * longer, its {@code Retry-After} is respected instead.
+ * </p>
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final DoubleSupplier random;
+    private final Sleeper sleeper;
+    private final RetryMetrics metrics = new RetryMetrics();
+
+    /**
+     * Creates a retry policy with the given budget and backoff.
+     *
+     * @param maxAttempts    the maximum number of attempts per call, 1 or less disables retries
+     * @param initialBackoff the upper bound of the delay before the first retry
+     * @param maxBackoff     the upper bound of the delay before any retry
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this(maxAttempts, initialBackoff, maxBackoff, () -> ThreadLocalRandom.current().nextDouble(), Thread::sleep);
+    }
+
+    /**
+     * Creates a retry policy with the given budget and backoff, using the given sources of randomness and waiting.
+     *
+     * @param maxAttempts    the maximum number of attempts per call, 1 or less disables retries
+     * @param initialBackoff the upper bound of the delay before the first retry
+     * @param maxBackoff     the upper bound of the delay before any retry
+     * @param random         supplies random numbers between 0 (inclusive) and 1 (exclusive)
+     * @param sleeper        waits between two attempts
+     */
+    RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, DoubleSupplier random, Sleeper sleeper) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.random = random;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Creates a retry policy using the settings of the configuration.
+     *
+     * @param config the configuration holding the retry settings
+     * @return the retry policy
+     */
+    public static RetryPolicy fromConfig(ConfigModel config) {
+        return new RetryPolicy(config.getRetryMaxAttempts(),
+                Duration.ofSeconds(config.getRetryInitialBackoffSeconds()),
+                Duration.ofSeconds(config.getRetryMaxBackoffSeconds()));
+    }
+
+    /**
+     * Creates a retry policy that attempts every call only once.
+     *
+     * @return the retry policy
+     */
+    public static RetryPolicy noRetries() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Checks whether a call that failed with the given error may succeed when retried.
+     *
+     * @param exception the error of the call
+     * @return true if the error is transient, false otherwise
+     */
+    public boolean isRetryable(ArchiverException exception) {
+        return exception instanceof ArchiverTransientException;
+    }
+
+    /**
+     * Runs the given call, retrying it as long as it fails with a transient error and attempts are left.
+     *
+     * @param call the call to run
+     * @param <T>  the type of the result of the call
+     * @return the result of the first successful attempt
+     * @throws ArchiverException the error of the last attempt, or if the thread was interrupted while waiting
+     */
+    public <T> T execute(RetryableCall<T> call) throws ArchiverException {
+        metrics.recordCall();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = call.call();
+                if (attempt > 1) {
+                    metrics.recordRecovered();
+                }
+                return result;
+            } catch (ArchiverException e) {
+                if (!isRetryable(e) || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    metrics.recordExhausted();
+                    throw e;
+                }
+                metrics.recordRetry();
+                waitBeforeRetry(e, attempt);
+            }
+        }
+    }
+
+    /**
+     * Runs the given asynchronous call, starting it again as long as it fails with a transient error and attempts
+     * are left. The delay before a retry is waited on a virtual thread, so no thread of the caller is blocked.
+     *
+     * @param call starts one attempt of the call
+     * @param <T>  the type of the result of the call
+     * @return a future completing with the result of the first successful attempt, or with the error of the last one
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        metrics.recordCall();
+        return attemptAsync(call, 1);
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<CompletableFuture<T>> call, int attempt) {
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.handle((value, error) -> {
+            if (error == null) {
+                if (attempt > 1) {
+                    metrics.recordRecovered();
+                }
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = Futures.unwrap(error);
+            if (!(cause instanceof ArchiverException exception) || !isRetryable(exception)) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            if (attempt >= maxAttempts) {
+                metrics.recordExhausted();
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            metrics.recordRetry();
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    waitBeforeRetry(exception, attempt);
+                } catch (ArchiverException e) {
+                    throw new CompletionException(e);
+                }
+            }, Futures.VIRTUAL_THREADS).thenCompose(ignored -> attemptAsync(call, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Calculates the random delay before the given retry.
+     *
+     * @param retry the number of the retry, starting at 1
+     * @return a delay between zero and the backoff of the retry
+     */
+    Duration backoff(int retry) {
+        Duration bound = initialBackoff;
+        for (int i = 1; i < retry && bound.compareTo(maxBackoff) < 0; i++) {
+            bound = bound.multipliedBy(2);
+        }
+        if (bound.compareTo(maxBackoff) > 0) {
+            bound = maxBackoff;
+        }
+        return Duration.ofNanos((long) (bound.toNanos() * random.getAsDouble()));
+    }
+
+    private void waitBeforeRetry(ArchiverException exception, int retry) throws ArchiverException {
+        Duration delay = backoff(retry);
+        if (exception instanceof ArchiverThrottledException throttled) {
+            Duration retryAfter = throttled.getRetryAfter().orElse(Duration.ZERO);
+            delay = retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+        }
+        try {
+            sleeper.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ArchiverException("The archiving operation was interrupted", e);
+        }
+    }
+
+    /**
+     * A call to an archiving service that may be retried.
+     *
+     * @param <T> the type of the result of the call
+     */
+    @FunctionalInterface
+    public interface RetryableCall<T> {
+        /**
+         * Runs the call once.
+         *
+         * @return the result of the call
+         * @throws ArchiverException if the call failed
+         */
+        T call() throws ArchiverException;
+    }
+
+    /**
+     * Waits between two attempts.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
@@ -1,6 +1,10 @@
 package ch.bfh.archiver;
 
 import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.model.FileModel;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines the contract for archiving services capable of archiving URLs.
@@ -16,6 +20,42 @@ public interface URLArchiver {
      */
     String archiveURL(String url) throws ArchiverException;
 
+    /**
+     * Archives the specified URL that was extracted from the given file.
+     * Archivers that complete their jobs asynchronously use the file to link the result back to it.
+     *
+     * @param url       The URL to archive.
+     * @param fileModel The file the URL was extracted from.
+     * @return The archived URL as a string, or null if archiving is unsuccessful.
+     */
+    default String archiveURL(String url, FileModel fileModel) throws ArchiverException {
+        return archiveURL(url);
+    }
+
+    /**
+     * Archives the specified URL without blocking the calling thread.
+     * <p>
+     * The default implementation runs {@link #archiveURL(String, FileModel)} on a virtual thread. Archivers that
+     * talk to their service over HTTP override it to send their requests asynchronously.
+     * </p>
+     * <p>
+     * Cancelling the returned future stops the archiving: the default implementation interrupts its thread, and
+     * overriding implementations cancel the requests in flight.
+     * </p>
+     *
+     * @param url       The URL to archive.
+     * @param fileModel The file the URL was extracted from, or null to let the archiver decide.
+     * @return A future completing with the outcome of the archiving, or with an {@link ArchiverException}
+     * if archiving the URL failed.
+     */
+    default CompletableFuture<ArchiveOutcome> archiveAsync(String url, FileModel fileModel) {
+        Instant startedAt = Instant.now();
+        return Futures.supplyInterruptibly(() -> {
+            String archivedUrl = fileModel == null ? archiveURL(url) : archiveURL(url, fileModel);
+            return ArchiveOutcome.archived(url, getServiceName(), archivedUrl, startedAt);
+        });
+    }
+
     /**
      * Checks if the archiving service is currently available.
      *
@@ -36,6 +76,5 @@ public interface URLArchiver {
      * @return true if the service is automated, false otherwise.
      */
     boolean isAutomated();
-    // todo: Maybe we can add more methods
 }
 
@@ -2,10 +2,15 @@ package ch.bfh.archiver;
 
 import ch.bfh.controller.CLIController;
 import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import ch.bfh.helper.HttpClientFactory;
 import ch.bfh.model.ConfigModel;
+import ch.bfh.model.FileModel;
 import ch.bfh.model.archiving.PendingWaybackMachineJob;
 import ch.bfh.model.archiving.WaybackMachineArchiveResponse;
 import ch.bfh.model.archiving.WaybackMachineJob;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -13,6 +18,12 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Archiver implementation for the Wayback Machine service.
@@ -23,23 +34,76 @@ public class WaybackMachineArchiver implements URLArchiver {
     private static final String API_URL = "https://web.archive.org/save/";
     private static final String APPLICATION_JSON = "application/json";
     private static final String CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final String STATUS_PENDING = "pending";
+    /**
+     * Errors of a job that will not go away when the URL is archived again.
+     */
+    private static final Set<String> PERMANENT_JOB_ERRORS = Set.of(
+            "error:bad-request", "error:blocked", "error:blocked-client-ip", "error:blocked-url",
+            "error:filesize-limit", "error:ftp-access-denied", "error:invalid-host-resolution",
+            "error:invalid-url-syntax", "error:method-not-allowed", "error:no-access", "error:not-found",
+            "error:not-implemented", "error:too-many-daily-captures", "error:unauthorized");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final boolean automated = true;
     private final ConfigModel config;
     private final CLIController controller;
+    private final HttpClient httpClient;
+    private final String apiUrl;
+    private RetryPolicy retryPolicy;
 
     /**
-     * Constructs a new WaybackMachineArchiver.
+     * Constructs a new WaybackMachineArchiver using the shared HTTP client.
      *
      * @param config     Configuration model for the archiver.
      * @param controller Controller for managing CLI interactions.
      */
     public WaybackMachineArchiver(ConfigModel config, CLIController controller) {
+        this(config, controller, HttpClientFactory.getHttpClient(config));
+    }
+
+    /**
+     * Constructs a new WaybackMachineArchiver using the given HTTP client for all requests.
+     *
+     * @param config     Configuration model for the archiver.
+     * @param controller Controller for managing CLI interactions.
+     * @param httpClient HTTP client used for the save, status and availability requests.
+     */
+    public WaybackMachineArchiver(ConfigModel config, CLIController controller, HttpClient httpClient) {
+        this(config, controller, httpClient, API_URL);
+    }
+
+    /**
+     * Constructs a new WaybackMachineArchiver talking to the given API endpoint instead of the Wayback Machine.
+     *
+     * @param config     Configuration model for the archiver.
+     * @param controller Controller for managing CLI interactions.
+     * @param httpClient HTTP client used for the save, status and availability requests.
+     * @param apiUrl     Base URL of the save API, ending with a slash.
+     */
+    WaybackMachineArchiver(ConfigModel config, CLIController controller, HttpClient httpClient, String apiUrl) {
         this.config = config;
         this.controller = controller;
+        this.httpClient = httpClient;
+        this.apiUrl = apiUrl;
+        this.retryPolicy = RetryPolicy.fromConfig(config);
+    }
+
+    /**
+     * Sets the policy used to retry fetching the status of a job after it was submitted.
+     * Retrying the status instead of the whole submission avoids capturing the URL twice. The archiver has its own
+     * policy by default, so its retries are not counted in the metrics of the whole archiving calls.
+     *
+     * @param retryPolicy the retry policy
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
     }
 
     /**
      * Archives a given URL using the Wayback Machine service.
+     * The pending job is linked to the file currently shown by the controller.
      *
      * @param url URL to be archived.
      * @return The status of the archiving operation.
@@ -47,31 +111,105 @@ public class WaybackMachineArchiver implements URLArchiver {
      */
     @Override
     public String archiveURL(String url) throws ArchiverException {
-        try {
-            String postData = "url=" + url + "&capture_all=1&skip_first_archive=1";
-            HttpRequest request = createPostRequest(API_URL, postData);
-            HttpResponse<String> response = sendRequest(request);
+        return archiveURL(url, this.controller.getFileModel());
+    }
 
-            validateResponse(response);
+    /**
+     * Archives a given URL using the Wayback Machine service and links the pending job to the given file.
+     * Waits for {@link #archiveAsync(String, FileModel)}, so both calls behave the same.
+     *
+     * @param url       URL to be archived.
+     * @param fileModel The file the URL was extracted from.
+     * @return The status of the archiving operation.
+     * @throws ArchiverException if an error occurs during the archiving process.
+     */
+    @Override
+    public String archiveURL(String url, FileModel fileModel) throws ArchiverException {
+        return Futures.await(archiveAsync(url, fileModel)).archivedUrl();
+    }
 
-            WaybackMachineArchiveResponse archiveResponse = new ObjectMapper().readValue(response.body(), WaybackMachineArchiveResponse.class);
-            WaybackMachineJob job = getWaybackMachineJob(archiveResponse.getJob_id());
+    /**
+     * Archives a given URL using the Wayback Machine service without blocking the calling thread.
+     * The save and status requests are sent asynchronously and the pending job is linked to the given file,
+     * or to the file currently shown by the controller if none is given. Without a controller, the job is not
+     * polled and only its id is returned.
+     * <p>
+     * Once the URL is submitted, it is never submitted again by a retry: if its status still cannot be fetched after
+     * the retries of the status request, the job is handed over to the poller as pending, and other errors of the
+     * status request are not transient.
+     * </p>
+     *
+     * @param url       URL to be archived.
+     * @param fileModel The file the URL was extracted from, or null to use the file shown by the controller.
+     * @return A future completing with a pending outcome holding the id of the job.
+     */
+    @Override
+    public CompletableFuture<ArchiveOutcome> archiveAsync(String url, FileModel fileModel) {
+        Instant startedAt = Instant.now();
+        FileModel file = fileModel == null && this.controller != null ? this.controller.getFileModel() : fileModel;
+        String postData = "url=" + url + "&capture_all=1&skip_first_archive=1";
 
-            validateJobStatus(job);
+        return this.httpClient.sendAsync(createPostRequest(this.apiUrl, postData), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> parseArchiveResponse(url, response))
+                .thenCompose(archiveResponse -> getSubmittedJobAsync(archiveResponse.getJob_id()))
+                .thenApply(job -> {
+                    try {
+                        validateJobStatus(job);
+                    } catch (ArchiverException e) {
+                        throw new CompletionException(e);
+                    }
+                    if (this.controller != null) {
+                        this.controller.addPendingJob(new PendingWaybackMachineJob(url, job, file));
+                    }
+                    return ArchiveOutcome.pending(url, SERVICE_NAME, job.getJob_id(), startedAt);
+                })
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(
+                        Futures.toArchiverException(error, "IO error occurred while archiving URL: " + url)));
+    }
 
-            this.controller.addPendingJob(new PendingWaybackMachineJob(url, job, this.controller.getFileModel()));
+    private WaybackMachineArchiveResponse parseArchiveResponse(String url, HttpResponse<String> response) {
+        try {
+            validateResponse(response);
+            return OBJECT_MAPPER.readValue(response.body(), WaybackMachineArchiveResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new CompletionException(new ArchiverException("Unexpected response while archiving URL: " + url, e));
+        } catch (ArchiverException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-            return "pending";
+    /**
+     * Fetches the status of a submitted job, retrying transient errors. If the retries are exhausted, a pending job
+     * is returned, so the poller keeps asking for the status instead of the URL being submitted again.
+     *
+     * @param jobId The id of the submitted job.
+     * @return A future completing with the job, failing only with errors that are not transient.
+     */
+    private CompletableFuture<WaybackMachineJob> getSubmittedJobAsync(String jobId) {
+        return retryPolicy.executeAsync(() -> getWaybackMachineJobAsync(jobId))
+                .exceptionallyCompose(error -> {
+                    if (Futures.unwrap(error) instanceof ArchiverTransientException) {
+                        WaybackMachineJob job = new WaybackMachineJob();
+                        job.setJob_id(jobId);
+                        job.setStatus(STATUS_PENDING);
+                        return CompletableFuture.completedFuture(job);
+                    }
+                    return CompletableFuture.failedFuture(error);
+                });
+    }
 
-        } catch (IOException e) {
-            if (e.getMessage() != null) {
-                throw new ArchiverException("IO error occurred while archiving URL: " + url, e);
+    private CompletableFuture<WaybackMachineJob> getWaybackMachineJobAsync(String jobId) {
+        return requestJobStatusAsync(jobId).thenApply(response -> {
+            try {
+                validateResponse(response);
+                return parseJob(response.body());
+            } catch (ArchiverException e) {
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(new ArchiverException("Unexpected status of job: " + jobId, e));
             }
-            return "pending";
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ArchiverException("The archiving operation was interrupted", e);
-        }
+        }).exceptionallyCompose(error -> CompletableFuture.failedFuture(
+                Futures.toArchiverException(error, "IO error occurred while fetching the status of job: " + jobId)));
     }
 
     /**
@@ -82,7 +220,7 @@ public class WaybackMachineArchiver implements URLArchiver {
     @Override
     public boolean isAvailable() {
         try {
-            HttpRequest request = createGetRequest(API_URL + "status/system");
+            HttpRequest request = createGetRequest(this.apiUrl + "status/system");
             HttpResponse<String> response = sendRequest(request);
             return response.statusCode() < 300;
         } catch (IOException | InterruptedException e) {
@@ -112,28 +250,25 @@ public class WaybackMachineArchiver implements URLArchiver {
     }
 
     /**
-     * Retrieves the details of a Wayback Machine job using the provided job ID.
+     * Requests the status of a Wayback Machine job without blocking the calling thread.
      *
      * @param jobId The job ID to query.
-     * @return The retrieved Wayback Machine job details.
-     * @throws IOException          if a network-related exception occurs.
-     * @throws InterruptedException if the thread is interrupted while waiting for the response.
+     * @return A future completing with the raw status response.
      */
-    private WaybackMachineJob getWaybackMachineJob(String jobId) throws IOException, InterruptedException {
-        HttpRequest request = createGetRequest(API_URL + "status/" + jobId);
-        HttpResponse<String> response = sendRequest(request);
-        return new ObjectMapper().readValue(response.body(), WaybackMachineJob.class);
+    CompletableFuture<HttpResponse<String>> requestJobStatusAsync(String jobId) {
+        HttpRequest request = createGetRequest(this.apiUrl + "status/" + jobId);
+        return this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
-     * Updates the status of all pending jobs.
+     * Maps the body of a status response to a Wayback Machine job.
      *
-     * @throws ArchiverException if an error occurs while updating job statuses.
+     * @param body The JSON body of the status response.
+     * @return The job described by the response.
+     * @throws IOException if the body cannot be parsed.
      */
-    public void updatePendingJobs() throws ArchiverException {
-        for (PendingWaybackMachineJob job : this.controller.getPendingJobs()) {
-            updateJobStatus(job);
-        }
+    WaybackMachineJob parseJob(String body) throws IOException {
+        return OBJECT_MAPPER.readValue(body, WaybackMachineJob.class);
     }
 
     private HttpRequest createPostRequest(String url, String postData) {
@@ -156,10 +291,17 @@ public class WaybackMachineArchiver implements URLArchiver {
     }
 
     private HttpResponse<String> sendRequest(HttpRequest request) throws IOException, InterruptedException {
-        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        return this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     private void validateResponse(HttpResponse<String> response) throws ArchiverException {
+        Optional<Duration> retryAfter = WaybackMachineJobPoller.parseRetryAfter(response);
+        if (response.statusCode() == TOO_MANY_REQUESTS || response.statusCode() > 299 && retryAfter.isPresent()) {
+            throw new ArchiverThrottledException("Too many requests: " + response.statusCode(), retryAfter.orElse(null));
+        }
+        if (response.statusCode() >= SERVER_ERROR) {
+            throw new ArchiverTransientException("Server error " + response.statusCode() + ": " + response.body());
+        }
         if (response.statusCode() > 299) {
             throw new ArchiverException("Non-successful response: " + response.body());
         }
@@ -167,23 +309,10 @@ public class WaybackMachineArchiver implements URLArchiver {
 
     private void validateJobStatus(WaybackMachineJob job) throws ArchiverException {
         if (job.getStatus().contains("error")) {
-            throw new ArchiverException("Error in Wayback Machine job: " + job.getException());
-        }
-    }
-
-    private void updateJobStatus(PendingWaybackMachineJob job) throws ArchiverException {
-        if (job.getJob().getStatus().equalsIgnoreCase("pending")) {
-            try {
-                job.setJob(getWaybackMachineJob(job.getJob().getJob_id()));
-            } catch (IOException e) {
-                if (e.getMessage() != null) {
-                    throw new ArchiverException("IO error occurred while getting Job: " + job.getJob().getJob_id(), e);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new ArchiverException("The archiving operation was interrupted", e);
+            if (job.getStatus_ext() == null || !PERMANENT_JOB_ERRORS.contains(job.getStatus_ext())) {
+                throw new ArchiverTransientException("Error in Wayback Machine job: " + job.getException());
             }
+            throw new ArchiverException("Error in Wayback Machine job: " + job.getException());
         }
     }
 
@@ -0,0 +1,265 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.FileModel;
+import ch.bfh.model.archiving.PendingWaybackMachineJob;
+import ch.bfh.model.archiving.WaybackMachineJob;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Background service that owns the pending Wayback Machine jobs and polls their status.
+ * <p>
+ * Every job is polled on its own schedule using non-blocking requests. While a job is pending,
+ * the delay between two polls grows exponentially up to a maximum. If the service answers with a
+ * {@code Retry-After} header, the job is polled again after the requested time instead, while the
+ * exponential backoff keeps growing in the background.
+ * As soon as a job succeeds, the archived URL is added to the file the job belongs to and the job
+ * is removed and the completion listener is notified. Jobs that fail keep their error status and are not
+ * polled anymore.
+ * </p>
+ */
+public class WaybackMachineJobPoller {
+    private static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(3);
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(60);
+    private static final String ARCHIVE_URL_PREFIX = "https://web.archive.org/web/";
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_SUCCESS = "success";
+
+    private final WaybackMachineArchiver archiver;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Set<PendingWaybackMachineJob> jobs = new LinkedHashSet<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile BiConsumer<String, String> completionListener = (extractedUrl, archivedUrl) -> {
+    };
+
+    /**
+     * Creates a poller with the default backoff settings.
+     *
+     * @param archiver the archiver used to request the job status
+     */
+    public WaybackMachineJobPoller(WaybackMachineArchiver archiver) {
+        this(archiver, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Creates a poller with custom backoff settings.
+     *
+     * @param archiver     the archiver used to request the job status
+     * @param initialDelay the delay before the first poll of a job
+     * @param maxDelay     the upper bound of the delay between two polls of a job
+     */
+    public WaybackMachineJobPoller(WaybackMachineArchiver archiver, Duration initialDelay, Duration maxDelay) {
+        this.archiver = archiver;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wayback-job-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the listener notified about every successfully completed job. It is called on the polling thread.
+     *
+     * @param completionListener receives the extracted URL and the archived URL of a completed job
+     */
+    public void setCompletionListener(BiConsumer<String, String> completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    /**
+     * Adds a job to the pending jobs and starts polling it if its status is pending.
+     * A job that already succeeded is completed right away.
+     *
+     * @param job the job to poll
+     */
+    public void addJob(PendingWaybackMachineJob job) {
+        synchronized (jobs) {
+            jobs.add(job);
+        }
+        if (isSuccessful(job)) {
+            complete(job);
+        } else if (isPending(job)) {
+            schedulePoll(job, initialDelay);
+        }
+    }
+
+    /**
+     * Returns a snapshot of all jobs that are not completed yet, in the order they were added.
+     * This includes jobs that failed and are not polled anymore.
+     *
+     * @return a new list with the unfinished jobs
+     */
+    public ArrayList<PendingWaybackMachineJob> getPendingJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the jobs that failed and are not polled anymore, in the order they were added.
+     *
+     * @return a new list with the failed jobs
+     */
+    public List<PendingWaybackMachineJob> getFailedJobs() {
+        synchronized (jobs) {
+            return jobs.stream().filter(job -> !isPending(job) && !isSuccessful(job)).toList();
+        }
+    }
+
+    /**
+     * Blocks until no job is pending anymore or the timeout elapses.
+     * Jobs that failed do not count as pending, see {@link #getFailedJobs()}.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if all jobs are finished, false if the timeout elapsed first
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitCompletion(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (jobs) {
+            while (jobs.stream().anyMatch(WaybackMachineJobPoller::isPending)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(jobs, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops polling. Jobs that are still pending stay pending.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Calculates the exponential backoff for the next poll of a job by doubling the previous one.
+     * The result never exceeds the maximum delay.
+     *
+     * @param backoff the backoff used for the last poll
+     * @return the backoff for the next poll
+     */
+    Duration nextBackoff(Duration backoff) {
+        Duration next = backoff.multipliedBy(2);
+        return next.compareTo(maxDelay) > 0 ? maxDelay : next;
+    }
+
+    /**
+     * Parses the {@code Retry-After} header of a response, given either in seconds or as HTTP date.
+     *
+     * @param response the response to read the header from
+     * @return the requested delay, or an empty optional if the header is missing or invalid
+     */
+    static Optional<Duration> parseRetryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After").flatMap(value -> {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+                    return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+                } catch (DateTimeParseException ignored) {
+                    return Optional.empty();
+                }
+            }
+        });
+    }
+
+    private void schedulePoll(PendingWaybackMachineJob job, Duration backoff) {
+        schedulePoll(job, backoff, backoff);
+    }
+
+    private void schedulePoll(PendingWaybackMachineJob job, Duration delay, Duration backoff) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(() -> poll(job, backoff), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(PendingWaybackMachineJob job, Duration backoff) {
+        archiver.requestJobStatusAsync(job.getJob().getJob_id())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        // Network problems are transient, try again later
+                        schedulePoll(job, nextBackoff(backoff));
+                    } else {
+                        handleResponse(job, backoff, response);
+                    }
+                });
+    }
+
+    private void handleResponse(PendingWaybackMachineJob job, Duration backoff, HttpResponse<String> response) {
+        Duration nextBackoff = nextBackoff(backoff);
+
+        if (response.statusCode() > 299) {
+            schedulePoll(job, parseRetryAfter(response).orElse(nextBackoff), nextBackoff);
+            return;
+        }
+
+        WaybackMachineJob polledJob;
+        try {
+            polledJob = archiver.parseJob(response.body());
+        } catch (IOException e) {
+            schedulePoll(job, nextBackoff);
+            return;
+        }
+
+        job.setJob(polledJob);
+        if (isSuccessful(job)) {
+            complete(job);
+        } else if (isPending(job)) {
+            schedulePoll(job, parseRetryAfter(response).orElse(nextBackoff), nextBackoff);
+        } else {
+            // The job failed, wake up threads waiting for the completion of the jobs
+            synchronized (jobs) {
+                jobs.notifyAll();
+            }
+        }
+    }
+
+    private void complete(PendingWaybackMachineJob job) {
+        String archivedURL = getArchivedURL(job.getJob());
+        FileModel file = job.getFile();
+        if (file != null) {
+            file.addArchivedURL(job.getExtractedUrl(), archivedURL);
+        }
+        completionListener.accept(job.getExtractedUrl(), archivedURL);
+        synchronized (jobs) {
+            jobs.remove(job);
+            jobs.notifyAll();
+        }
+    }
+
+    private static String getArchivedURL(WaybackMachineJob job) {
+        return ARCHIVE_URL_PREFIX + job.getTimestamp() + "/" + job.getOriginal_url();
+    }
+
+    private static boolean isSuccessful(PendingWaybackMachineJob job) {
+        return STATUS_SUCCESS.equalsIgnoreCase(job.getJob().getStatus());
+    }
+
+    private static boolean isPending(PendingWaybackMachineJob job) {
+        return job.getJob().getStatus() != null && job.getJob().getStatus().equalsIgnoreCase(STATUS_PENDING);
+    }
+}
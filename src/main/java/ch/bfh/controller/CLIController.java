@@ -13,12 +13,13 @@ import ch.bfh.view.ConsoleView;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 
@@ -32,13 +33,17 @@ public class CLIController {
     private final ConsoleView view;
     private final Scanner scanner;
     private final ArchiverManager archiverManager;
-    private final ArrayList<PendingWaybackMachineJob> pendingJobs;
+    private final WaybackMachineJobPoller jobPoller;
+    private final WebDriverPool webDriverPool;
+    private final ArchiveResultCache archiveResultCache;
     private FileModel fileModel;
     private int currentURLPairIndex;
     private FolderModel folderModel;
     private int currentFileIndex;
     private boolean running = true;
+    private boolean batchMode = false;
     private ConfigModel config;
+    private ExtractionCache extractionCache;
 
 
     /**
@@ -57,7 +62,6 @@ public class CLIController {
         this.currentURLPairIndex = 0;
         this.folderModel = null;
         this.currentFileIndex = 0;
-        this.pendingJobs = new ArrayList<>();
 
         // read config file
         try {
@@ -71,20 +75,74 @@ public class CLIController {
         this.archiverManager = new ArchiverManager();
         // Initialize all possible archivers once
 
-        archiverManager.addArchiver(new WaybackMachineArchiver(this.config, this));
-        archiverManager.addArchiver(new ArchiveTodayArchiver());
+        WaybackMachineArchiver waybackMachineArchiver = new WaybackMachineArchiver(this.config, this);
+        archiverManager.addArchiver(waybackMachineArchiver);
+        // The browser sessions of Archive.today are kept open and reused for the following URLs
+        this.webDriverPool = WebDriverPool.fromConfig(this.config);
+        // Archive.today is called over HTTP, the browser is only opened if a CAPTCHA has to be solved
+        archiverManager.addArchiver(new ArchiveTodayHttpArchiver(this.config, new ArchiveTodayArchiver(webDriverPool)));
+        // Quit the browsers also if the program is interrupted, e.g. with Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(webDriverPool::shutdown));
+
+        // The poller refreshes the pending Wayback Machine jobs in the background
+        this.jobPoller = new WaybackMachineJobPoller(waybackMachineArchiver);
+
+        // Reuse the URLs archived recently instead of archiving them again
+        this.archiveResultCache = loadArchiveResultCache();
+        if (this.archiveResultCache != null) {
+            archiverManager.setArchiveResultCache(this.archiveResultCache);
+            jobPoller.setCompletionListener((extractedUrl, archivedUrl) ->
+                    archiveResultCache.store(extractedUrl, waybackMachineArchiver.getServiceName(), archivedUrl));
+        }
+
+        // Apply the configured concurrency limits for batch archiving, ignoring invalid values
+        this.config.getConcurrencyLimits().forEach((serviceName, limit) -> {
+            if (limit != null && limit > 0) {
+                archiverManager.setConcurrencyLimit(serviceName, limit);
+            }
+        });
+
+        // Limit the time every service may take when a URL is archived with all services at the same time
+        this.config.getArchiveTimeouts().forEach((serviceName, seconds) -> {
+            if (seconds != null && seconds > 0) {
+                archiverManager.setArchiveTimeout(serviceName, Duration.ofSeconds(seconds));
+            }
+        });
+
+        // Retry archiving calls that fail with a transient error. The Wayback Machine archiver keeps its own policy
+        // for the status of submitted jobs, so the retry metrics only count whole archiving calls.
+        archiverManager.setRetryPolicy(RetryPolicy.fromConfig(this.config));
+
+        // Limit the request rate of every service, pausing a service when it throttles the requests,
+        // and stop calling a service that fails repeatedly
+        archiverManager.getAllArchivers().forEach(archiver -> {
+            String serviceName = archiver.getServiceName();
+            archiverManager.setRateLimiter(serviceName,
+                    RateLimiter.fromConfig(this.config, serviceName, archiverManager.getConcurrencyLimit(serviceName)));
+            archiverManager.setCircuitBreaker(serviceName, CircuitBreaker.fromConfig(this.config));
+        });
     }
 
     public FileModel getFileModel() {
         return fileModel;
     }
 
+    /**
+     * Returns a snapshot of the jobs that are not completed yet.
+     *
+     * @return a new list with the unfinished jobs
+     */
     public ArrayList<PendingWaybackMachineJob> getPendingJobs() {
-        return pendingJobs;
+        return jobPoller.getPendingJobs();
     }
 
+    /**
+     * Hands a job over to the background poller. Archivers may call this from several threads at once.
+     *
+     * @param job the pending job to add
+     */
     public void addPendingJob(PendingWaybackMachineJob job) {
-        this.pendingJobs.add(job);
+        jobPoller.addJob(job);
     }
 
     /**
@@ -115,6 +173,189 @@ public class CLIController {
         processUserInput();
     }
 
+    /**
+     * Runs the whole pipeline without any prompts: extracts the URLs of the given path, archives all of them
+     * with the selected services, waits for the pending jobs and exports the archived URLs.
+     * Jobs that are still pending after the wait timeout are saved and can be imported later.
+     *
+     * @param args the command-line arguments, see {@link BatchArgumentParser}
+     * @return the exit code of the run: 0 if all URLs were archived, 1 if the run could not be started and 2 if
+     * nothing was archived, an archiving call or a job failed or jobs were still pending after the wait timeout
+     */
+    public int startBatch(String[] args) {
+        this.batchMode = true;
+
+        BatchOptions options;
+        try {
+            options = BatchArgumentParser.parse(args);
+            PathValidator.validate(options.inputPath());
+        } catch (BatchArgumentException | PathValidationException e) {
+            view.printMessage(e);
+            view.printMessage("batch.usage");
+            shutdown();
+            return 1;
+        }
+
+        handlePath(options.inputPath());
+        if (this.fileModel == null) {
+            shutdown();
+            return 1;
+        }
+
+        List<URLArchiver> selectedArchivers = getBatchArchivers(options);
+        if (selectedArchivers.isEmpty()) {
+            view.printFormattedMessage("action.archiving.error.no_archivers_available");
+            shutdown();
+            return 1;
+        }
+
+        boolean archivingSucceeded = archiveAllURLs(selectedArchivers);
+        boolean jobsCompleted = awaitPendingJobs(options.waitTimeout());
+        statusUpdate();
+        exportBatch(options);
+        // Only count the URLs archived by now, a job still pending or failed leaves its placeholder behind
+        boolean archived = countArchivedURLs() > 0;
+
+        shutdown();
+        return archived && archivingSucceeded && jobsCompleted ? 0 : 2;
+    }
+
+    /**
+     * Resolves the archivers selected for the batch mode. The Wayback Machine is skipped if no credentials
+     * are configured, as they cannot be entered without prompt.
+     *
+     * @param options the options of the batch run
+     * @return the archivers to archive the URLs with
+     */
+    private List<URLArchiver> getBatchArchivers(BatchOptions options) {
+        List<URLArchiver> selectedArchivers = new ArrayList<>();
+        for (String archiverName : options.archiverNames()) {
+            if (archiverName.equals("WaybackMachine") && (this.config.getAccessKey().isEmpty() || this.config.getSecretKey().isEmpty())) {
+                view.printMessage("batch.warning.noCredentials");
+                continue;
+            }
+            if (archiverName.equals("ArchiveToday")) {
+                view.printFormattedMessage("action.archiving.solve_captchas");
+            }
+            selectedArchivers.add(archiverManager.getArchiver(archiverName));
+        }
+        return selectedArchivers;
+    }
+
+    /**
+     * Archives all extracted URLs of the current file or folder with the given archivers and adds the
+     * archived URLs to the files as soon as they are available.
+     *
+     * @param selectedArchivers the archivers to archive the URLs with
+     * @return true if no archiving call failed
+     */
+    private boolean archiveAllURLs(List<URLArchiver> selectedArchivers) {
+        Set<String> unavailableArchivers = new LinkedHashSet<>();
+        AtomicInteger errorCount = new AtomicInteger();
+        ArchiverResultListener listener = new ArchiverResultListener() {
+            @Override
+            public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+                for (String archivedUrl : result.archivedUrls()) {
+                    fileModel.addArchivedURL(extractedURL, archivedUrl);
+                    view.printFormattedMessage("info.extracted_archived_url", extractedURL, archivedUrl);
+                }
+                unavailableArchivers.addAll(result.unavailableArchivers());
+            }
+
+            @Override
+            public void onError(FileModel fileModel, String extractedURL, URLArchiver archiver, ArchiverException exception) {
+                errorCount.incrementAndGet();
+                view.printFormattedMessage("batch.archiving.error", extractedURL, archiver.getServiceName());
+                view.printMessage(exception);
+            }
+        };
+
+        view.printMessage("action.archiving.start");
+        if (this.folderModel != null) {
+            archiverManager.archiveAll(this.folderModel, selectedArchivers, listener);
+        } else {
+            archiverManager.archiveAll(this.fileModel, selectedArchivers, listener);
+        }
+
+        for (String archiverName : unavailableArchivers) {
+            view.printFormattedMessage("action.archiving.error.archiver_unavailable", archiverName);
+        }
+
+        RetryMetrics retryMetrics = archiverManager.getRetryPolicy().getMetrics();
+        if (retryMetrics.getRetries() > 0) {
+            view.printFormattedMessage("action.archiving.retries.info",
+                    retryMetrics.getRetries(), retryMetrics.getRecovered(), retryMetrics.getExhausted());
+        }
+
+        return errorCount.get() == 0;
+    }
+
+    /**
+     * Counts the archived URLs of the current file or folder, leaving out the placeholders of pending jobs.
+     *
+     * @return the number of archived URLs
+     */
+    private long countArchivedURLs() {
+        List<FileModel> files = this.folderModel != null ? this.folderModel.getFiles() : List.of(this.fileModel);
+        return files.stream()
+                .flatMap(file -> file.getUrlPairs().stream())
+                .flatMap(urlPair -> urlPair.getArchivedURLs().stream())
+                .filter(archivedUrl -> !archivedUrl.equalsIgnoreCase(ArchiveOutcome.PENDING))
+                .count();
+    }
+
+    /**
+     * Waits until the pending Wayback Machine jobs are finished or the timeout elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if all jobs succeeded, false if a job failed, the timeout elapsed or the wait was interrupted
+     */
+    private boolean awaitPendingJobs(Duration timeout) {
+        if (getPendingJobs().isEmpty()) {
+            return true;
+        }
+
+        view.printFormattedMessage("batch.waiting", getPendingJobs().size());
+        try {
+            if (!jobPoller.awaitCompletion(timeout)) {
+                view.printFormattedMessage("batch.waiting.timeout", getPendingJobs().size());
+                return false;
+            }
+            List<PendingWaybackMachineJob> failedJobs = jobPoller.getFailedJobs();
+            if (!failedJobs.isEmpty()) {
+                view.printFormattedMessage("batch.waiting.failed", failedJobs.size());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Exports the archived URLs as requested by the batch options.
+     *
+     * @param options the options of the batch run
+     */
+    private void exportBatch(BatchOptions options) {
+        List<FileModel> files = (folderModel != null) ? folderModel.getFiles() : List.of(fileModel);
+
+        if (options.exportBib()) {
+            for (FileModel fm : files) {
+                if (isBibFile(fm) && fm.hasArchivedURLs()) {
+                    writeBib(fm);
+                }
+            }
+        }
+
+        if (options.csvPath() != null) {
+            String csvPath = resolveCSVPath(options.csvPath());
+            exportCSV(csvPath);
+            view.printFormattedMessage("batch.export.csv", csvPath);
+        }
+    }
+
     private void handleImportJobs() {
         if (PendingJobsHelper.existPendingJobs()) {
             view.printSeparator();
@@ -130,8 +371,8 @@ public class CLIController {
             for (PendingWaybackMachineJob importedJob : importedJobs) {
                 importedJob.setFile(this.fileModel);
                 importedJob.getJob().setStatus("pending");
+                jobPoller.addJob(importedJob);
             }
-            this.pendingJobs.addAll(importedJobs);
         } catch (PendingJobsException e) {
             view.printMessage(e);
         }
@@ -303,6 +544,9 @@ public class CLIController {
             }
         }
 
+        // Warm browser sessions were launched with the previous settings, the next URLs use the selected browser
+        webDriverPool.clear();
+
         try {
             ConfigFileHelper.save(this.config);
             view.printMessage("config.save.success");
@@ -394,10 +638,12 @@ public class CLIController {
             }
         }
 
-        // Perform archiving with the selected archivers
+        // Perform archiving with the selected archivers, all services at the same time if all were chosen
         try {
             startArchiving();
-            ArchiverResult result = archiverManager.archive(url, selectedArchivers);
+            ArchiverResult result = serviceChoice.equals("3")
+                    ? archiveWithAllServices(url, selectedArchivers)
+                    : archiverManager.archive(url, selectedArchivers);
             finishArchiving();
 
             if (result.archivedUrls().isEmpty()) {
@@ -415,13 +661,36 @@ public class CLIController {
             }
         } catch (ArchiverException e) {
             view.printMessage(e);
-            System.out.println(e.getCause().getMessage());
             finishArchiving();
         }
         statusUpdate();
 
     }
 
+    /**
+     * Archives a URL with all given archivers at the same time, so the user waits for the slowest service only.
+     * Services that fail or exceed their archive timeout are reported, the results of the others are kept.
+     *
+     * @param url               the URL to archive
+     * @param selectedArchivers the archivers to archive the URL with
+     * @return the archived URLs and the unavailable archivers
+     */
+    private ArchiverResult archiveWithAllServices(String url, List<URLArchiver> selectedArchivers) {
+        ArchiverResultListener errorListener = new ArchiverResultListener() {
+            @Override
+            public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+                // The combined result is handled by the caller
+            }
+
+            @Override
+            public void onError(FileModel fileModel, String extractedURL, URLArchiver archiver, ArchiverException exception) {
+                view.printFormattedMessage("batch.archiving.error", extractedURL, archiver.getServiceName());
+                view.printMessage(exception);
+            }
+        };
+        return archiverManager.archiveConcurrently(url, selectedArchivers, this.fileModel, errorListener);
+    }
+
     /**
      * Moves the internal counter to the next URLPair. If it's the last URLPair in the current file,
      * it checks for more files in the folder. If more files are present, it moves to the next file
@@ -455,8 +724,9 @@ public class CLIController {
     private void handleQuit() {
         statusUpdate();
 
-        if (!this.pendingJobs.isEmpty()) {
-            if (yesNoPromt("jobs.quitWithPendingJobs.info", this.pendingJobs.size())) {
+        List<PendingWaybackMachineJob> pendingJobs = getPendingJobs();
+        if (!pendingJobs.isEmpty()) {
+            if (yesNoPromt("jobs.quitWithPendingJobs.info", pendingJobs.size())) {
                 processUserInput();
                 return;
             }
@@ -485,13 +755,22 @@ public class CLIController {
      */
     private void exportBib(FileModel fm) {
         if (yesNoPromt("action.export.bib", fm.getFileName())) {
-            try {
-                ExporterFactory.getExporter("bib").exportURLs(fm, fm.getFilePath().toString());
-            } catch (IOException e) {
-                view.printMessage(e.getMessage());
-            } catch (URLExporterException e) {
-                view.printMessage(e);
-            }
+            writeBib(fm);
+        }
+    }
+
+    /**
+     * Writes the archived URLs of the given file into the file itself.
+     *
+     * @param fm the BIB file to write the URLs into
+     */
+    private void writeBib(FileModel fm) {
+        try {
+            ExporterFactory.getExporter("bib").exportURLs(fm, fm.getFilePath().toString());
+        } catch (IOException e) {
+            view.printMessage(e.getMessage());
+        } catch (URLExporterException e) {
+            view.printMessage(e);
         }
     }
 
@@ -562,6 +841,17 @@ public class CLIController {
             }
         }
 
+        exportCSV(resolveCSVPath(path));
+    }
+
+    /**
+     * Resolves the destination of the CSV export. For a folder, a file named after the current date is created
+     * inside of it; any other path gets the .csv extension.
+     *
+     * @param path the path entered by the user
+     * @return the path of the CSV file
+     */
+    private String resolveCSVPath(String path) {
         if (PathValidator.isFolder(path)) {
             if (!path.endsWith(File.separator)) {
                 path = path + File.separator;
@@ -574,7 +864,15 @@ public class CLIController {
         if (!path.endsWith(".csv")) {
             path = path + ".csv";
         }
+        return path;
+    }
 
+    /**
+     * Exports the archived URLs of the current file or folder to the given CSV file.
+     *
+     * @param path the path of the CSV file
+     */
+    private void exportCSV(String path) {
         if (this.folderModel == null) {
             try {
                 ExporterFactory.getExporter("csv").exportURLs(this.fileModel, path);
@@ -591,131 +889,167 @@ public class CLIController {
     }
 
     /**
-     * updates the status of the pending jobs
+     * Persists the jobs that are still pending. The jobs themselves are refreshed by the background poller,
+     * which adds the archived URLs to the files as soon as the jobs are finished, so this never blocks.
      */
     private void statusUpdate() {
         try {
-            ((WaybackMachineArchiver) this.archiverManager.getArchiver("WaybackMachine")).updatePendingJobs();
-        } catch (ArchiverException e) {
-            view.printMessage(e);
-            System.out.println(e.getCause().getMessage());
-        }
-
-        Iterator<PendingWaybackMachineJob> iterator = this.pendingJobs.iterator();
-
-        while (iterator.hasNext()) {
-            PendingWaybackMachineJob pendingJob = iterator.next();
-
-            if (pendingJob.getJob().getStatus().equalsIgnoreCase("success")) {
-                pendingJob.getFile().addArchivedURL(pendingJob.getExtractedUrl(), "https://web.archive.org/web/" + pendingJob.getJob().getTimestamp() + "/" + pendingJob.getJob().getOriginal_url());
-                iterator.remove(); // Safely remove the current element using iterator
-            }
-        }
-
-        try {
-            PendingJobsHelper.save(this.pendingJobs);
+            PendingJobsHelper.save(getPendingJobs());
         } catch (PendingJobsException e) {
             view.printMessage(e);
         }
-
     }
 
     /**
      * prints the pending jobs
      */
     private void showPendingJobs() {
-        view.printFormattedMessage("jobs.showPending.info", this.pendingJobs.size());
+        List<PendingWaybackMachineJob> pendingJobs = getPendingJobs();
+        view.printFormattedMessage("jobs.showPending.info", pendingJobs.size());
 
-        for (PendingWaybackMachineJob job : this.pendingJobs) {
+        for (PendingWaybackMachineJob job : pendingJobs) {
             view.printFormattedMessage("jobs.showPending.job", job.getExtractedUrl(), job.getJob().getStatus());
         }
 
     }
 
     /**
-     * Iterates through a directory to extract all files and adds them to the folder model.
-     * It skips directories and only processes files that are valid according to the FileValidator.
-     * Valid files are added to the folder model with their MIME type. Any errors encountered
-     * during file validation or adding are logged for information purposes. IOExceptions
-     * thrown during directory iteration are converted to RuntimeExceptions to simplify error handling.
+     * Processes the given path by determining if it's a file or a folder and
+     * populating the appropriate model with URL data extracted from the contents.
+     *
+     * @param inputPath the path to be processed
      */
-    private void extractFilesFromFolder() {
-        // Iterate over the directory stream to process files
-        Path directoryPath = Paths.get(folderModel.getBasePath());
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directoryPath)) {
-            for (Path entry : stream) {
-                Path fullPath = directoryPath.resolve(entry.getFileName());
-                processFile(fullPath);
+    public void handlePath(String inputPath) {
+        extractionCache = loadExtractionCache();
+        try {
+            if (PathValidator.isFolder(inputPath)) {
+                handleFolder(inputPath);
+            } else {
+                handleSingleFile(inputPath);
             }
         } catch (IOException e) {
-            // Convert to unchecked exception to simplify error handling
-            throw new RuntimeException("Error iterating through the directory", e);
+            view.printMessage("file.read.error");
         }
+        saveExtractionCache();
     }
 
     /**
-     * Processes a single file filePath to validate and add to the folder model if it is not a directory.
+     * Loads the cache of extracted URLs if it is enabled in the configuration.
+     * If the cache cannot be read, an empty cache is used that replaces it when saved.
      *
-     * @param filePath The file filePath to process.
+     * @return the cache, or {@code null} if the cache is disabled
      */
-    private void processFile(Path filePath) throws IOException {
-        if (!Files.isDirectory(filePath)) {
-            try {
-                String mimeType = FileValidator.validate(filePath.toString());
-                view.printFormattedMessage("file.validated.info", filePath.getFileName().toString() + " (" + mimeType + ")");
-                folderModel.addFile(new FileModel(filePath, mimeType));
-            } catch (FileModelException e) {
-                view.printMessage(e);
-            }
+    private ExtractionCache loadExtractionCache() {
+        if (!this.config.isExtractionCacheEnabled()) {
+            return null;
+        }
+
+        try {
+            return ExtractionCache.load();
+        } catch (ExtractionCacheException e) {
+            view.printFormattedMessage("extractionCache.error", e.getMessage());
+            return new ExtractionCache(Path.of(ExtractionCache.DEFAULT_EXTRACTION_CACHE_FILE_PATH));
         }
     }
 
     /**
-     * Processes the given path by determining if it's a file or a folder and
-     * populating the appropriate model with URL data extracted from the contents.
+     * Loads the cache of archived URLs if it is enabled in the configuration.
+     * If the cache cannot be read, an empty cache is used that replaces it when saved.
      *
-     * @param inputPath the path to be processed
+     * @return the cache, or {@code null} if the cache is disabled
      */
-    public void handlePath(String inputPath) {
+    private ArchiveResultCache loadArchiveResultCache() {
+        if (this.config.getArchiveCacheFreshnessHours() <= 0) {
+            return null;
+        }
+
+        Duration freshness = Duration.ofHours(this.config.getArchiveCacheFreshnessHours());
         try {
-            if (PathValidator.isFolder(inputPath)) {
-                handleFolder(inputPath);
-            } else {
-                handleSingleFile(inputPath);
-            }
-        } catch (IOException e) {
-            view.printMessage("file.read.error");
+            return ArchiveResultCache.load(freshness);
+        } catch (ArchiveCacheException e) {
+            view.printFormattedMessage("archiveCache.error", e.getMessage());
+            return new ArchiveResultCache(Path.of(ArchiveResultCache.DEFAULT_ARCHIVE_CACHE_FILE_PATH), freshness);
+        }
+    }
+
+    private void saveExtractionCache() {
+        if (extractionCache == null) {
+            return;
+        }
+
+        try {
+            extractionCache.save();
+        } catch (ExtractionCacheException e) {
+            view.printFormattedMessage("extractionCache.error", e.getMessage());
         }
     }
 
     /**
-     * Processes the contents of a folder path and initializes the folder model with the contents.
-     * Deletes any file from the folder model that fails to process due to a FileModelException.
+     * Processes the contents of a folder path, including its subfolders, and initializes the folder model with the
+     * contents. The folder is walked with the filters of the configuration, see {@link DirectoryWalker}, and every
+     * file found is read right away by a bounded number of workers, see {@link FileIngestor}.
+     * Files that fail to process are reported and not added to the folder model. Once all files are read,
+     * the folder model is sorted by path, so it is always filled in the same order.
      *
      * @param folderPath the directory path to process
      */
     private void handleFolder(String folderPath) {
         folderModel = new FolderModel(folderPath);
-        extractFilesFromFolder();
 
-        Iterator<FileModel> iterator = folderModel.getFiles().iterator();
-        while (iterator.hasNext()) {
-            FileModel tempFileModel = iterator.next();
-            try {
-                processFileModel(tempFileModel);
-            } catch (FileModelException | IOException e) {
-                view.printMessage(e);
-                iterator.remove();
-            }
+        DirectoryWalker directoryWalker = new DirectoryWalker(this.config.getIncludeGlobs(), this.config.getExcludeGlobs(),
+                this.config.getFolderMaxDepth(), this.config.isFollowSymlinks());
+        FileIngestor fileIngestor = new FileIngestor(this.config, extractionCache);
+        int[] fileCount = {0};
+
+        long start = System.nanoTime();
+        try {
+            fileIngestor.ingest(
+                    consumer -> directoryWalker.walk(Paths.get(folderModel.getBasePath()), consumer,
+                            (path, e) -> view.printFormattedMessage("file.ingestion.error", path, e.getMessage())),
+                    result -> {
+                        fileCount[0]++;
+                        handleIngestionResult(result);
+                    });
+        } catch (IOException e) {
+            // Convert to unchecked exception to simplify error handling
+            throw new RuntimeException("Error iterating through the directory", e);
+        }
+        folderModel.getFiles().sort(Comparator.comparing(FileModel::getFilePath));
+        if (!folderModel.getFiles().isEmpty()) {
+            Map<String, List<FileModel>> urlIndex = folderModel.getURLIndex();
+            view.printFormattedMessage("folder.uniqueUrls.info", urlIndex.size(),
+                    urlIndex.values().stream().mapToInt(List::size).sum());
         }
+        view.printFormattedMessage("folder.ingested.info", folderModel.getFiles().size(), fileCount[0],
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), fileIngestor.getWorkerCount());
 
         if (folderModel.getFiles().isEmpty()) {
-            handleQuit();
+            if (!batchMode) {
+                handleQuit();
+            }
         } else {
             this.fileModel = folderModel.getFiles().getFirst();
         }
     }
 
+    /**
+     * Reports the result of reading a file and adds the file to the folder model if it was read successfully.
+     *
+     * @param result the result of reading the file
+     */
+    private void handleIngestionResult(FileIngestionResult result) {
+        if (result.isSuccess()) {
+            FileModel ingestedFile = result.fileModel();
+            view.printFormattedMessage("file.ingested.info", ingestedFile.getFileName() + " (" + ingestedFile.getMimeType() + ")",
+                    ingestedFile.getUrlPairs().size(), result.duration().toMillis());
+            folderModel.addFile(ingestedFile);
+        } else if (result.error() instanceof FileModelException) {
+            view.printMessage(result.error());
+        } else {
+            view.printFormattedMessage("file.ingestion.error", result.filePath().getFileName(), result.error().getMessage());
+        }
+    }
+
     /**
      * Processes a single file path, validates it, and initializes the file model.
      *
@@ -730,29 +1064,15 @@ public class CLIController {
             mimeType = FileValidator.validate(filePath);
             fileModel = new FileModel(validatedPath, mimeType);
             view.printFormattedMessage("file.validated.info", fileModel.getFileName() + " (" + mimeType + ")");
-            processFileModel(fileModel);
+            new FileIngestor(this.config, extractionCache).extractURLs(fileModel);
         } catch (FileModelException e) {
             view.printMessage(e);
-            handleQuit();
-        }
-    }
-
-    /**
-     * Processes the specified file model by reading its content, extracting URLs, and updating the model with these URLs.
-     * Throws FileModelException if no URLs are found in the file.
-     *
-     * @param fileModel The file model representing the file to be processed. It contains the file's path and MIME type.
-     * @throws IOException        If an error occurs during reading of the file's content, indicating an I/O problem.
-     * @throws FileModelException If no URLs are found in the file.
-     */
-    private void processFileModel(FileModel fileModel) throws IOException, FileModelException {
-        FileReaderInterface fileReader = FileReaderFactory.getFileReader(fileModel.getMimeType());
-        String fileContent = fileReader.readFile(fileModel.getFilePath());
-        Set<String> extractedURLs = URLExtractor.extractURLs(fileContent);
-        if (extractedURLs.isEmpty()) {
-            throw new FileModelException(I18n.getString("file.noUrls.error") + " " + fileModel.getFilePath());
+            if (batchMode) {
+                fileModel = null;
+            } else {
+                handleQuit();
+            }
         }
-        fileModel.addExtractedURLs(extractedURLs);
     }
 
     /**
@@ -802,6 +1122,15 @@ public class CLIController {
      * Performs the necessary shutdown operations, such as closing resources.
      */
     private void shutdown() {
+        jobPoller.shutdown();
+        webDriverPool.shutdown();
+        if (archiveResultCache != null) {
+            try {
+                archiveResultCache.save();
+            } catch (ArchiveCacheException e) {
+                view.printFormattedMessage("archiveCache.error", e.getMessage());
+            }
+        }
         scanner.close();
     }
 }
@@ -0,0 +1,16 @@
+package ch.bfh.exceptions;
+
+/**
+ * Exception class for handling errors related to the archive result cache
+ */
+public class ArchiveCacheException extends Exception {
+    /**
+     * Constructs a new ArchiveCacheException with the specified detail message.
+     *
+     * @param message The detail message. The detail message is saved for
+     *                later retrieval by the {@link Throwable#getMessage()} method.
+     */
+    public ArchiveCacheException(String message) {
+        super(message);
+    }
+}
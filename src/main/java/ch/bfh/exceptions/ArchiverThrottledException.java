@@ -0,0 +1,33 @@
+package ch.bfh.exceptions;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Exception thrown when an archiving service rejects a request because too many requests were sent,
+ * e.g. with the HTTP status 429 or a {@code Retry-After} header. The request may succeed after waiting.
+ */
+public class ArchiverThrottledException extends ArchiverTransientException {
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new ArchiverThrottledException with the specified detail message and the time the service
+     * asked to wait.
+     *
+     * @param message    The detail message.
+     * @param retryAfter The time to wait before sending the next request, or null if the service did not tell.
+     */
+    public ArchiverThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the time the service asked to wait before sending the next request.
+     *
+     * @return the requested delay, or an empty optional if the service did not tell
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
@@ -0,0 +1,27 @@
+package ch.bfh.exceptions;
+
+/**
+ * Exception thrown when an archiving operation failed for a reason that is likely to go away,
+ * e.g. a network error or a server error of the archiving service. The operation may succeed when retried.
+ */
+public class ArchiverTransientException extends ArchiverException {
+
+    /**
+     * Constructs a new ArchiverTransientException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public ArchiverTransientException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ArchiverTransientException with the specified detail message and cause.
+     *
+     * @param message The detail message.
+     * @param cause   The cause of the exception.
+     */
+    public ArchiverTransientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package ch.bfh.exceptions;
+
+/**
+ * Custom exception to handle invalid command-line arguments for the batch mode.
+ */
+public class BatchArgumentException extends Exception {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public BatchArgumentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package ch.bfh.exceptions;
+
+/**
+ * Exception class for handling errors related to the extraction cache
+ */
+public class ExtractionCacheException extends Exception {
+    /**
+     * Constructs a new ExtractionCacheException with the specified detail message.
+     *
+     * @param message The detail message. The detail message is saved for
+     *                later retrieval by the {@link Throwable#getMessage()} method.
+     */
+    public ExtractionCacheException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.BatchArgumentException;
+import ch.bfh.model.BatchOptions;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility class for parsing the command-line arguments of the batch mode.
+ * <p>
+ * Usage: {@code --batch <path> [--archive wayback|today|both] [--export <csv path>] [--export-bib] [--wait <seconds>]}
+ * </p>
+ */
+public class BatchArgumentParser {
+    public static final String BATCH_FLAG = "--batch";
+    public static final List<String> DEFAULT_ARCHIVERS = List.of("WaybackMachine");
+    public static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofMinutes(10);
+
+    /**
+     * Checks if the given arguments request the batch mode.
+     *
+     * @param args the command-line arguments
+     * @return true if the batch flag is present, false otherwise
+     */
+    public static boolean isBatchMode(String[] args) {
+        return Arrays.asList(args).contains(BATCH_FLAG);
+    }
+
+    /**
+     * Parses the command-line arguments of the batch mode.
+     *
+     * @param args the command-line arguments
+     * @return the parsed options
+     * @throws BatchArgumentException if an argument is unknown, misses its value or has an invalid value
+     */
+    public static BatchOptions parse(String[] args) throws BatchArgumentException {
+        String inputPath = null;
+        List<String> archiverNames = DEFAULT_ARCHIVERS;
+        String csvPath = null;
+        boolean exportBib = false;
+        Duration waitTimeout = DEFAULT_WAIT_TIMEOUT;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case BATCH_FLAG -> inputPath = getValue(args, ++i, BATCH_FLAG);
+                case "--archive" -> archiverNames = parseArchivers(getValue(args, ++i, "--archive"));
+                case "--export" -> csvPath = getValue(args, ++i, "--export");
+                case "--export-bib" -> exportBib = true;
+                case "--wait" -> waitTimeout = parseWaitTimeout(getValue(args, ++i, "--wait"));
+                default -> throw new BatchArgumentException(I18n.getString("batch.argument.unknown.error") + " " + args[i]);
+            }
+        }
+
+        return new BatchOptions(inputPath, archiverNames, csvPath, exportBib, waitTimeout);
+    }
+
+    private static String getValue(String[] args, int index, String option) throws BatchArgumentException {
+        if (index >= args.length || args[index].startsWith("--")) {
+            throw new BatchArgumentException(I18n.getString("batch.argument.missingValue.error") + " " + option);
+        }
+        return args[index];
+    }
+
+    private static List<String> parseArchivers(String value) throws BatchArgumentException {
+        return switch (value.toLowerCase()) {
+            case "wayback" -> List.of("WaybackMachine");
+            case "today" -> List.of("ArchiveToday");
+            case "both" -> List.of("WaybackMachine", "ArchiveToday");
+            default -> throw new BatchArgumentException(I18n.getString("batch.argument.archive.error") + " " + value);
+        };
+    }
+
+    private static Duration parseWaitTimeout(String value) throws BatchArgumentException {
+        try {
+            long seconds = Long.parseLong(value);
+            if (seconds < 0) {
+                throw new NumberFormatException();
+            }
+            return Duration.ofSeconds(seconds);
+        } catch (NumberFormatException e) {
+            throw new BatchArgumentException(I18n.getString("batch.argument.wait.error") + " " + value);
+        }
+    }
+}
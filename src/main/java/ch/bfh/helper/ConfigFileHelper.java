@@ -3,12 +3,16 @@ package ch.bfh.helper;
 import ch.bfh.exceptions.ConfigFileException;
 import ch.bfh.model.ConfigFileMapperModel;
 import ch.bfh.model.ConfigModel;
+import ch.bfh.model.PdfExtractionStrategy;
 import ch.bfh.model.SupportedBrowsers;
+import ch.bfh.model.URLCanonicalizationRule;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Helper class for handling configuration data, including reading from and writing to a JSON file.
@@ -89,15 +93,88 @@ public class ConfigFileHelper {
         config.setAccessKey(configMapper.getAccessKey());
         config.setSecretKey(configMapper.getSecretKey());
         config.setBrowser(getSupportedBrowser(configMapper.getBrowser()));
+        config.setHttp2Enabled(configMapper.isHttp2Enabled());
+        config.setConnectTimeoutSeconds(configMapper.getConnectTimeoutSeconds());
+        config.setKeepAliveSeconds(configMapper.getKeepAliveSeconds());
+        if (configMapper.getConcurrencyLimits() != null) {
+            config.setConcurrencyLimits(configMapper.getConcurrencyLimits());
+        }
+        if (configMapper.getRateLimits() != null) {
+            config.setRateLimits(configMapper.getRateLimits());
+        }
+        if (configMapper.getArchiveTimeouts() != null) {
+            config.setArchiveTimeouts(configMapper.getArchiveTimeouts());
+        }
+        config.setIngestionWorkers(configMapper.getIngestionWorkers());
+        config.setIncludeGlobs(configMapper.getIncludeGlobs());
+        config.setExcludeGlobs(configMapper.getExcludeGlobs());
+        config.setFolderMaxDepth(configMapper.getFolderMaxDepth());
+        config.setFollowSymlinks(configMapper.isFollowSymlinks());
+        config.setMemoryMapThresholdMB(configMapper.getMemoryMapThresholdMB());
+        config.setPdfParallelPageThreshold(configMapper.getPdfParallelPageThreshold());
+        config.setPdfPagesPerRange(configMapper.getPdfPagesPerRange());
+        config.setPdfExtractionStrategy(getPdfExtractionStrategy(configMapper.getPdfExtractionStrategy()));
+        config.setPdfMaxMainMemoryMB(configMapper.getPdfMaxMainMemoryMB());
+        config.setExtractionCacheEnabled(configMapper.isExtractionCacheEnabled());
+        config.setArchiveCacheFreshnessHours(configMapper.getArchiveCacheFreshnessHours());
+        config.setUrlCanonicalizationRules(getUrlCanonicalizationRules(configMapper.getUrlCanonicalizationRules()));
+        config.setTrackingParameters(configMapper.getTrackingParameters());
+        config.setThrottleBackoffSeconds(configMapper.getThrottleBackoffSeconds());
+        config.setRetryMaxAttempts(configMapper.getRetryMaxAttempts());
+        config.setRetryInitialBackoffSeconds(configMapper.getRetryInitialBackoffSeconds());
+        config.setRetryMaxBackoffSeconds(configMapper.getRetryMaxBackoffSeconds());
+        config.setAvailabilityCacheSeconds(configMapper.getAvailabilityCacheSeconds());
+        config.setCircuitBreakerFailureThreshold(configMapper.getCircuitBreakerFailureThreshold());
+        config.setCircuitBreakerOpenSeconds(configMapper.getCircuitBreakerOpenSeconds());
+        config.setWebDriverPoolSize(configMapper.getWebDriverPoolSize());
+        config.setWebDriverMaxUses(configMapper.getWebDriverMaxUses());
+        config.setBrowserHeadless(configMapper.isBrowserHeadless());
+        config.setBlockBrowserImages(configMapper.isBlockBrowserImages());
+        config.setBlockBrowserMedia(configMapper.isBlockBrowserMedia());
+        config.setBrowserProfileDirectory(configMapper.getBrowserProfileDirectory());
         return config;
     }
 
     private static ConfigFileMapperModel mapToConfigFileMapperModel(ConfigModel config) {
-        return new ConfigFileMapperModel(
+        ConfigFileMapperModel configMapper = new ConfigFileMapperModel(
                 config.getAccessKey(),
                 config.getSecretKey(),
                 config.getBrowser().name()
         );
+        configMapper.setHttp2Enabled(config.isHttp2Enabled());
+        configMapper.setConnectTimeoutSeconds(config.getConnectTimeoutSeconds());
+        configMapper.setKeepAliveSeconds(config.getKeepAliveSeconds());
+        configMapper.setConcurrencyLimits(config.getConcurrencyLimits());
+        configMapper.setRateLimits(config.getRateLimits());
+        configMapper.setArchiveTimeouts(config.getArchiveTimeouts());
+        configMapper.setIngestionWorkers(config.getIngestionWorkers());
+        configMapper.setIncludeGlobs(config.getIncludeGlobs());
+        configMapper.setExcludeGlobs(config.getExcludeGlobs());
+        configMapper.setFolderMaxDepth(config.getFolderMaxDepth());
+        configMapper.setFollowSymlinks(config.isFollowSymlinks());
+        configMapper.setMemoryMapThresholdMB(config.getMemoryMapThresholdMB());
+        configMapper.setPdfParallelPageThreshold(config.getPdfParallelPageThreshold());
+        configMapper.setPdfPagesPerRange(config.getPdfPagesPerRange());
+        configMapper.setPdfExtractionStrategy(config.getPdfExtractionStrategy().name());
+        configMapper.setPdfMaxMainMemoryMB(config.getPdfMaxMainMemoryMB());
+        configMapper.setExtractionCacheEnabled(config.isExtractionCacheEnabled());
+        configMapper.setArchiveCacheFreshnessHours(config.getArchiveCacheFreshnessHours());
+        configMapper.setUrlCanonicalizationRules(config.getUrlCanonicalizationRules().stream().map(Enum::name).toList());
+        configMapper.setTrackingParameters(config.getTrackingParameters());
+        configMapper.setThrottleBackoffSeconds(config.getThrottleBackoffSeconds());
+        configMapper.setRetryMaxAttempts(config.getRetryMaxAttempts());
+        configMapper.setRetryInitialBackoffSeconds(config.getRetryInitialBackoffSeconds());
+        configMapper.setRetryMaxBackoffSeconds(config.getRetryMaxBackoffSeconds());
+        configMapper.setAvailabilityCacheSeconds(config.getAvailabilityCacheSeconds());
+        configMapper.setCircuitBreakerFailureThreshold(config.getCircuitBreakerFailureThreshold());
+        configMapper.setCircuitBreakerOpenSeconds(config.getCircuitBreakerOpenSeconds());
+        configMapper.setWebDriverPoolSize(config.getWebDriverPoolSize());
+        configMapper.setWebDriverMaxUses(config.getWebDriverMaxUses());
+        configMapper.setBrowserHeadless(config.isBrowserHeadless());
+        configMapper.setBlockBrowserImages(config.isBlockBrowserImages());
+        configMapper.setBlockBrowserMedia(config.isBlockBrowserMedia());
+        configMapper.setBrowserProfileDirectory(config.getBrowserProfileDirectory());
+        return configMapper;
     }
 
     private static SupportedBrowsers getSupportedBrowser(String browserName) {
@@ -113,4 +190,32 @@ public class ConfigFileHelper {
             default -> SupportedBrowsers.UNSUPPORTED;
         };
     }
+
+    private static PdfExtractionStrategy getPdfExtractionStrategy(String strategyName) {
+        if (strategyName == null || strategyName.isBlank()) {
+            return ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY;
+        }
+
+        try {
+            return PdfExtractionStrategy.valueOf(strategyName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY;
+        }
+    }
+
+    private static List<URLCanonicalizationRule> getUrlCanonicalizationRules(List<String> ruleNames) {
+        if (ruleNames == null) {
+            return ConfigModel.DEFAULT_URL_CANONICALIZATION_RULES;
+        }
+
+        List<URLCanonicalizationRule> rules = new ArrayList<>();
+        for (String ruleName : ruleNames) {
+            try {
+                rules.add(URLCanonicalizationRule.valueOf(ruleName.trim().toUpperCase()));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // Unknown rules are skipped
+            }
+        }
+        return rules;
+    }
 }
@@ -0,0 +1,120 @@
+package ch.bfh.helper;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Walks a directory tree and hands every matching file to a consumer as soon as it is found,
+ * so the files can be processed while the tree is still being walked.
+ * <p>
+ * Glob patterns are matched against the path relative to the walked directory and against the file name,
+ * e.g. {@code *.pdf} matches PDF files in every directory. A directory matching an exclude pattern is skipped
+ * together with its content. Symbolic links are skipped unless they should be followed; loops created by
+ * followed links are detected and skipped.
+ * </p>
+ */
+public class DirectoryWalker {
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+    private final int maxDepth;
+    private final boolean followLinks;
+
+    /**
+     * Creates a walker with the given filters.
+     *
+     * @param includeGlobs the glob patterns of the files to include, all files are included if empty
+     * @param excludeGlobs the glob patterns of the files and directories to exclude
+     * @param maxDepth     the maximum number of directory levels to visit, 1 only visits the files of the directory
+     *                     itself, 0 or less visits all levels
+     * @param followLinks  whether symbolic links are followed
+     */
+    public DirectoryWalker(List<String> includeGlobs, List<String> excludeGlobs, int maxDepth, boolean followLinks) {
+        this.includes = createMatchers(includeGlobs);
+        this.excludes = createMatchers(excludeGlobs);
+        this.maxDepth = maxDepth > 0 ? maxDepth : Integer.MAX_VALUE;
+        this.followLinks = followLinks;
+    }
+
+    /**
+     * Walks the given directory and passes every matching regular file to the consumer.
+     * Files and directories that cannot be accessed are passed to the failure handler and skipped.
+     *
+     * @param root           the directory to walk
+     * @param fileConsumer   receives the matching files in the order they are found
+     * @param failureHandler receives the paths that could not be accessed and the reason
+     * @throws IOException if the directory itself cannot be walked
+     */
+    public void walk(Path root, Consumer<Path> fileConsumer, BiConsumer<Path, IOException> failureHandler) throws IOException {
+        Set<FileVisitOption> options = followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
+
+        Files.walkFileTree(root, options, maxDepth, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root) && matchesAny(excludes, root, dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                // Symbolic links only show up here if they are not followed or are broken
+                if (attrs.isRegularFile() && isIncluded(root, file)) {
+                    fileConsumer.accept(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                failureHandler.accept(file, exc);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Checks if the given file passes the include and exclude patterns.
+     *
+     * @param root the walked directory
+     * @param file the file to check
+     * @return true if the file is included, false otherwise
+     */
+    boolean isIncluded(Path root, Path file) {
+        return (includes.isEmpty() || matchesAny(includes, root, file)) && !matchesAny(excludes, root, file);
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path root, Path path) {
+        Path relativePath = root.relativize(path);
+        Path fileName = path.getFileName();
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relativePath) || (fileName != null && matcher.matches(fileName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> createMatchers(List<String> globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        if (globs != null) {
+            for (String glob : globs) {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            }
+        }
+        return matchers;
+    }
+}
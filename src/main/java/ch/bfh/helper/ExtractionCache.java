@@ -0,0 +1,233 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.ExtractionCacheException;
+import ch.bfh.model.ExtractionCacheEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of the URLs extracted from files, stored as JSON file next to the pending jobs.
+ * <p>
+ * A file is identified by its path, size, last modification time and a SHA-256 hash of its content.
+ * If size and modification time are unchanged, the cached URLs are used right away. If only the modification
+ * time changed, the content hash decides whether the file is still the same. The hash is only calculated then,
+ * so files extracted for the first time are not read twice: a file touched before its hash is known is read again
+ * once and stored with the hash calculated during the lookup. The cached URLs are also bound to
+ * the settings of the reader that extracted them, so changing e.g. the PDF extraction strategy reads the file again.
+ * </p>
+ * <p>
+ * The cache can be used by multiple threads at the same time.
+ * </p>
+ */
+public class ExtractionCache {
+    /**
+     * Default location of the cache file.
+     */
+    public static final String DEFAULT_EXTRACTION_CACHE_FILE_PATH = "src/main/resources/extraction_cache.json";
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path cacheFile;
+    private final Map<String, ExtractionCacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, FileHash> calculatedHashes = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    /**
+     * Creates an empty cache that is saved to the given file.
+     *
+     * @param cacheFile the file the cache is saved to
+     */
+    public ExtractionCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Loads the cache from the default cache file.
+     *
+     * @return the loaded cache, empty if the file does not exist yet
+     * @throws ExtractionCacheException if the cache file cannot be read
+     */
+    public static ExtractionCache load() throws ExtractionCacheException {
+        return load(Path.of(DEFAULT_EXTRACTION_CACHE_FILE_PATH));
+    }
+
+    /**
+     * Loads the cache from the given file.
+     *
+     * @param cacheFile the file the cache is read from and saved to
+     * @return the loaded cache, empty if the file does not exist yet
+     * @throws ExtractionCacheException if the cache file cannot be read
+     */
+    public static ExtractionCache load(Path cacheFile) throws ExtractionCacheException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        if (!Files.isRegularFile(cacheFile)) {
+            return cache;
+        }
+
+        try {
+            List<ExtractionCacheEntry> entries = OBJECT_MAPPER.readValue(cacheFile.toFile(),
+                    new TypeReference<List<ExtractionCacheEntry>>() {
+                    });
+            for (ExtractionCacheEntry entry : entries) {
+                cache.entries.put(entry.getFilePath(), entry);
+            }
+        } catch (IOException e) {
+            throw new ExtractionCacheException("Error reading extraction cache: " + e.getMessage());
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cached URLs of a file if the file did not change since they were extracted.
+     *
+     * @param filePath           the file to look up
+     * @param extractionSettings the settings of the reader that would extract the URLs
+     * @return the cached URLs, or an empty optional if the file is not cached or changed
+     * @throws IOException if the file cannot be read
+     */
+    public Optional<Set<String>> lookup(Path filePath, String extractionSettings) throws IOException {
+        String key = getKey(filePath);
+        ExtractionCacheEntry entry = entries.get(key);
+        if (entry == null || !entry.getExtractionSettings().equals(extractionSettings)) {
+            return Optional.empty();
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        if (attributes.size() != entry.getSize()) {
+            return Optional.empty();
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (lastModified != entry.getLastModified()) {
+            String contentHash = hash(filePath);
+            if (!contentHash.equals(entry.getContentHash())) {
+                // Keep the hash, so it is stored with the URLs extracted again instead of reading the file once more
+                calculatedHashes.put(key, new FileHash(attributes.size(), lastModified, contentHash));
+                return Optional.empty();
+            }
+            // The file was only touched, remember the new time to skip hashing next time
+            entries.put(key, new ExtractionCacheEntry(key, entry.getSize(), lastModified, entry.getContentHash(),
+                    extractionSettings, entry.getUrls()));
+            modified = true;
+        }
+        return Optional.of(new LinkedHashSet<>(entry.getUrls()));
+    }
+
+    /**
+     * Stores the URLs extracted from a file, replacing earlier URLs of the same file.
+     * The content of the file is not hashed, unless its hash was already calculated by {@link #lookup(Path, String)}.
+     *
+     * @param filePath           the file the URLs were extracted from
+     * @param extractionSettings the settings of the reader that extracted the URLs
+     * @param urls               the extracted URLs, may be empty
+     * @throws IOException if the file cannot be read
+     */
+    public void store(Path filePath, String extractionSettings, Set<String> urls) throws IOException {
+        String key = getKey(filePath);
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        List<String> sortedUrls = new ArrayList<>(urls);
+        sortedUrls.sort(Comparator.naturalOrder());
+
+        FileHash fileHash = calculatedHashes.remove(key);
+        String contentHash = fileHash != null && fileHash.size() == attributes.size() && fileHash.lastModified() == lastModified
+                ? fileHash.contentHash() : null;
+        entries.put(key, new ExtractionCacheEntry(key, attributes.size(), lastModified, contentHash, extractionSettings, sortedUrls));
+        modified = true;
+    }
+
+    /**
+     * Saves the cache to its file if it changed since it was loaded. Entries of files that do not exist anymore
+     * are removed before saving.
+     *
+     * @throws ExtractionCacheException if the cache file cannot be written
+     */
+    public void save() throws ExtractionCacheException {
+        if (entries.keySet().removeIf(filePath -> !Files.exists(Path.of(filePath)))) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+
+        List<ExtractionCacheEntry> sortedEntries = new ArrayList<>(entries.values());
+        sortedEntries.sort(Comparator.comparing(ExtractionCacheEntry::getFilePath));
+        try {
+            OBJECT_MAPPER.writeValue(cacheFile.toFile(), sortedEntries);
+            modified = false;
+        } catch (IOException e) {
+            throw new ExtractionCacheException("Error writing extraction cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of cached files.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Calculates the SHA-256 hash of the content of a file.
+     *
+     * @param filePath the file to hash
+     * @return the hash as lower-case hexadecimal string
+     * @throws IOException if the file cannot be read
+     */
+    static String hash(Path filePath) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(filePath)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String getKey(Path filePath) {
+        return filePath.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * The content hash of a file calculated during a lookup, together with the size and modification time it
+     * belongs to.
+     *
+     * @param size         the size of the file in bytes
+     * @param lastModified the last modification time of the file in milliseconds since the epoch
+     * @param contentHash  the hash of the content of the file
+     */
+    private record FileHash(long size, long lastModified, String contentHash) {
+    }
+}
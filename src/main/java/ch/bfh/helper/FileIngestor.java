@@ -0,0 +1,229 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.FileModelException;
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.FileIngestionResult;
+import ch.bfh.model.FileModel;
+import ch.bfh.model.filereader.FileReaderFactory;
+import ch.bfh.model.filereader.FileReaderInterface;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Validates files, reads their content and extracts their URLs.
+ * <p>
+ * Reading a file, especially parsing a PDF, is CPU bound. Multiple files are therefore processed by a bounded
+ * pool of worker threads, while the results are always returned in the order of the given paths.
+ * Files can also be streamed in from a {@link FileSource}; only a few files per worker are in flight at any time,
+ * so memory stays flat no matter how many files the source produces.
+ * </p>
+ * <p>
+ * If an {@link ExtractionCache} is given, files that did not change since their URLs were cached are not read again.
+ * The cache holds the URLs as found in the file; they are canonicalized with a {@link URLCanonicalizer} afterwards,
+ * so changing the canonicalization rules does not require reading the files again.
+ * </p>
+ */
+public class FileIngestor {
+    private static final int IN_FLIGHT_PER_WORKER = 2;
+
+    private final int workerCount;
+    private final ConfigModel config;
+    private final ExtractionCache extractionCache;
+    private final URLCanonicalizer urlCanonicalizer;
+
+    /**
+     * Creates an ingestor using the worker count and reader settings of the given configuration.
+     *
+     * @param config the configuration holding the ingestion and reader settings
+     */
+    public FileIngestor(ConfigModel config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates an ingestor using the worker count and reader settings of the given configuration, that takes the
+     * URLs of unchanged files from the given cache.
+     *
+     * @param config          the configuration holding the ingestion and reader settings
+     * @param extractionCache the cache of extracted URLs, or {@code null} to read every file
+     */
+    public FileIngestor(ConfigModel config, ExtractionCache extractionCache) {
+        this(config.getIngestionWorkers(), config, extractionCache);
+    }
+
+    /**
+     * Creates an ingestor using the given number of workers and the default reader settings.
+     *
+     * @param workerCount the number of files processed at the same time, 0 or less uses one worker per processor
+     */
+    public FileIngestor(int workerCount) {
+        this(workerCount, new ConfigModel(), null);
+    }
+
+    private FileIngestor(int workerCount, ConfigModel config, ExtractionCache extractionCache) {
+        this.workerCount = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+        this.config = config;
+        this.extractionCache = extractionCache;
+        this.urlCanonicalizer = URLCanonicalizer.fromConfig(config);
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Processes the given files in parallel. A failing file does not affect the other files.
+     *
+     * @param filePaths the files to process
+     * @return one result per file, in the same order as the given paths
+     */
+    public List<FileIngestionResult> ingest(List<Path> filePaths) {
+        List<FileIngestionResult> results = new ArrayList<>();
+        try {
+            ingest(filePaths::forEach, results::add);
+        } catch (IOException e) {
+            // A list never fails to produce its paths
+            throw new UncheckedIOException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Processes the files produced by the given source in parallel, while the source is still producing them.
+     * The source is blocked as long as too many files are in flight. The results are passed to the consumer
+     * on the calling thread, in the order the files were produced. A failing file does not affect the other files.
+     *
+     * @param source         produces the files to process
+     * @param resultConsumer receives one result per file
+     * @throws IOException if the source fails to produce the files
+     */
+    public void ingest(FileSource source, Consumer<FileIngestionResult> resultConsumer) throws IOException {
+        Deque<PendingFile> inFlight = new ArrayDeque<>();
+        int maxInFlight = workerCount * IN_FLIGHT_PER_WORKER;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workerCount)) {
+            try {
+                source.forEach(filePath -> {
+                    if (inFlight.size() >= maxInFlight) {
+                        resultConsumer.accept(inFlight.removeFirst().getResult());
+                    }
+                    inFlight.addLast(new PendingFile(filePath, executor.submit(() -> ingestTimed(filePath))));
+                });
+            } finally {
+                while (!inFlight.isEmpty()) {
+                    resultConsumer.accept(inFlight.removeFirst().getResult());
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates the given file, reads its content and extracts its URLs.
+     *
+     * @param filePath the file to process
+     * @return the file with its extracted URLs
+     * @throws IOException        if an error occurs while reading the file
+     * @throws FileModelException if the file is not supported or contains no URLs
+     */
+    public FileModel ingestFile(Path filePath) throws IOException, FileModelException {
+        String mimeType = FileValidator.validate(filePath.toString());
+        FileModel fileModel = new FileModel(filePath, mimeType);
+        extractURLs(fileModel);
+        return fileModel;
+    }
+
+    /**
+     * Reads the content of the given file and adds the extracted URLs to it, in their canonical form.
+     * If the file did not change since its URLs were cached, the cached URLs are added instead.
+     *
+     * @param fileModel the file to read
+     * @throws IOException        if an error occurs while reading the file
+     * @throws FileModelException if no URLs are found in the file
+     */
+    public void extractURLs(FileModel fileModel) throws IOException, FileModelException {
+        FileReaderInterface fileReader = FileReaderFactory.getFileReader(fileModel.getMimeType(), config);
+        Set<String> extractedURLs = extractURLs(fileReader, fileModel.getFilePath());
+        if (extractedURLs.isEmpty()) {
+            throw new FileModelException(I18n.getString("file.noUrls.error") + " " + fileModel.getFilePath());
+        }
+        for (String extractedURL : extractedURLs) {
+            fileModel.addExtractedURL(urlCanonicalizer.canonicalize(extractedURL), extractedURL);
+        }
+    }
+
+    private Set<String> extractURLs(FileReaderInterface fileReader, Path filePath) throws IOException {
+        if (extractionCache != null) {
+            Optional<Set<String>> cachedURLs = extractionCache.lookup(filePath, fileReader.getExtractionSettings());
+            if (cachedURLs.isPresent()) {
+                return cachedURLs.get();
+            }
+        }
+
+        Set<String> extractedURLs = new HashSet<>();
+        fileReader.extractURLs(filePath, extractedURLs::add);
+        if (extractionCache != null) {
+            // Files without URLs are cached as well, so they are not read again either
+            extractionCache.store(filePath, fileReader.getExtractionSettings(), extractedURLs);
+        }
+        return extractedURLs;
+    }
+
+    private FileIngestionResult ingestTimed(Path filePath) {
+        long start = System.nanoTime();
+        try {
+            FileModel fileModel = ingestFile(filePath);
+            return new FileIngestionResult(filePath, fileModel, null, Duration.ofNanos(System.nanoTime() - start));
+        } catch (IOException | FileModelException | RuntimeException e) {
+            return new FileIngestionResult(filePath, null, e, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Produces the paths of the files to ingest, e.g. by walking a directory tree.
+     */
+    @FunctionalInterface
+    public interface FileSource {
+        /**
+         * Passes every file of the source to the given consumer.
+         *
+         * @param consumer receives the files
+         * @throws IOException if the files cannot be produced
+         */
+        void forEach(Consumer<Path> consumer) throws IOException;
+    }
+
+    /**
+     * A file that was handed to a worker but whose result was not passed on yet.
+     *
+     * @param filePath the path of the file
+     * @param future   the result of the worker
+     */
+    private record PendingFile(Path filePath, Future<FileIngestionResult> future) {
+        FileIngestionResult getResult() {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception exception ? exception : e;
+                return new FileIngestionResult(filePath, null, cause, Duration.ZERO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new FileIngestionResult(filePath, null, e, Duration.ZERO);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ch.bfh.helper;
+
+import ch.bfh.model.ConfigModel;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Factory class for creating {@link HttpClient} instances used by the archivers.
+ * <p>
+ * An {@link HttpClient} owns a connection pool and a selector thread. Creating one per request therefore
+ * forces a new TCP connection and TLS handshake for every call. This factory hands out one long-lived
+ * client that is shared across all requests, so connections are kept alive and reused.
+ * </p>
+ */
+public class HttpClientFactory {
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static HttpClient sharedClient;
+
+    /**
+     * Returns the shared HTTP client, creating it on first use with the settings of the given configuration.
+     * Later calls return the same instance regardless of the configuration passed in.
+     *
+     * @param config the configuration holding the HTTP client settings
+     * @return the shared {@link HttpClient}
+     */
+    public static synchronized HttpClient getHttpClient(ConfigModel config) {
+        if (sharedClient == null) {
+            sharedClient = createHttpClient(config);
+        }
+        return sharedClient;
+    }
+
+    /**
+     * Creates a new HTTP client configured with the HTTP version, connect timeout and keep-alive
+     * settings of the given configuration.
+     * <p>
+     * The keep-alive timeout is a JVM wide setting of the JDK HTTP client and only takes effect if it is set
+     * before the first client of the JVM is created. A value passed explicitly as system property wins.
+     * </p>
+     *
+     * @param config the configuration holding the HTTP client settings
+     * @return a new {@link HttpClient}
+     */
+    public static HttpClient createHttpClient(ConfigModel config) {
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null && config.getKeepAliveSeconds() > 0) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(config.getKeepAliveSeconds()));
+        }
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(config.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+
+        if (config.getConnectTimeoutSeconds() > 0) {
+            builder.connectTimeout(Duration.ofSeconds(config.getConnectTimeoutSeconds()));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,187 @@
+package ch.bfh.helper;
+
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.URLCanonicalizationRule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Brings extracted URLs into a canonical form, so different spellings of the same URL, like
+ * {@code https://Example.org/a/} and {@code https://example.org/a#section}, are deduplicated and archived only once.
+ * <p>
+ * The URL is split into its components by hand instead of using {@link java.net.URI}, because extracted URLs often
+ * contain characters a URI does not allow. URLs that cannot be split are returned unchanged.
+ * Only the enabled {@link URLCanonicalizationRule rules} are applied.
+ * </p>
+ */
+public class URLCanonicalizer {
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final String UNRESERVED_CHARACTERS = "-._~";
+
+    private final EnumSet<URLCanonicalizationRule> rules;
+    private final List<String> trackingParameters;
+
+    /**
+     * Creates a canonicalizer applying the given rules.
+     *
+     * @param rules              the rules to apply
+     * @param trackingParameters the names of the query parameters removed by
+     *                           {@link URLCanonicalizationRule#REMOVE_TRACKING_PARAMETERS}, a trailing {@code *}
+     *                           matches any name starting with the text before it
+     */
+    public URLCanonicalizer(Collection<URLCanonicalizationRule> rules, List<String> trackingParameters) {
+        this.rules = rules.isEmpty() ? EnumSet.noneOf(URLCanonicalizationRule.class) : EnumSet.copyOf(rules);
+        this.trackingParameters = trackingParameters.stream()
+                .map(parameter -> parameter.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * Creates a canonicalizer applying the rules of the given configuration.
+     *
+     * @param config the configuration holding the canonicalization rules and tracking parameters
+     * @return the canonicalizer
+     */
+    public static URLCanonicalizer fromConfig(ConfigModel config) {
+        return new URLCanonicalizer(config.getUrlCanonicalizationRules(), config.getTrackingParameters());
+    }
+
+    /**
+     * Brings the given URL into its canonical form.
+     *
+     * @param url the URL to canonicalize
+     * @return the canonical URL, or the given URL if it has no scheme
+     */
+    public String canonicalize(String url) {
+        int schemeEnd = url.indexOf(SCHEME_SEPARATOR);
+        if (schemeEnd <= 0 || rules.isEmpty()) {
+            return url;
+        }
+
+        String scheme = url.substring(0, schemeEnd);
+        int authorityStart = schemeEnd + SCHEME_SEPARATOR.length();
+        int authorityEnd = indexOfAny(url, "/?#", authorityStart);
+        String authority = url.substring(authorityStart, authorityEnd);
+        int fragmentStart = url.indexOf('#', authorityEnd);
+        String fragment = fragmentStart < 0 ? null : url.substring(fragmentStart + 1);
+        String rest = fragmentStart < 0 ? url.substring(authorityEnd) : url.substring(authorityEnd, fragmentStart);
+        int queryStart = rest.indexOf('?');
+        String path = queryStart < 0 ? rest : rest.substring(0, queryStart);
+        String query = queryStart < 0 ? null : rest.substring(queryStart + 1);
+
+        if (rules.contains(URLCanonicalizationRule.LOWERCASE_SCHEME_AND_HOST)) {
+            scheme = scheme.toLowerCase(Locale.ROOT);
+            authority = lowercaseHost(authority);
+        }
+        if (rules.contains(URLCanonicalizationRule.REMOVE_DEFAULT_PORT)) {
+            authority = removeDefaultPort(scheme, authority);
+        }
+        if (rules.contains(URLCanonicalizationRule.NORMALIZE_PERCENT_ENCODING)) {
+            path = normalizePercentEncoding(path);
+            query = query == null ? null : normalizePercentEncoding(query);
+            fragment = fragment == null ? null : normalizePercentEncoding(fragment);
+        }
+        if (rules.contains(URLCanonicalizationRule.REMOVE_TRAILING_SLASH) && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (rules.contains(URLCanonicalizationRule.REMOVE_TRACKING_PARAMETERS) && query != null) {
+            query = removeTrackingParameters(query);
+        }
+        if (rules.contains(URLCanonicalizationRule.REMOVE_FRAGMENT)) {
+            fragment = null;
+        }
+
+        StringBuilder canonicalURL = new StringBuilder(url.length())
+                .append(scheme).append(SCHEME_SEPARATOR).append(authority).append(path);
+        if (query != null && !query.isEmpty()) {
+            canonicalURL.append('?').append(query);
+        }
+        if (fragment != null) {
+            canonicalURL.append('#').append(fragment);
+        }
+        return canonicalURL.toString();
+    }
+
+    private static String lowercaseHost(String authority) {
+        int hostStart = authority.lastIndexOf('@') + 1;
+        return authority.substring(0, hostStart) + authority.substring(hostStart).toLowerCase(Locale.ROOT);
+    }
+
+    private static String removeDefaultPort(String scheme, String authority) {
+        int portStart = authority.lastIndexOf(':');
+        if (portStart < authority.lastIndexOf('@')) {
+            return authority;
+        }
+        String port = authority.substring(portStart + 1);
+        boolean defaultPort = port.isEmpty()
+                || scheme.equalsIgnoreCase("http") && port.equals("80")
+                || scheme.equalsIgnoreCase("https") && port.equals("443");
+        return defaultPort ? authority.substring(0, portStart) : authority;
+    }
+
+    private static String normalizePercentEncoding(String component) {
+        if (component.indexOf('%') < 0) {
+            return component;
+        }
+        StringBuilder normalized = new StringBuilder(component.length());
+        for (int i = 0; i < component.length(); i++) {
+            char c = component.charAt(i);
+            if (c == '%' && i + 2 < component.length() && isHexDigit(component.charAt(i + 1)) && isHexDigit(component.charAt(i + 2))) {
+                char decoded = (char) Integer.parseInt(component.substring(i + 1, i + 3), 16);
+                if (isUnreserved(decoded)) {
+                    normalized.append(decoded);
+                } else {
+                    normalized.append('%').append(component.substring(i + 1, i + 3).toUpperCase(Locale.ROOT));
+                }
+                i += 2;
+            } else {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private String removeTrackingParameters(String query) {
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            int nameEnd = parameter.indexOf('=');
+            String name = (nameEnd < 0 ? parameter : parameter.substring(0, nameEnd)).toLowerCase(Locale.ROOT);
+            if (!parameter.isEmpty() && !isTrackingParameter(name)) {
+                parameters.add(parameter);
+            }
+        }
+        return String.join("&", parameters);
+    }
+
+    private boolean isTrackingParameter(String name) {
+        for (String trackingParameter : trackingParameters) {
+            if (trackingParameter.endsWith("*")
+                    ? name.startsWith(trackingParameter.substring(0, trackingParameter.length() - 1))
+                    : name.equals(trackingParameter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return c < 128 && (Character.isLetterOrDigit(c) || UNRESERVED_CHARACTERS.indexOf(c) >= 0);
+    }
+
+    private static int indexOfAny(String text, String characters, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (characters.indexOf(text.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+}
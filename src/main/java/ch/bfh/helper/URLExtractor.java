@@ -1,26 +1,39 @@
 package ch.bfh.helper;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Provides utility for extracting URLs from a given text string.
- * This class uses a regular expression to identify and extract URLs,
+ * This class uses a single-pass scanner to identify and extract URLs,
  * focusing primarily on HTTP and HTTPS formats. It is capable of handling
  * multiple URLs within a single text string and ensures uniqueness of the extracted URLs.
+ * Custom regular expressions can be used with {@link #extractURLs(String, Pattern)}.
+ * <p>
+ * Large texts can be scanned from a {@link Reader} in chunks without loading them into memory at once.
+ * </p>
  */
 public class URLExtractor {
+    private static final int CHUNK_SIZE = 8192;
 
-    private static final Pattern URL_PATTERN = Pattern.compile(
+    /**
+     * Regular expression describing the URLs found by the default extraction, see {@link URLScanner}.
+     */
+    public static final Pattern URL_PATTERN = Pattern.compile(
             "(https?://[\\w-]+(\\.[\\w-]+)+([\\w.,@?^=%&:/~+#-]*[\\w@?^=%&/~+#-])?)",
             Pattern.CASE_INSENSITIVE
     );
 
     /**
-     * Extracts a set of unique URLs from the provided text string using a default pattern.
-     * The method uses a predefined regular expression to match HTTP and HTTPS URLs within the text
+     * Extracts a set of unique URLs from the provided text string.
+     * The method uses the {@link URLScanner} to match HTTP and HTTPS URLs as described by {@link #URL_PATTERN}
      * and collects them into a set to ensure uniqueness.
      *
      * @param text The string from which URLs are to be extracted.
@@ -31,7 +44,9 @@ public class URLExtractor {
         if (text == null) {
             throw new IllegalArgumentException("Text cannot be null");
         }
-        return extractURLs(text, URL_PATTERN);
+        Set<String> urls = new HashSet<>();
+        URLScanner.scan(text, urls::add);
+        return urls;
     }
 
     /**
@@ -54,4 +69,71 @@ public class URLExtractor {
 
         return urls;
     }
+
+    /**
+     * Scans the provided text and passes every URL found to the consumer, in the order of appearance.
+     * Unlike {@link #extractURLs(String)}, duplicates are passed on every time they occur.
+     *
+     * @param text     The text from which URLs are to be extracted.
+     * @param consumer Receives the URLs found.
+     */
+    public static void extractURLs(CharSequence text, Consumer<String> consumer) {
+        URLScanner.scan(text, consumer);
+    }
+
+    /**
+     * Reads the provided reader in chunks and passes every URL found to the consumer, in the order of appearance.
+     * Duplicates are passed on every time they occur. The reader is not closed.
+     * <p>
+     * A URL never contains characters like whitespace, quotes or brackets. Every chunk is therefore only scanned up
+     * to the last such character and the rest is carried over to the next chunk, so URLs straddling the end of
+     * a chunk are found as well. Only text without any of these characters, which is longer than a chunk, makes
+     * the buffer grow.
+     * </p>
+     *
+     * @param reader   The reader from which URLs are to be extracted.
+     * @param consumer Receives the URLs found.
+     * @throws IOException if an error occurs while reading.
+     */
+    public static void extractURLs(Reader reader, Consumer<String> consumer) throws IOException {
+        char[] buffer = new char[CHUNK_SIZE];
+        int length = 0;
+
+        while (true) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = reader.read(buffer, length, buffer.length - length);
+            if (read == -1) {
+                URLScanner.scan(CharBuffer.wrap(buffer, 0, length), consumer);
+                return;
+            }
+            length += read;
+
+            int end = lastSeparator(buffer, length);
+            if (end >= 0) {
+                URLScanner.scan(CharBuffer.wrap(buffer, 0, end), consumer);
+                // Carry the text after the separator over to the next chunk
+                System.arraycopy(buffer, end + 1, buffer, 0, length - end - 1);
+                length -= end + 1;
+            }
+        }
+    }
+
+    /**
+     * Finds the last character in the buffer that can never be part of a URL.
+     *
+     * @param buffer The buffer to search.
+     * @param length The number of characters in the buffer.
+     * @return The index of the last separator, or -1 if there is none.
+     */
+    private static int lastSeparator(char[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (!URLScanner.isURLChar(buffer[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
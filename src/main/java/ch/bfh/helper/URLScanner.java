@@ -0,0 +1,130 @@
+package ch.bfh.helper;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-pass scanner for HTTP and HTTPS URLs.
+ * <p>
+ * The scanner finds exactly the URLs matched by {@link URLExtractor#URL_PATTERN}, but never backtracks:
+ * a URL consists of the scheme ({@code http://} or {@code https://}, case-insensitive), a host of at least two
+ * dot-separated labels made of letters, digits, underscores and hyphens, and an optional path. The path is the longest
+ * run of URL characters after the host, cut after its last character that may end a URL (e.g. trailing dots,
+ * commas and colons are not part of the URL).
+ * </p>
+ */
+public class URLScanner {
+    private static final String SCHEME = "http";
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final String PATH_SPECIAL_CHARS = ".,@?^=%&:/~+#";
+    private static final String PATH_END_SPECIAL_CHARS = "@?^=%&/~+#";
+
+    /**
+     * Scans the text and passes every URL found to the consumer, in the order of appearance.
+     *
+     * @param text     The text to scan.
+     * @param consumer Receives the URLs found, duplicates included.
+     */
+    public static void scan(CharSequence text, Consumer<String> consumer) {
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int end = matchAt(text, start, length);
+            if (end > start) {
+                consumer.accept(text.subSequence(start, end).toString());
+                start = end;
+            } else {
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Checks if the character may be part of a URL.
+     *
+     * @param c The character to check.
+     * @return true if the character may be part of a URL, false otherwise.
+     */
+    public static boolean isURLChar(char c) {
+        return isHostChar(c) || PATH_SPECIAL_CHARS.indexOf(c) >= 0;
+    }
+
+    /**
+     * Tries to match a URL starting at the given position.
+     *
+     * @param text   The text to scan.
+     * @param start  The position the URL has to start at.
+     * @param length The length of the text.
+     * @return The end of the URL (exclusive), or -1 if no URL starts at the position.
+     */
+    private static int matchAt(CharSequence text, int start, int length) {
+        // Scheme
+        int i = start;
+        if (!startsWithIgnoreCase(text, i, length, SCHEME)) {
+            return -1;
+        }
+        i += SCHEME.length();
+        if (i < length && (text.charAt(i) == 's' || text.charAt(i) == 'S')) {
+            i++;
+        }
+        if (!startsWithIgnoreCase(text, i, length, SCHEME_SEPARATOR)) {
+            return -1;
+        }
+        i += SCHEME_SEPARATOR.length();
+
+        // Host: a label followed by at least one dot-separated label
+        int labelStart = i;
+        i = skipHostChars(text, i, length);
+        if (i == labelStart) {
+            return -1;
+        }
+        int labels = 1;
+        while (i + 1 < length && text.charAt(i) == '.' && isHostChar(text.charAt(i + 1))) {
+            i = skipHostChars(text, i + 1, length);
+            labels++;
+        }
+        if (labels < 2) {
+            return -1;
+        }
+
+        // Path: the run of URL characters, up to its last character that may end a URL
+        int end = i;
+        while (i < length && isURLChar(text.charAt(i))) {
+            if (isURLEndChar(text.charAt(i))) {
+                end = i + 1;
+            }
+            i++;
+        }
+        return end;
+    }
+
+    private static int skipHostChars(CharSequence text, int i, int length) {
+        while (i < length && isHostChar(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int offset, int length, String prefix) {
+        if (offset + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = text.charAt(offset + i);
+            char expected = prefix.charAt(i);
+            // Like the pattern, only ASCII letters are matched case-insensitively
+            char lowerCase = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+            if (lowerCase != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHostChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static boolean isURLEndChar(char c) {
+        return isHostChar(c) || PATH_END_SPECIAL_CHARS.indexOf(c) >= 0;
+    }
+}
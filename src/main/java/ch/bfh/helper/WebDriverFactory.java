@@ -2,43 +2,119 @@ package ch.bfh.helper;
 
 import ch.bfh.exceptions.ArchiverException;
 import ch.bfh.exceptions.ConfigFileException;
+import ch.bfh.model.ConfigModel;
 import ch.bfh.model.SupportedBrowsers;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.AbstractDriverOptions;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Factory class for creating {@link WebDriver} instances tailored for different browsers.
  * Supports creation of web drivers for browsers like Edge, Chrome, and Firefox,
  * with consideration for the underlying operating system.
  */
 public class WebDriverFactory {
+    // Value of the content settings and permissions of Firefox and Chromium that blocks the content
+    private static final int BLOCK = 2;
+    // Value of media.autoplay.default that blocks audio and video from playing without a click
+    private static final int FIREFOX_BLOCK_AUTOPLAY = 5;
 
     /**
      * Generates browser-specific options with a common {@link PageLoadStrategy}.
+     * Headless mode, blocked images and media and the profile directory are set according to the configuration.
      *
      * @param browser the browser for which to create options
+     * @param config  the configuration holding the browser settings
      * @return configured {@link MutableCapabilities} for the specified browser
      * @throws IllegalArgumentException if the browser is unsupported
      */
-    private static MutableCapabilities getBrowserOptions(SupportedBrowsers browser) {
+    static MutableCapabilities getBrowserOptions(SupportedBrowsers browser, ConfigModel config) {
         AbstractDriverOptions<?> options = switch (browser) {
-            case FIREFOX -> new FirefoxOptions();
-            case CHROME -> new ChromeOptions();
-            case EDGE -> new EdgeOptions();
+            case FIREFOX -> getFirefoxOptions(config);
+            case CHROME -> configureChromium(new ChromeOptions(), config);
+            case EDGE -> configureChromium(new EdgeOptions(), config);
             default -> throw new IllegalArgumentException("Unsupported browser: " + browser);
         };
         options.setPageLoadStrategy(PageLoadStrategy.EAGER);
         return options;
     }
 
+    private static FirefoxOptions getFirefoxOptions(ConfigModel config) {
+        FirefoxOptions options = new FirefoxOptions();
+        if (config.isBrowserHeadless()) {
+            options.addArguments("-headless");
+        }
+        if (config.isBlockBrowserImages()) {
+            options.addPreference("permissions.default.image", BLOCK);
+        }
+        if (config.isBlockBrowserMedia()) {
+            options.addPreference("media.autoplay.default", FIREFOX_BLOCK_AUTOPLAY);
+            options.addPreference("media.preload.default", 0);
+            options.addPreference("media.preload.auto", 0);
+        }
+        if (hasProfileDirectory(config)) {
+            // Without this argument, geckodriver starts Firefox with a temporary copy of the profile
+            options.addArguments("-profile", config.getBrowserProfileDirectory());
+        }
+        return options;
+    }
+
+    private static <T extends ChromiumOptions<?>> T configureChromium(T options, ConfigModel config) {
+        if (config.isBrowserHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        Map<String, Object> preferences = new HashMap<>();
+        if (config.isBlockBrowserImages()) {
+            preferences.put("profile.managed_default_content_settings.images", BLOCK);
+        }
+        if (config.isBlockBrowserMedia()) {
+            options.addArguments("--autoplay-policy=user-gesture-required", "--mute-audio");
+        }
+        if (!preferences.isEmpty()) {
+            options.setExperimentalOption("prefs", preferences);
+        }
+        if (hasProfileDirectory(config)) {
+            options.addArguments("--user-data-dir=" + config.getBrowserProfileDirectory());
+        }
+        return options;
+    }
+
+    private static boolean hasProfileDirectory(ConfigModel config) {
+        return config.getBrowserProfileDirectory() != null && !config.getBrowserProfileDirectory().isBlank();
+    }
+
+    /**
+     * Creates the profile directory of the configuration if it does not exist yet,
+     * because the browsers do not start with a missing profile directory.
+     *
+     * @param config the configuration holding the profile directory
+     * @throws ArchiverException if the directory cannot be created
+     */
+    private static void createProfileDirectory(ConfigModel config) throws ArchiverException {
+        if (!hasProfileDirectory(config)) {
+            return;
+        }
+        try {
+            Files.createDirectories(Path.of(config.getBrowserProfileDirectory()));
+        } catch (IOException e) {
+            throw new ArchiverException(I18n.getString("action.archiving.browserProfile.error", config.getBrowserProfileDirectory()), e);
+        }
+    }
+
     /**
      * Determines the operating system of the current environment.
      *
@@ -57,44 +133,59 @@ public class WebDriverFactory {
     /**
      * Provides a default WebDriver instance based on the current operating system.
      *
+     * @param config the configuration holding the browser settings
      * @return An instance of {@link WebDriver} suitable for the detected OS.
      * @throws ArchiverException if the operating system is macOS or an unknown type
      */
-    private static WebDriver getDefaultDriver() throws ArchiverException {
+    private static WebDriver getDefaultDriver(ConfigModel config) throws ArchiverException {
         OperatingSystem currentOS = getOperatingSystem();
         return switch (currentOS) {
-            case WINDOWS -> new EdgeDriver((EdgeOptions) getBrowserOptions(SupportedBrowsers.EDGE));
-            case LINUX -> new FirefoxDriver((FirefoxOptions) getBrowserOptions(SupportedBrowsers.FIREFOX));
+            case WINDOWS -> new EdgeDriver((EdgeOptions) getBrowserOptions(SupportedBrowsers.EDGE, config));
+            case LINUX -> new FirefoxDriver((FirefoxOptions) getBrowserOptions(SupportedBrowsers.FIREFOX, config));
             case MACOS -> throw new ArchiverException(I18n.getString("action.archiving.unsupportedBrowser.macDefault"));
-            default -> new ChromeDriver((ChromeOptions) getBrowserOptions(SupportedBrowsers.CHROME));
+            default -> new ChromeDriver((ChromeOptions) getBrowserOptions(SupportedBrowsers.CHROME, config));
         };
     }
 
     /**
-     * Creates a WebDriver instance based on the configured browser preference.
+     * Creates a WebDriver instance based on the configuration file.
      * Defaults to the system's preferred browser if the configuration is unavailable or invalid.
      *
      * @return An instance of {@link WebDriver} based on browser configuration or system preference.
      * @throws ArchiverException if an unsupported browser is specified
      */
     public static WebDriver getWebDriver() throws ArchiverException {
-        SupportedBrowsers browser;
+        ConfigModel config;
         try {
-            browser = ConfigFileHelper.getBrowser();
+            config = ConfigFileHelper.read();
         } catch (ConfigFileException e) {
-            browser = SupportedBrowsers.DEFAULT;
+            config = new ConfigModel();
         }
+        return getWebDriver(config);
+    }
+
+    /**
+     * Creates a WebDriver instance based on the given configuration.
+     * Defaults to the system's preferred browser if no specific browser is configured.
+     *
+     * @param config the configuration holding the browser preference and settings
+     * @return An instance of {@link WebDriver} based on browser configuration or system preference.
+     * @throws ArchiverException if an unsupported browser is specified or the profile directory cannot be created
+     */
+    public static WebDriver getWebDriver(ConfigModel config) throws ArchiverException {
+        SupportedBrowsers browser = config.getBrowser() != null ? config.getBrowser() : SupportedBrowsers.DEFAULT;
 
         if (browser == SupportedBrowsers.UNSUPPORTED) {
             throw new ArchiverException(I18n.getString("action.archiving.unsupportedBrowser.error"));
         }
+        createProfileDirectory(config);
 
         try {
             return switch (browser) {
-                case FIREFOX -> new FirefoxDriver((FirefoxOptions) getBrowserOptions(browser));
-                case CHROME -> new ChromeDriver((ChromeOptions) getBrowserOptions(browser));
-                case EDGE -> new EdgeDriver((EdgeOptions) getBrowserOptions(browser));
-                case DEFAULT -> getDefaultDriver();
+                case FIREFOX -> new FirefoxDriver((FirefoxOptions) getBrowserOptions(browser, config));
+                case CHROME -> new ChromeDriver((ChromeOptions) getBrowserOptions(browser, config));
+                case EDGE -> new EdgeDriver((EdgeOptions) getBrowserOptions(browser, config));
+                case DEFAULT -> getDefaultDriver(config);
                 default -> throw new ArchiverException(I18n.getString("action.archiving.unsupportedBrowser.error"));
             };
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,268 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.model.ConfigModel;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of warm {@link WebDriver} sessions, so a browser does not have to be launched for every URL.
+ * <p>
+ * At most {@code maxSize} sessions exist at the same time; borrowing blocks while all of them are in use.
+ * A session is checked before it is handed out and replaced if the browser was closed or crashed. After
+ * {@code maxUses} uses, a session is quit and replaced by a fresh one, which limits the memory a long-running
+ * browser accumulates. {@link #shutdown()} quits all sessions, including the sessions in use, so no browser is
+ * left open when the program is interrupted. {@link #clear()} quits the idle sessions, e.g. after the browser
+ * settings changed; sessions in use are quit when they are given back.
+ * </p>
+ * <p>
+ * Every borrowed session must be given back with {@link #release(WebDriver)} or, if it is broken,
+ * {@link #invalidate(WebDriver)}.
+ * </p>
+ */
+public class WebDriverPool {
+    private final int maxSize;
+    private final int maxUses;
+    private final DriverSupplier driverSupplier;
+    private final Semaphore sessions;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<WebDriver> idleDrivers = new ArrayDeque<>();
+    // Every launched session that was not quit yet, idle or in use, with its number of uses
+    private final Map<WebDriver, Integer> uses = new IdentityHashMap<>();
+    private final Set<WebDriver> retiredDrivers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean shutdown;
+
+    /**
+     * Creates a pool launching its sessions with the {@link WebDriverFactory}.
+     *
+     * @param maxSize the maximum number of sessions, at least 1
+     * @param maxUses the number of uses after which a session is replaced, 0 or less never replaces it
+     */
+    public WebDriverPool(int maxSize, int maxUses) {
+        this(maxSize, maxUses, WebDriverFactory::getWebDriver);
+    }
+
+    /**
+     * Creates a pool launching its sessions with the given supplier.
+     *
+     * @param maxSize        the maximum number of sessions, at least 1
+     * @param maxUses        the number of uses after which a session is replaced, 0 or less never replaces it
+     * @param driverSupplier launches a new session
+     */
+    public WebDriverPool(int maxSize, int maxUses, DriverSupplier driverSupplier) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = maxUses;
+        this.driverSupplier = driverSupplier;
+        this.sessions = new Semaphore(this.maxSize, true);
+    }
+
+    /**
+     * Creates a pool using the settings of the configuration. The sessions are launched with the browser settings
+     * of the configuration. If a profile directory is configured, only one session is kept, because a browser
+     * profile cannot be used by two browsers at the same time.
+     *
+     * @param config the configuration holding the pool and browser settings
+     * @return the pool
+     */
+    public static WebDriverPool fromConfig(ConfigModel config) {
+        boolean sharedProfile = config.getBrowserProfileDirectory() != null && !config.getBrowserProfileDirectory().isBlank();
+        int maxSize = sharedProfile ? 1 : config.getWebDriverPoolSize();
+        return new WebDriverPool(maxSize, config.getWebDriverMaxUses(), () -> WebDriverFactory.getWebDriver(config));
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of sessions that are launched but not in use.
+     *
+     * @return the number of idle sessions
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idleDrivers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands out a healthy session, launching a new one if no idle session is left.
+     * Blocks while all sessions are in use.
+     *
+     * @return the session
+     * @throws ArchiverException if the pool is shut down, the session cannot be launched or the thread is interrupted
+     */
+    public WebDriver borrow() throws ArchiverException {
+        try {
+            sessions.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ArchiverException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            WebDriver driver;
+            while ((driver = pollIdleDriver()) != null) {
+                if (isHealthy(driver)) {
+                    return driver;
+                }
+                quit(driver);
+            }
+            driver = driverSupplier.get();
+            lock.lock();
+            try {
+                uses.put(driver, 0);
+            } finally {
+                lock.unlock();
+            }
+            return driver;
+        } catch (ArchiverException | RuntimeException e) {
+            sessions.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives a borrowed session back to the pool. It is quit instead if it reached its maximum number of uses,
+     * was in use while the pool was cleared or the pool is shut down.
+     *
+     * @param driver the borrowed session
+     */
+    public void release(WebDriver driver) {
+        boolean keep;
+        boolean running;
+        lock.lock();
+        try {
+            // A session quit by the shutdown is not known anymore
+            running = uses.containsKey(driver);
+            int driverUses = uses.getOrDefault(driver, 0) + 1;
+            keep = running && !shutdown && !retiredDrivers.remove(driver) && (maxUses <= 0 || driverUses < maxUses);
+            if (keep) {
+                uses.put(driver, driverUses);
+                idleDrivers.push(driver);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!keep && running) {
+            quit(driver);
+        }
+        sessions.release();
+    }
+
+    /**
+     * Quits a borrowed session that is broken, e.g. because the browser was closed, instead of giving it back.
+     *
+     * @param driver the borrowed session
+     */
+    public void invalidate(WebDriver driver) {
+        quit(driver);
+        sessions.release();
+    }
+
+    /**
+     * Quits the idle sessions, so the next sessions are launched with the current browser settings.
+     * Sessions in use are quit when they are given back.
+     */
+    public void clear() {
+        List<WebDriver> drivers;
+        lock.lock();
+        try {
+            drivers = new ArrayList<>(idleDrivers);
+            idleDrivers.clear();
+            uses.keySet().stream().filter(driver -> !drivers.contains(driver)).forEach(retiredDrivers::add);
+        } finally {
+            lock.unlock();
+        }
+        drivers.forEach(this::quit);
+    }
+
+    /**
+     * Quits all sessions, including the sessions in use, and rejects new borrows. Callers still using a session
+     * fail with the next command sent to the browser and may give the session back as usual.
+     */
+    public void shutdown() {
+        List<WebDriver> drivers;
+        lock.lock();
+        try {
+            shutdown = true;
+            drivers = new ArrayList<>(uses.keySet());
+            idleDrivers.clear();
+        } finally {
+            lock.unlock();
+        }
+        drivers.forEach(this::quit);
+    }
+
+    private WebDriver pollIdleDriver() throws ArchiverException {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new ArchiverException("The browser sessions have been shut down");
+            }
+            // The most recently used session is taken first, so unused sessions are not kept busy
+            return idleDrivers.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the browser of a session is still running by asking for its current window.
+     *
+     * @param driver the session to check
+     * @return true if the browser responds, false otherwise
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        lock.lock();
+        try {
+            uses.remove(driver);
+            retiredDrivers.remove(driver);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // The browser is already gone
+        }
+    }
+
+    /**
+     * Launches a new browser session.
+     */
+    @FunctionalInterface
+    public interface DriverSupplier {
+        /**
+         * Launches a new session.
+         *
+         * @return the session
+         * @throws ArchiverException if the session cannot be launched
+         */
+        WebDriver get() throws ArchiverException;
+    }
+}
@@ -0,0 +1,17 @@
+package ch.bfh.model;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Holds the options of a non-interactive batch run.
+ *
+ * @param inputPath     the file or folder to extract the URLs from
+ * @param archiverNames the names of the archiving services to archive the URLs with
+ * @param csvPath       the path of the CSV file to export to, or {@code null} to skip the CSV export
+ * @param exportBib     whether the archived URLs are written back into the processed BIB files
+ * @param waitTimeout   the maximum time to wait for pending archiving jobs before exporting
+ */
+public record BatchOptions(String inputPath, List<String> archiverNames, String csvPath, boolean exportBib,
+                           Duration waitTimeout) {
+}
@@ -2,15 +2,52 @@ package ch.bfh.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Represents the model for configuration file mapping.
- * This class is used to map the JSON configuration data details like access keys, secret keys, and browser types to Java objects.
+ * This class is used to map the JSON configuration data details like access keys, secret keys, browser types
+ * and HTTP client settings to Java objects. Settings missing in the file keep their default values.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ConfigFileMapperModel {
     private final String accessKey;
     private final String secretKey;
     private final String browser;
+    private boolean http2Enabled = ConfigModel.DEFAULT_HTTP2_ENABLED;
+    private int connectTimeoutSeconds = ConfigModel.DEFAULT_CONNECT_TIMEOUT_SECONDS;
+    private int keepAliveSeconds = ConfigModel.DEFAULT_KEEP_ALIVE_SECONDS;
+    private Map<String, Integer> concurrencyLimits = ConfigModel.defaultConcurrencyLimits();
+    private Map<String, Integer> rateLimits = ConfigModel.defaultRateLimits();
+    private Map<String, Integer> archiveTimeouts = ConfigModel.defaultArchiveTimeouts();
+    private int ingestionWorkers = ConfigModel.DEFAULT_INGESTION_WORKERS;
+    private List<String> includeGlobs = ConfigModel.DEFAULT_INCLUDE_GLOBS;
+    private List<String> excludeGlobs = ConfigModel.DEFAULT_EXCLUDE_GLOBS;
+    private int folderMaxDepth = ConfigModel.DEFAULT_FOLDER_MAX_DEPTH;
+    private boolean followSymlinks = ConfigModel.DEFAULT_FOLLOW_SYMLINKS;
+    private int memoryMapThresholdMB = ConfigModel.DEFAULT_MEMORY_MAP_THRESHOLD_MB;
+    private int pdfParallelPageThreshold = ConfigModel.DEFAULT_PDF_PARALLEL_PAGE_THRESHOLD;
+    private int pdfPagesPerRange = ConfigModel.DEFAULT_PDF_PAGES_PER_RANGE;
+    private String pdfExtractionStrategy = ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY.name();
+    private int pdfMaxMainMemoryMB = ConfigModel.DEFAULT_PDF_MAX_MAIN_MEMORY_MB;
+    private boolean extractionCacheEnabled = ConfigModel.DEFAULT_EXTRACTION_CACHE_ENABLED;
+    private int archiveCacheFreshnessHours = ConfigModel.DEFAULT_ARCHIVE_CACHE_FRESHNESS_HOURS;
+    private List<String> urlCanonicalizationRules = ConfigModel.DEFAULT_URL_CANONICALIZATION_RULES.stream().map(Enum::name).toList();
+    private List<String> trackingParameters = ConfigModel.DEFAULT_TRACKING_PARAMETERS;
+    private int throttleBackoffSeconds = ConfigModel.DEFAULT_THROTTLE_BACKOFF_SECONDS;
+    private int retryMaxAttempts = ConfigModel.DEFAULT_RETRY_MAX_ATTEMPTS;
+    private int retryInitialBackoffSeconds = ConfigModel.DEFAULT_RETRY_INITIAL_BACKOFF_SECONDS;
+    private int retryMaxBackoffSeconds = ConfigModel.DEFAULT_RETRY_MAX_BACKOFF_SECONDS;
+    private int availabilityCacheSeconds = ConfigModel.DEFAULT_AVAILABILITY_CACHE_SECONDS;
+    private int circuitBreakerFailureThreshold = ConfigModel.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+    private int circuitBreakerOpenSeconds = ConfigModel.DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS;
+    private int webDriverPoolSize = ConfigModel.DEFAULT_WEB_DRIVER_POOL_SIZE;
+    private int webDriverMaxUses = ConfigModel.DEFAULT_WEB_DRIVER_MAX_USES;
+    private boolean browserHeadless = ConfigModel.DEFAULT_BROWSER_HEADLESS;
+    private boolean blockBrowserImages = ConfigModel.DEFAULT_BLOCK_BROWSER_IMAGES;
+    private boolean blockBrowserMedia = ConfigModel.DEFAULT_BLOCK_BROWSER_MEDIA;
+    private String browserProfileDirectory = ConfigModel.DEFAULT_BROWSER_PROFILE_DIRECTORY;
 
     /**
      * Default constructor initializes the model with empty strings.
@@ -43,4 +80,268 @@ public class ConfigFileMapperModel {
     public String getBrowser() {
         return browser;
     }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public Map<String, Integer> getRateLimits() {
+        return rateLimits;
+    }
+
+    public void setRateLimits(Map<String, Integer> rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    public Map<String, Integer> getArchiveTimeouts() {
+        return archiveTimeouts;
+    }
+
+    public void setArchiveTimeouts(Map<String, Integer> archiveTimeouts) {
+        this.archiveTimeouts = archiveTimeouts;
+    }
+
+    public Map<String, Integer> getConcurrencyLimits() {
+        return concurrencyLimits;
+    }
+
+    public void setConcurrencyLimits(Map<String, Integer> concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    public int getIngestionWorkers() {
+        return ingestionWorkers;
+    }
+
+    public void setIngestionWorkers(int ingestionWorkers) {
+        this.ingestionWorkers = ingestionWorkers;
+    }
+
+    public List<String> getIncludeGlobs() {
+        return includeGlobs;
+    }
+
+    public void setIncludeGlobs(List<String> includeGlobs) {
+        this.includeGlobs = includeGlobs;
+    }
+
+    public List<String> getExcludeGlobs() {
+        return excludeGlobs;
+    }
+
+    public void setExcludeGlobs(List<String> excludeGlobs) {
+        this.excludeGlobs = excludeGlobs;
+    }
+
+    public int getFolderMaxDepth() {
+        return folderMaxDepth;
+    }
+
+    public void setFolderMaxDepth(int folderMaxDepth) {
+        this.folderMaxDepth = folderMaxDepth;
+    }
+
+    public boolean isFollowSymlinks() {
+        return followSymlinks;
+    }
+
+    public void setFollowSymlinks(boolean followSymlinks) {
+        this.followSymlinks = followSymlinks;
+    }
+
+    public int getMemoryMapThresholdMB() {
+        return memoryMapThresholdMB;
+    }
+
+    public void setMemoryMapThresholdMB(int memoryMapThresholdMB) {
+        this.memoryMapThresholdMB = memoryMapThresholdMB;
+    }
+
+    public int getPdfParallelPageThreshold() {
+        return pdfParallelPageThreshold;
+    }
+
+    public void setPdfParallelPageThreshold(int pdfParallelPageThreshold) {
+        this.pdfParallelPageThreshold = pdfParallelPageThreshold;
+    }
+
+    public int getPdfPagesPerRange() {
+        return pdfPagesPerRange;
+    }
+
+    public void setPdfPagesPerRange(int pdfPagesPerRange) {
+        this.pdfPagesPerRange = pdfPagesPerRange;
+    }
+
+    public String getPdfExtractionStrategy() {
+        return pdfExtractionStrategy;
+    }
+
+    public void setPdfExtractionStrategy(String pdfExtractionStrategy) {
+        this.pdfExtractionStrategy = pdfExtractionStrategy;
+    }
+
+    public int getPdfMaxMainMemoryMB() {
+        return pdfMaxMainMemoryMB;
+    }
+
+    public void setPdfMaxMainMemoryMB(int pdfMaxMainMemoryMB) {
+        this.pdfMaxMainMemoryMB = pdfMaxMainMemoryMB;
+    }
+
+    public boolean isExtractionCacheEnabled() {
+        return extractionCacheEnabled;
+    }
+
+    public void setExtractionCacheEnabled(boolean extractionCacheEnabled) {
+        this.extractionCacheEnabled = extractionCacheEnabled;
+    }
+
+    public int getArchiveCacheFreshnessHours() {
+        return archiveCacheFreshnessHours;
+    }
+
+    public void setArchiveCacheFreshnessHours(int archiveCacheFreshnessHours) {
+        this.archiveCacheFreshnessHours = archiveCacheFreshnessHours;
+    }
+
+    public List<String> getUrlCanonicalizationRules() {
+        return urlCanonicalizationRules;
+    }
+
+    public void setUrlCanonicalizationRules(List<String> urlCanonicalizationRules) {
+        this.urlCanonicalizationRules = urlCanonicalizationRules;
+    }
+
+    public List<String> getTrackingParameters() {
+        return trackingParameters;
+    }
+
+    public void setTrackingParameters(List<String> trackingParameters) {
+        this.trackingParameters = trackingParameters;
+    }
+
+    public int getThrottleBackoffSeconds() {
+        return throttleBackoffSeconds;
+    }
+
+    public void setThrottleBackoffSeconds(int throttleBackoffSeconds) {
+        this.throttleBackoffSeconds = throttleBackoffSeconds;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public int getRetryInitialBackoffSeconds() {
+        return retryInitialBackoffSeconds;
+    }
+
+    public void setRetryInitialBackoffSeconds(int retryInitialBackoffSeconds) {
+        this.retryInitialBackoffSeconds = retryInitialBackoffSeconds;
+    }
+
+    public int getRetryMaxBackoffSeconds() {
+        return retryMaxBackoffSeconds;
+    }
+
+    public void setRetryMaxBackoffSeconds(int retryMaxBackoffSeconds) {
+        this.retryMaxBackoffSeconds = retryMaxBackoffSeconds;
+    }
+
+    public int getAvailabilityCacheSeconds() {
+        return availabilityCacheSeconds;
+    }
+
+    public void setAvailabilityCacheSeconds(int availabilityCacheSeconds) {
+        this.availabilityCacheSeconds = availabilityCacheSeconds;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public int getCircuitBreakerOpenSeconds() {
+        return circuitBreakerOpenSeconds;
+    }
+
+    public void setCircuitBreakerOpenSeconds(int circuitBreakerOpenSeconds) {
+        this.circuitBreakerOpenSeconds = circuitBreakerOpenSeconds;
+    }
+
+    public int getWebDriverPoolSize() {
+        return webDriverPoolSize;
+    }
+
+    public void setWebDriverPoolSize(int webDriverPoolSize) {
+        this.webDriverPoolSize = webDriverPoolSize;
+    }
+
+    public int getWebDriverMaxUses() {
+        return webDriverMaxUses;
+    }
+
+    public void setWebDriverMaxUses(int webDriverMaxUses) {
+        this.webDriverMaxUses = webDriverMaxUses;
+    }
+
+    public boolean isBrowserHeadless() {
+        return browserHeadless;
+    }
+
+    public void setBrowserHeadless(boolean browserHeadless) {
+        this.browserHeadless = browserHeadless;
+    }
+
+    public boolean isBlockBrowserImages() {
+        return blockBrowserImages;
+    }
+
+    public void setBlockBrowserImages(boolean blockBrowserImages) {
+        this.blockBrowserImages = blockBrowserImages;
+    }
+
+    public boolean isBlockBrowserMedia() {
+        return blockBrowserMedia;
+    }
+
+    public void setBlockBrowserMedia(boolean blockBrowserMedia) {
+        this.blockBrowserMedia = blockBrowserMedia;
+    }
+
+    public String getBrowserProfileDirectory() {
+        return browserProfileDirectory;
+    }
+
+    public void setBrowserProfileDirectory(String browserProfileDirectory) {
+        this.browserProfileDirectory = browserProfileDirectory;
+    }
 }
@@ -1,12 +1,199 @@
 package ch.bfh.model;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Represents the configuration settings for the application.
  */
 public class ConfigModel {
+    /**
+     * Default for whether the shared HTTP client negotiates HTTP/2.
+     */
+    public static final boolean DEFAULT_HTTP2_ENABLED = true;
+
+    /**
+     * Default connect timeout of the shared HTTP client in seconds.
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Default time in seconds an idle connection is kept in the pool of the shared HTTP client.
+     */
+    public static final int DEFAULT_KEEP_ALIVE_SECONDS = 300;
+
+    /**
+     * Default number of workers reading the files of a folder in parallel, 0 uses one worker per processor.
+     */
+    public static final int DEFAULT_INGESTION_WORKERS = 0;
+
+    /**
+     * Default glob patterns of the files read from a folder, all files are read if empty.
+     */
+    public static final List<String> DEFAULT_INCLUDE_GLOBS = List.of();
+
+    /**
+     * Default glob patterns of the files and subfolders skipped when reading a folder.
+     */
+    public static final List<String> DEFAULT_EXCLUDE_GLOBS = List.of();
+
+    /**
+     * Default number of folder levels read, 0 reads all subfolders.
+     */
+    public static final int DEFAULT_FOLDER_MAX_DEPTH = 0;
+
+    /**
+     * Default for whether symbolic links are followed when reading a folder.
+     */
+    public static final boolean DEFAULT_FOLLOW_SYMLINKS = false;
+
+    /**
+     * Default file size in megabytes above which text files are memory-mapped instead of read through a buffered reader.
+     */
+    public static final int DEFAULT_MEMORY_MAP_THRESHOLD_MB = 64;
+
+    /**
+     * Default number of pages above which a PDF is read in parallel page ranges, 0 disables it.
+     */
+    public static final int DEFAULT_PDF_PARALLEL_PAGE_THRESHOLD = 200;
+
+    /**
+     * Default number of pages read together by one worker when a PDF is read in parallel.
+     */
+    public static final int DEFAULT_PDF_PAGES_PER_RANGE = 50;
+
+    /**
+     * Default strategy used to extract URLs from PDF files.
+     */
+    public static final PdfExtractionStrategy DEFAULT_PDF_EXTRACTION_STRATEGY = PdfExtractionStrategy.BOTH;
+
+    /**
+     * Default number of megabytes of PDF stream data kept in main memory before a scratch file is used, -1 keeps all in main memory.
+     */
+    public static final int DEFAULT_PDF_MAX_MAIN_MEMORY_MB = 64;
+
+    /**
+     * Default setting whether the URLs extracted from files are cached on disk.
+     */
+    public static final boolean DEFAULT_EXTRACTION_CACHE_ENABLED = true;
+
+    /**
+     * Default number of hours an archived URL is reused instead of archiving the URL again, 0 disables the cache.
+     */
+    public static final int DEFAULT_ARCHIVE_CACHE_FRESHNESS_HOURS = 24;
+
+    /**
+     * Default rules applied to extracted URLs before they are deduplicated and archived.
+     */
+    public static final List<URLCanonicalizationRule> DEFAULT_URL_CANONICALIZATION_RULES = List.of(URLCanonicalizationRule.values());
+
+    /**
+     * Default names of the query parameters removed from extracted URLs, a trailing {@code *} matches any name starting with the text before it.
+     */
+    public static final List<String> DEFAULT_TRACKING_PARAMETERS = List.of("utm_*", "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "igshid");
+
+    /**
+     * Default number of seconds requests to a service are paused after it throttled a request without telling how long to wait.
+     */
+    public static final int DEFAULT_THROTTLE_BACKOFF_SECONDS = 30;
+
+    /**
+     * Default number of attempts to archive a URL or fetch a job status before giving up on transient errors.
+     */
+    public static final int DEFAULT_RETRY_MAX_ATTEMPTS = 3;
+
+    /**
+     * Default upper bound in seconds of the random delay before the first retry, doubling with every further retry.
+     */
+    public static final int DEFAULT_RETRY_INITIAL_BACKOFF_SECONDS = 2;
+
+    /**
+     * Default upper bound in seconds of the random delay before a retry.
+     */
+    public static final int DEFAULT_RETRY_MAX_BACKOFF_SECONDS = 60;
+
+    /**
+     * Default number of seconds the availability of an archiving service is reused before it is checked again, 0 checks it every time.
+     */
+    public static final int DEFAULT_AVAILABILITY_CACHE_SECONDS = 60;
+
+    /**
+     * Default number of consecutive failures after which an archiving service is considered unavailable.
+     */
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+
+    /**
+     * Default number of seconds an archiving service is considered unavailable before it is probed again.
+     */
+    public static final int DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS = 60;
+
+    /**
+     * Default maximum number of browser sessions kept open for Archive.today.
+     */
+    public static final int DEFAULT_WEB_DRIVER_POOL_SIZE = 1;
+
+    /**
+     * Default number of URLs archived with one browser session before it is replaced by a fresh one.
+     */
+    public static final int DEFAULT_WEB_DRIVER_MAX_USES = 50;
+
+    /**
+     * Default setting whether the browser used for archiving runs without a window.
+     */
+    public static final boolean DEFAULT_BROWSER_HEADLESS = false;
+
+    /**
+     * Default setting whether the browser used for archiving skips loading images.
+     */
+    public static final boolean DEFAULT_BLOCK_BROWSER_IMAGES = false;
+
+    /**
+     * Default setting whether the browser used for archiving skips loading audio and video.
+     */
+    public static final boolean DEFAULT_BLOCK_BROWSER_MEDIA = true;
+
+    /**
+     * Default directory of the browser profile kept between sessions, empty for a temporary profile.
+     */
+    public static final String DEFAULT_BROWSER_PROFILE_DIRECTORY = "";
+
     private String accessKey;
     private String secretKey;
     private SupportedBrowsers browser;
+    private boolean http2Enabled = DEFAULT_HTTP2_ENABLED;
+    private int connectTimeoutSeconds = DEFAULT_CONNECT_TIMEOUT_SECONDS;
+    private int keepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+    private Map<String, Integer> concurrencyLimits = defaultConcurrencyLimits();
+    private Map<String, Integer> rateLimits = defaultRateLimits();
+    private Map<String, Integer> archiveTimeouts = defaultArchiveTimeouts();
+    private int ingestionWorkers = DEFAULT_INGESTION_WORKERS;
+    private List<String> includeGlobs = DEFAULT_INCLUDE_GLOBS;
+    private List<String> excludeGlobs = DEFAULT_EXCLUDE_GLOBS;
+    private int folderMaxDepth = DEFAULT_FOLDER_MAX_DEPTH;
+    private boolean followSymlinks = DEFAULT_FOLLOW_SYMLINKS;
+    private int memoryMapThresholdMB = DEFAULT_MEMORY_MAP_THRESHOLD_MB;
+    private int pdfParallelPageThreshold = DEFAULT_PDF_PARALLEL_PAGE_THRESHOLD;
+    private int pdfPagesPerRange = DEFAULT_PDF_PAGES_PER_RANGE;
+    private PdfExtractionStrategy pdfExtractionStrategy = DEFAULT_PDF_EXTRACTION_STRATEGY;
+    private int pdfMaxMainMemoryMB = DEFAULT_PDF_MAX_MAIN_MEMORY_MB;
+    private boolean extractionCacheEnabled = DEFAULT_EXTRACTION_CACHE_ENABLED;
+    private int archiveCacheFreshnessHours = DEFAULT_ARCHIVE_CACHE_FRESHNESS_HOURS;
+    private List<URLCanonicalizationRule> urlCanonicalizationRules = DEFAULT_URL_CANONICALIZATION_RULES;
+    private List<String> trackingParameters = DEFAULT_TRACKING_PARAMETERS;
+    private int throttleBackoffSeconds = DEFAULT_THROTTLE_BACKOFF_SECONDS;
+    private int retryMaxAttempts = DEFAULT_RETRY_MAX_ATTEMPTS;
+    private int retryInitialBackoffSeconds = DEFAULT_RETRY_INITIAL_BACKOFF_SECONDS;
+    private int retryMaxBackoffSeconds = DEFAULT_RETRY_MAX_BACKOFF_SECONDS;
+    private int availabilityCacheSeconds = DEFAULT_AVAILABILITY_CACHE_SECONDS;
+    private int circuitBreakerFailureThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+    private int circuitBreakerOpenSeconds = DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS;
+    private int webDriverPoolSize = DEFAULT_WEB_DRIVER_POOL_SIZE;
+    private int webDriverMaxUses = DEFAULT_WEB_DRIVER_MAX_USES;
+    private boolean browserHeadless = DEFAULT_BROWSER_HEADLESS;
+    private boolean blockBrowserImages = DEFAULT_BLOCK_BROWSER_IMAGES;
+    private boolean blockBrowserMedia = DEFAULT_BLOCK_BROWSER_MEDIA;
+    private String browserProfileDirectory = DEFAULT_BROWSER_PROFILE_DIRECTORY;
 
     /**
      * Constructs a ConfigModel with default values.
@@ -62,4 +249,322 @@ public class ConfigModel {
     public void setBrowser(SupportedBrowsers browser) {
         this.browser = browser;
     }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    /**
+     * Returns the number of requests per minute each archiving service may receive, keyed by the service name.
+     * Services without an entry are not limited.
+     *
+     * @return the rate limits per service name
+     */
+    public Map<String, Integer> getRateLimits() {
+        return rateLimits;
+    }
+
+    public void setRateLimits(Map<String, Integer> rateLimits) {
+        this.rateLimits = new HashMap<>(rateLimits);
+    }
+
+    /**
+     * Returns the time in seconds each archiving service may take to archive a URL when all services archive it
+     * at the same time, keyed by the service name. Services without an entry use the default of the archiver manager.
+     *
+     * @return the archive timeouts per service name
+     */
+    public Map<String, Integer> getArchiveTimeouts() {
+        return archiveTimeouts;
+    }
+
+    public void setArchiveTimeouts(Map<String, Integer> archiveTimeouts) {
+        this.archiveTimeouts = new HashMap<>(archiveTimeouts);
+    }
+
+    /**
+     * Returns the number of URLs each archiving service may process at the same time in a batch run,
+     * keyed by the service name. Services without an entry use the default of the archiver manager.
+     *
+     * @return the concurrency limits per service name
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        return concurrencyLimits;
+    }
+
+    public void setConcurrencyLimits(Map<String, Integer> concurrencyLimits) {
+        this.concurrencyLimits = new HashMap<>(concurrencyLimits);
+    }
+
+    public int getIngestionWorkers() {
+        return ingestionWorkers;
+    }
+
+    public void setIngestionWorkers(int ingestionWorkers) {
+        this.ingestionWorkers = ingestionWorkers;
+    }
+
+    public List<String> getIncludeGlobs() {
+        return includeGlobs;
+    }
+
+    public void setIncludeGlobs(List<String> includeGlobs) {
+        this.includeGlobs = includeGlobs;
+    }
+
+    public List<String> getExcludeGlobs() {
+        return excludeGlobs;
+    }
+
+    public void setExcludeGlobs(List<String> excludeGlobs) {
+        this.excludeGlobs = excludeGlobs;
+    }
+
+    public int getFolderMaxDepth() {
+        return folderMaxDepth;
+    }
+
+    public void setFolderMaxDepth(int folderMaxDepth) {
+        this.folderMaxDepth = folderMaxDepth;
+    }
+
+    public boolean isFollowSymlinks() {
+        return followSymlinks;
+    }
+
+    public void setFollowSymlinks(boolean followSymlinks) {
+        this.followSymlinks = followSymlinks;
+    }
+
+    public int getMemoryMapThresholdMB() {
+        return memoryMapThresholdMB;
+    }
+
+    public void setMemoryMapThresholdMB(int memoryMapThresholdMB) {
+        this.memoryMapThresholdMB = memoryMapThresholdMB;
+    }
+
+    public int getPdfParallelPageThreshold() {
+        return pdfParallelPageThreshold;
+    }
+
+    public void setPdfParallelPageThreshold(int pdfParallelPageThreshold) {
+        this.pdfParallelPageThreshold = pdfParallelPageThreshold;
+    }
+
+    public int getPdfPagesPerRange() {
+        return pdfPagesPerRange;
+    }
+
+    public void setPdfPagesPerRange(int pdfPagesPerRange) {
+        this.pdfPagesPerRange = pdfPagesPerRange;
+    }
+
+    public PdfExtractionStrategy getPdfExtractionStrategy() {
+        return pdfExtractionStrategy;
+    }
+
+    public void setPdfExtractionStrategy(PdfExtractionStrategy pdfExtractionStrategy) {
+        this.pdfExtractionStrategy = pdfExtractionStrategy;
+    }
+
+    public int getPdfMaxMainMemoryMB() {
+        return pdfMaxMainMemoryMB;
+    }
+
+    public void setPdfMaxMainMemoryMB(int pdfMaxMainMemoryMB) {
+        this.pdfMaxMainMemoryMB = pdfMaxMainMemoryMB;
+    }
+
+    public boolean isExtractionCacheEnabled() {
+        return extractionCacheEnabled;
+    }
+
+    public void setExtractionCacheEnabled(boolean extractionCacheEnabled) {
+        this.extractionCacheEnabled = extractionCacheEnabled;
+    }
+
+    public int getArchiveCacheFreshnessHours() {
+        return archiveCacheFreshnessHours;
+    }
+
+    public void setArchiveCacheFreshnessHours(int archiveCacheFreshnessHours) {
+        this.archiveCacheFreshnessHours = archiveCacheFreshnessHours;
+    }
+
+    public List<URLCanonicalizationRule> getUrlCanonicalizationRules() {
+        return urlCanonicalizationRules;
+    }
+
+    public void setUrlCanonicalizationRules(List<URLCanonicalizationRule> urlCanonicalizationRules) {
+        this.urlCanonicalizationRules = urlCanonicalizationRules;
+    }
+
+    public List<String> getTrackingParameters() {
+        return trackingParameters;
+    }
+
+    public void setTrackingParameters(List<String> trackingParameters) {
+        this.trackingParameters = trackingParameters;
+    }
+
+    public int getThrottleBackoffSeconds() {
+        return throttleBackoffSeconds;
+    }
+
+    public void setThrottleBackoffSeconds(int throttleBackoffSeconds) {
+        this.throttleBackoffSeconds = throttleBackoffSeconds;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public int getRetryInitialBackoffSeconds() {
+        return retryInitialBackoffSeconds;
+    }
+
+    public void setRetryInitialBackoffSeconds(int retryInitialBackoffSeconds) {
+        this.retryInitialBackoffSeconds = retryInitialBackoffSeconds;
+    }
+
+    public int getRetryMaxBackoffSeconds() {
+        return retryMaxBackoffSeconds;
+    }
+
+    public void setRetryMaxBackoffSeconds(int retryMaxBackoffSeconds) {
+        this.retryMaxBackoffSeconds = retryMaxBackoffSeconds;
+    }
+
+    public int getAvailabilityCacheSeconds() {
+        return availabilityCacheSeconds;
+    }
+
+    public void setAvailabilityCacheSeconds(int availabilityCacheSeconds) {
+        this.availabilityCacheSeconds = availabilityCacheSeconds;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public int getCircuitBreakerOpenSeconds() {
+        return circuitBreakerOpenSeconds;
+    }
+
+    public void setCircuitBreakerOpenSeconds(int circuitBreakerOpenSeconds) {
+        this.circuitBreakerOpenSeconds = circuitBreakerOpenSeconds;
+    }
+
+    public int getWebDriverPoolSize() {
+        return webDriverPoolSize;
+    }
+
+    public void setWebDriverPoolSize(int webDriverPoolSize) {
+        this.webDriverPoolSize = webDriverPoolSize;
+    }
+
+    public int getWebDriverMaxUses() {
+        return webDriverMaxUses;
+    }
+
+    public void setWebDriverMaxUses(int webDriverMaxUses) {
+        this.webDriverMaxUses = webDriverMaxUses;
+    }
+
+    public boolean isBrowserHeadless() {
+        return browserHeadless;
+    }
+
+    public void setBrowserHeadless(boolean browserHeadless) {
+        this.browserHeadless = browserHeadless;
+    }
+
+    public boolean isBlockBrowserImages() {
+        return blockBrowserImages;
+    }
+
+    public void setBlockBrowserImages(boolean blockBrowserImages) {
+        this.blockBrowserImages = blockBrowserImages;
+    }
+
+    public boolean isBlockBrowserMedia() {
+        return blockBrowserMedia;
+    }
+
+    public void setBlockBrowserMedia(boolean blockBrowserMedia) {
+        this.blockBrowserMedia = blockBrowserMedia;
+    }
+
+    public String getBrowserProfileDirectory() {
+        return browserProfileDirectory;
+    }
+
+    public void setBrowserProfileDirectory(String browserProfileDirectory) {
+        this.browserProfileDirectory = browserProfileDirectory;
+    }
+
+    /**
+     * Creates the default concurrency limits. Archive.today is limited to one URL at a time,
+     * because every submission opens a browser window that may require solving a CAPTCHA.
+     *
+     * @return a new map with the default concurrency limits
+     */
+    public static Map<String, Integer> defaultConcurrencyLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        limits.put("ArchiveToday", 1);
+        return limits;
+    }
+
+    /**
+     * Creates the default rate limits in requests per minute. The Wayback Machine is limited to the captures per
+     * minute allowed for an account, services without an entry are not limited.
+     *
+     * @return a new map with the default rate limits
+     */
+    public static Map<String, Integer> defaultRateLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        limits.put("WaybackMachine", 12);
+        return limits;
+    }
+
+    /**
+     * Creates the default archive timeouts in seconds. Archive.today gets as long as its browser waits for the user
+     * to solve a CAPTCHA, so the timeout expires before the snapshot lookup and the browser together give up.
+     *
+     * @return a new map with the default archive timeouts
+     */
+    public static Map<String, Integer> defaultArchiveTimeouts() {
+        Map<String, Integer> timeouts = new HashMap<>();
+        timeouts.put("ArchiveToday", 300);
+        return timeouts;
+    }
 }
@@ -0,0 +1,91 @@
+package ch.bfh.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a file in the extraction cache, identifying its content and holding the URLs extracted from it.
+ */
+public class ExtractionCacheEntry {
+    private String filePath;
+    private long size;
+    private long lastModified;
+    private String contentHash;
+    private String extractionSettings;
+    private List<String> urls;
+
+    /**
+     * Constructs a new ExtractionCacheEntry with the specified values.
+     *
+     * @param filePath           The absolute path of the file.
+     * @param size               The size of the file in bytes.
+     * @param lastModified       The last modification time of the file in milliseconds since the epoch.
+     * @param contentHash        The hash of the content of the file, or null if it was not calculated yet.
+     * @param extractionSettings The settings of the reader the URLs were extracted with.
+     * @param urls               The URLs extracted from the file.
+     */
+    public ExtractionCacheEntry(String filePath, long size, long lastModified, String contentHash,
+                                String extractionSettings, List<String> urls) {
+        this.filePath = filePath;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.extractionSettings = extractionSettings;
+        this.urls = urls;
+    }
+
+    /**
+     * Default constructor initializing fields with empty values.
+     */
+    public ExtractionCacheEntry() {
+        this("", 0, 0, "", "", new ArrayList<>());
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getExtractionSettings() {
+        return extractionSettings;
+    }
+
+    public void setExtractionSettings(String extractionSettings) {
+        this.extractionSettings = extractionSettings;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+}
@@ -0,0 +1,24 @@
+package ch.bfh.model;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Holds the outcome of reading a single file and extracting its URLs.
+ *
+ * @param filePath  the path of the file
+ * @param fileModel the file with its extracted URLs, or {@code null} if the file could not be processed
+ * @param error     the reason why the file could not be processed, or {@code null} on success
+ * @param duration  the time it took to validate, read and extract the file
+ */
+public record FileIngestionResult(Path filePath, FileModel fileModel, Exception error, Duration duration) {
+
+    /**
+     * Returns whether the file was processed successfully.
+     *
+     * @return true if the URLs of the file were extracted, false otherwise
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -3,11 +3,18 @@ package ch.bfh.model;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents a file for URL processing, containing metadata and URLs related to its content.
+ * <p>
+ * The URL pairs are kept in a list in extraction order, and indexed by their extracted URL in an insertion-ordered
+ * map, so archived URLs can be looked up in constant time even for files with thousands of URLs.
+ * Every extracted URL is only added once.
+ * </p>
  */
 public class FileModel {
 
@@ -15,6 +22,7 @@ public class FileModel {
     private final String fileName;
     private final Path filePath;
     private final List<URLPair> urlPairs;
+    private final Map<String, URLPair> urlIndex;
 
     /**
      * Constructs a FileModel with specified file path and MIME type.
@@ -27,6 +35,7 @@ public class FileModel {
         this.filePath = filePath;
         this.fileName = filePath.getFileName().toString();
         this.urlPairs = new ArrayList<>();
+        this.urlIndex = new LinkedHashMap<>();
     }
 
     public String getFileName() {
@@ -51,12 +60,45 @@ public class FileModel {
     }
 
     /**
-     * Adds a set of extracted URLs to the URL pairs.
+     * Returns the URL pair of an extracted URL.
+     *
+     * @param extractedURL the URL extracted from the file
+     * @return the URL pair, or null if the URL was not extracted from this file
+     */
+    public URLPair getUrlPair(String extractedURL) {
+        return urlIndex.get(extractedURL);
+    }
+
+    /**
+     * Adds a set of extracted URLs to the URL pairs. URLs that were already added are skipped.
      *
      * @param extractedURLs a set of URLs
      */
     public void addExtractedURLs(Set<String> extractedURLs) {
-        extractedURLs.forEach(url -> urlPairs.add(new URLPair(url)));
+        extractedURLs.forEach(url -> {
+            if (!urlIndex.containsKey(url)) {
+                URLPair pair = new URLPair(url);
+                urlIndex.put(url, pair);
+                urlPairs.add(pair);
+            }
+        });
+    }
+
+    /**
+     * Adds an extracted URL to the URL pairs, together with its spelling in the file before it was canonicalized.
+     * If the URL was already added, only the spelling is recorded.
+     *
+     * @param extractedURL the canonical URL
+     * @param sourceURL    the URL as found in the file
+     */
+    public void addExtractedURL(String extractedURL, String sourceURL) {
+        URLPair pair = urlIndex.get(extractedURL);
+        if (pair == null) {
+            pair = new URLPair(extractedURL);
+            urlIndex.put(extractedURL, pair);
+            urlPairs.add(pair);
+        }
+        pair.addSourceURL(sourceURL);
     }
 
     /**
@@ -66,10 +108,10 @@ public class FileModel {
      * @param archivedURLs list of archived URLs
      */
     public void setArchivedURL(String extractedURL, List<String> archivedURLs) {
-        urlPairs.stream()
-                .filter(pair -> pair.getExtractedURL().equals(extractedURL))
-                .findFirst()
-                .ifPresent(pair -> pair.setArchivedURLs(archivedURLs));
+        URLPair pair = urlIndex.get(extractedURL);
+        if (pair != null) {
+            pair.setArchivedURLs(archivedURLs);
+        }
     }
 
     /**
@@ -79,10 +121,30 @@ public class FileModel {
      * @param archivedURL  the archived URL
      */
     public void addArchivedURL(String extractedURL, String archivedURL) {
-        urlPairs.stream()
-                .filter(pair -> pair.getExtractedURL().equals(extractedURL))
-                .findFirst()
-                .ifPresent(pair -> pair.addArchivedURL(archivedURL));
+        URLPair pair = urlIndex.get(extractedURL);
+        if (pair != null) {
+            pair.addArchivedURL(archivedURL);
+        }
+    }
+
+    /**
+     * Replaces the URL pairs of this file with the pairs of the same URLs in the given map, and adds the pairs of
+     * URLs not in the map yet. Afterwards, archived URLs added to a pair are visible in every file sharing it.
+     * A pair is only replaced if it has the same archived URLs as the shared pair, so a file keeps the archived
+     * URLs it already had.
+     *
+     * @param sharedPairs the URL pairs shared by multiple files, by extracted URL
+     */
+    void shareURLPairs(Map<String, URLPair> sharedPairs) {
+        for (int i = 0; i < urlPairs.size(); i++) {
+            URLPair pair = urlPairs.get(i);
+            URLPair sharedPair = sharedPairs.putIfAbsent(pair.getExtractedURL(), pair);
+            if (sharedPair != null && sharedPair.getArchivedURLs().equals(pair.getArchivedURLs())) {
+                pair.getSourceURLs().forEach(sharedPair::addSourceURL);
+                urlPairs.set(i, sharedPair);
+                urlIndex.put(sharedPair.getExtractedURL(), sharedPair);
+            }
+        }
     }
 
     /**
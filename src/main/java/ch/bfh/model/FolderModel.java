@@ -5,14 +5,23 @@ import ch.bfh.helper.I18n;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a folder containing multiple file models.
+ * <p>
+ * The same URL is often referenced by many files of a folder. The files therefore share a single {@link URLPair}
+ * per URL: an archived URL added through any of the files is visible in all of them, while every file keeps its own
+ * list of URL pairs, so exports stay per file.
+ * </p>
  */
 public class FolderModel {
     private final String basePath;
     private final List<FileModel> files = new ArrayList<>();
+    private final Map<String, URLPair> sharedURLPairs = new HashMap<>();
     private int index = 0;
 
     /**
@@ -48,14 +57,32 @@ public class FolderModel {
     }
 
     /**
-     * Adds a file model to the folder's list of files.
+     * Adds a file model to the folder's list of files. The URL pairs of the file are shared with the other files
+     * referencing the same URLs, unless the file already has other archived URLs for a URL.
+     * URLs added to the file afterwards are not shared.
      *
      * @param file The FileModel to add.
      */
     public void addFile(FileModel file) {
+        file.shareURLPairs(this.sharedURLPairs);
         this.files.add(file);
     }
 
+    /**
+     * Returns every URL extracted from the files of the folder once, together with the files referencing it.
+     *
+     * @return A map from extracted URL to the files referencing it, both in the order of the files.
+     */
+    public Map<String, List<FileModel>> getURLIndex() {
+        Map<String, List<FileModel>> urlIndex = new LinkedHashMap<>();
+        for (FileModel file : this.files) {
+            for (URLPair urlPair : file.getUrlPairs()) {
+                urlIndex.computeIfAbsent(urlPair.getExtractedURL(), url -> new ArrayList<>()).add(file);
+            }
+        }
+        return urlIndex;
+    }
+
     /**
      * Returns the base path of the folder.
      *
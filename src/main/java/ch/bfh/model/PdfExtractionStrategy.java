@@ -0,0 +1,40 @@
+package ch.bfh.model;
+
+/**
+ * Enumeration of the ways URLs are extracted from PDF files.
+ */
+public enum PdfExtractionStrategy {
+    /**
+     * Only the link annotations of the pages are read, the text is not extracted.
+     * This is by far the fastest strategy for documents carrying their URLs as hyperlinks.
+     */
+    ANNOTATIONS,
+
+    /**
+     * Only the text of the pages is extracted, link annotations are ignored.
+     */
+    TEXT,
+
+    /**
+     * Both the text and the link annotations of the pages are read.
+     */
+    BOTH;
+
+    /**
+     * Checks whether this strategy extracts the text of the pages.
+     *
+     * @return true if the text is extracted, false otherwise
+     */
+    public boolean extractsText() {
+        return this != ANNOTATIONS;
+    }
+
+    /**
+     * Checks whether this strategy reads the link annotations of the pages.
+     *
+     * @return true if the link annotations are read, false otherwise
+     */
+    public boolean extractsAnnotations() {
+        return this != TEXT;
+    }
+}
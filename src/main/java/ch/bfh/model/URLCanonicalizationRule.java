@@ -0,0 +1,40 @@
+package ch.bfh.model;
+
+/**
+ * Enumeration of the rules applied to extracted URLs to bring different spellings of the same URL into one form.
+ */
+public enum URLCanonicalizationRule {
+    /**
+     * The scheme and the host are written in lower case, e.g. {@code HTTPS://Example.ORG} becomes
+     * {@code https://example.org}.
+     */
+    LOWERCASE_SCHEME_AND_HOST,
+
+    /**
+     * The port is removed if it is the default port of the scheme, e.g. {@code https://example.org:443/a}
+     * becomes {@code https://example.org/a}.
+     */
+    REMOVE_DEFAULT_PORT,
+
+    /**
+     * The fragment is removed, e.g. {@code https://example.org/a#section} becomes {@code https://example.org/a}.
+     */
+    REMOVE_FRAGMENT,
+
+    /**
+     * A trailing slash of the path is removed, e.g. {@code https://example.org/a/} becomes
+     * {@code https://example.org/a}.
+     */
+    REMOVE_TRAILING_SLASH,
+
+    /**
+     * Query parameters used to track visitors, like {@code utm_source}, are removed.
+     */
+    REMOVE_TRACKING_PARAMETERS,
+
+    /**
+     * Percent-encoded unreserved characters are decoded and the hexadecimal digits of the remaining
+     * percent-encodings are written in upper case, e.g. {@code %7euser%2f} becomes {@code ~user%2F}.
+     */
+    NORMALIZE_PERCENT_ENCODING
+}
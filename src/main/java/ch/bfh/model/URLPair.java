@@ -1,14 +1,20 @@
 package ch.bfh.model;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Represents a pair of URLs: one extracted from a source and its corresponding archived versions.
+ * Archived URLs may be added from background threads (e.g. when a pending archiving job finishes),
+ * therefore the list of archived URLs is safe to iterate while it is being updated.
  */
 public class URLPair {
     private final String extractedURL;
-    private List<String> archivedURLs;
+    private final Set<String> sourceURLs = new CopyOnWriteArraySet<>();
+    private volatile List<String> archivedURLs;
 
     /**
      * Constructs a URLPair with the specified extracted URL.
@@ -17,13 +23,32 @@ public class URLPair {
      */
     public URLPair(String extractedURL) {
         this.extractedURL = extractedURL;
-        this.archivedURLs = new ArrayList<>();
+        this.archivedURLs = new CopyOnWriteArrayList<>();
     }
 
     public String getExtractedURL() {
         return extractedURL;
     }
 
+    /**
+     * Returns the spellings of the URL as found in the source, before the extracted URL was canonicalized.
+     * If none were recorded, only the extracted URL itself is returned.
+     *
+     * @return an unmodifiable set of the URLs found in the source
+     */
+    public Set<String> getSourceURLs() {
+        return sourceURLs.isEmpty() ? Set.of(extractedURL) : Collections.unmodifiableSet(sourceURLs);
+    }
+
+    /**
+     * Records a spelling of the URL as found in the source.
+     *
+     * @param sourceURL the URL found in the source
+     */
+    public void addSourceURL(String sourceURL) {
+        sourceURLs.add(sourceURL);
+    }
+
     public List<String> getArchivedURLs() {
         return archivedURLs;
     }
@@ -33,8 +58,8 @@ public class URLPair {
      *
      * @param archivedURLs the list of archived URLs
      */
-    public void setArchivedURLs(List<String> archivedURLs) {
-        this.archivedURLs = new ArrayList<>(archivedURLs);
+    public synchronized void setArchivedURLs(List<String> archivedURLs) {
+        this.archivedURLs = new CopyOnWriteArrayList<>(archivedURLs);
     }
 
     /**
@@ -42,7 +67,7 @@ public class URLPair {
      *
      * @param archivedURL the archived URL to add
      */
-    public void addArchivedURL(String archivedURL) {
+    public synchronized void addArchivedURL(String archivedURL) {
         if (archivedURL.startsWith("https://web.archive.org")) {
             replacePendingURLs(archivedURL);
         } else {
@@ -0,0 +1,66 @@
+package ch.bfh.model.archiving;
+
+/**
+ * Represents a URL archived in an earlier run, associating the extracted URL and the archiving service
+ * with the archived URL and the time it was archived.
+ */
+public class ArchiveCacheEntry {
+    private String extractedUrl;
+    private String serviceName;
+    private String archivedUrl;
+    private long archivedAt;
+
+    /**
+     * Constructs a new ArchiveCacheEntry with the specified values.
+     *
+     * @param extractedUrl The URL that was archived.
+     * @param serviceName  The name of the service that archived the URL.
+     * @param archivedUrl  The URL of the archived copy.
+     * @param archivedAt   The time the URL was archived in milliseconds since the epoch.
+     */
+    public ArchiveCacheEntry(String extractedUrl, String serviceName, String archivedUrl, long archivedAt) {
+        this.extractedUrl = extractedUrl;
+        this.serviceName = serviceName;
+        this.archivedUrl = archivedUrl;
+        this.archivedAt = archivedAt;
+    }
+
+    /**
+     * Default constructor initializing fields with empty values.
+     */
+    public ArchiveCacheEntry() {
+        this("", "", "", 0);
+    }
+
+    public String getExtractedUrl() {
+        return extractedUrl;
+    }
+
+    public void setExtractedUrl(String extractedUrl) {
+        this.extractedUrl = extractedUrl;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getArchivedUrl() {
+        return archivedUrl;
+    }
+
+    public void setArchivedUrl(String archivedUrl) {
+        this.archivedUrl = archivedUrl;
+    }
+
+    public long getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(long archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -9,7 +9,7 @@ import ch.bfh.model.FileModel;
 public class PendingWaybackMachineJob {
     private final String extractedUrl;
     private FileModel file;
-    private WaybackMachineJob job;
+    private volatile WaybackMachineJob job;
 
     /**
      * Constructs a new instance of PendingWaybackMachineJob.
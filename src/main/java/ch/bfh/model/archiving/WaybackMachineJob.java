@@ -13,6 +13,7 @@ public class WaybackMachineJob {
     private String status;
     private String timestamp;
     private String exception;
+    private String status_ext;
 
     public String getJob_id() {
         return job_id;
@@ -53,4 +54,12 @@ public class WaybackMachineJob {
     public void setException(String exception) {
         this.exception = exception;
     }
+
+    public String getStatus_ext() {
+        return status_ext;
+    }
+
+    public void setStatus_ext(String status_ext) {
+        this.status_ext = status_ext;
+    }
 }
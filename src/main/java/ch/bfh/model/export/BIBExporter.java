@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -36,17 +37,17 @@ public class BIBExporter implements Exporter {
      * Updates the BibTeX entries with archived URLs.
      *
      * @param lines        The list of lines in the BibTeX file.
-     * @param extractedUrl The URL to match in BibTeX entries.
+     * @param sourceUrls   The spellings of the URL to match in BibTeX entries.
      * @param archivedUrls The formatted string of archived URLs.
      */
-    private static void updateBibEntriesWithArchivedUrls(List<String> lines, String extractedUrl, String archivedUrls) {
+    private static void updateBibEntriesWithArchivedUrls(List<String> lines, Set<String> sourceUrls, String archivedUrls) {
         int entryStart = -1;
         for (int i = 0; i < lines.size(); i++) {
             String line = lines.get(i);
             if (isStartOfBibEntry(line)) {
                 entryStart = i;
             } else if (isEndOfBibEntry(line, entryStart)) {
-                updateBibEntry(lines, entryStart, i, extractedUrl, archivedUrls);
+                updateBibEntry(lines, entryStart, i, sourceUrls, archivedUrls);
                 entryStart = -1;
             }
         }
@@ -79,12 +80,13 @@ public class BIBExporter implements Exporter {
      * @param lines        The list of lines in the BibTeX file.
      * @param entryStart   The start index of the BibTeX entry.
      * @param entryEnd     The end index of the BibTeX entry.
-     * @param extractedUrl The URL to match in the BibTeX entry.
+     * @param sourceUrls   The spellings of the URL to match in the BibTeX entry.
      * @param archivedUrls The formatted string of archived URLs.
      */
-    private static void updateBibEntry(List<String> lines, int entryStart, int entryEnd, String extractedUrl, String archivedUrls) {
+    private static void updateBibEntry(List<String> lines, int entryStart, int entryEnd, Set<String> sourceUrls, String archivedUrls) {
         for (int j = entryStart; j <= entryEnd; j++) {
-            if (lines.get(j).contains(extractedUrl)) {
+            String line = lines.get(j);
+            if (sourceUrls.stream().anyMatch(line::contains)) {
                 if (!updateNoteField(lines, j, entryEnd, archivedUrls)) {
                     addNewNoteField(lines, entryEnd, archivedUrls);
                 }
@@ -162,7 +164,7 @@ public class BIBExporter implements Exporter {
         for (URLPair pair : urlPairs) {
             String archivedUrls = formatArchivedUrls(pair);
             if (!archivedUrls.isEmpty()) {
-                updateBibEntriesWithArchivedUrls(lines, pair.getExtractedURL(), archivedUrls);
+                updateBibEntriesWithArchivedUrls(lines, pair.getSourceURLs(), archivedUrls);
             }
         }
         try {
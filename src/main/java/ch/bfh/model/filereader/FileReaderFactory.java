@@ -1,5 +1,7 @@
 package ch.bfh.model.filereader;
 
+import ch.bfh.model.ConfigModel;
+
 /**
  * Factory class for creating instances of {@link FileReaderInterface} based on MIME types.
  */
@@ -16,12 +18,25 @@ public class FileReaderFactory {
      * @throws IllegalArgumentException if the MIME type is null, empty, or unsupported
      */
     public static FileReaderInterface getFileReader(String mimeType) {
+        return getFileReader(mimeType, new ConfigModel());
+    }
+
+    /**
+     * Creates a {@link FileReaderInterface} based on the provided MIME type, configured with the reader settings
+     * of the given configuration.
+     *
+     * @param mimeType the MIME type of the file to be read
+     * @param config   the configuration holding the reader settings
+     * @return an implementation of {@link FileReaderInterface} suitable for the given MIME type
+     * @throws IllegalArgumentException if the MIME type is null, empty, or unsupported
+     */
+    public static FileReaderInterface getFileReader(String mimeType, ConfigModel config) {
         validateMimeType(mimeType);
 
         if (mimeType.startsWith(MIME_TYPE_TEXT)) {
-            return new TextFileReader(); // Handles all text/* MIME types
+            return TextFileReader.fromConfig(config); // Handles all text/* MIME types
         } else if (mimeType.equals(MIME_TYPE_PDF)) {
-            return new PDFFileReader(); // Specific handler for PDF files
+            return PDFFileReader.fromConfig(config); // Specific handler for PDF files
         } else {
             throw new IllegalArgumentException("Unsupported file type: " + mimeType);
         }
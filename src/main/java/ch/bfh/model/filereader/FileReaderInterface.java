@@ -1,7 +1,10 @@
 package ch.bfh.model.filereader;
 
+import ch.bfh.helper.URLExtractor;
+
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * Defines the contract for file reader implementations.
@@ -16,4 +19,26 @@ public interface FileReaderInterface {
      * @throws IOException if an error occurs during reading.
      */
     String readFile(Path filePath) throws IOException;
+
+    /**
+     * Extracts the URLs of a file and passes them to the consumer, in the order of appearance.
+     * The default implementation reads the whole content first; implementations may stream the file instead.
+     *
+     * @param filePath the path to the file to be read.
+     * @param consumer receives the URLs found, duplicates included.
+     * @throws IOException if an error occurs during reading.
+     */
+    default void extractURLs(Path filePath, Consumer<String> consumer) throws IOException {
+        URLExtractor.extractURLs(readFile(filePath), consumer);
+    }
+
+    /**
+     * Describes the settings of this reader that influence which URLs are extracted.
+     * URLs cached for a file are only reused if they were extracted with the same settings.
+     *
+     * @return a description of the settings, the simple class name by default.
+     */
+    default String getExtractionSettings() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,131 @@
+package ch.bfh.model.filereader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader that decodes a file through a memory mapping instead of reading it with system calls into heap buffers.
+ * <p>
+ * The file is mapped in windows of a fixed size, so files larger than 2 GB can be read as well. The mapped bytes
+ * are copied in small blocks to a heap buffer before decoding, because the charset decoders are considerably faster
+ * on heap buffers. A character split by the end of a block is completed with the next block.
+ * Reading a file again profits from the pages already held in the page cache of the operating system.
+ * </p>
+ */
+class MappedFileReader extends Reader {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE).flip();
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean endOfFile;
+
+    /**
+     * Opens the file and maps its first window.
+     *
+     * @param filePath the file to read
+     * @param charset  the charset of the file, malformed input is reported as error
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileReader(Path filePath, Charset charset) throws IOException {
+        this(filePath, charset, WINDOW_SIZE);
+    }
+
+    /**
+     * Opens the file and maps its first window.
+     *
+     * @param filePath   the file to read
+     * @param charset    the charset of the file, malformed input is reported as error
+     * @param windowSize the number of bytes mapped at once
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileReader(Path filePath, Charset charset, long windowSize) throws IOException {
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            this.window = map(0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (endOfFile) {
+            return -1;
+        }
+        if (length == 0) {
+            return 0;
+        }
+
+        CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+        while (out.position() == offset) {
+            boolean endOfInput = !fillBlock();
+            CoderResult result = decoder.decode(block, out, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+
+            if (endOfInput && out.position() == offset) {
+                decoder.flush(out);
+                endOfFile = true;
+                return out.position() > offset ? out.position() - offset : -1;
+            }
+        }
+        return out.position() - offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Tops up the block with the next mapped bytes, keeping the bytes not decoded yet at its start.
+     *
+     * @return true if the file has more bytes than the block holds now, false otherwise
+     * @throws IOException if the next window cannot be mapped
+     */
+    private boolean fillBlock() throws IOException {
+        block.compact();
+        while (block.hasRemaining()) {
+            if (!window.hasRemaining()) {
+                long nextWindowStart = windowStart + window.limit();
+                if (nextWindowStart >= size) {
+                    break;
+                }
+                window = map(nextWindowStart);
+            }
+            int count = Math.min(block.remaining(), window.remaining());
+            window.get(block.array(), block.arrayOffset() + block.position(), count);
+            block.position(block.position() + count);
+        }
+        block.flip();
+        return windowStart + window.position() < size;
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        windowStart = position;
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+    }
+}
@@ -1,8 +1,10 @@
 package ch.bfh.model.filereader;
 
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.PdfExtractionStrategy;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.interactive.action.PDActionURI;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
@@ -10,14 +12,138 @@ import org.apache.pdfbox.text.PDFTextStripper;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * FileReader implementation for PDF files.
  * It extracts text and hyperlinks from PDF documents.
+ * <p>
+ * The extraction strategy decides whether the text, the link annotations or both are read. The document is loaded
+ * the same way for every strategy, but with {@link PdfExtractionStrategy#ANNOTATIONS} no text is extracted, so the
+ * content streams of the pages are never decoded and only the annotations of the pages are walked.
+ * </p>
+ * <p>
+ * Stream data buffered by PDFBox is kept in main memory up to a limit, the remainder is written to a temporary
+ * scratch file, so large documents do not exhaust the heap.
+ * </p>
+ * <p>
+ * When the text is extracted, documents with more pages than the parallel page threshold are split into page ranges that are read in parallel.
+ * As a {@link PDDocument} must not be shared between threads, every range loads its own instance of the document.
+ * The ranges of all documents share one executor with a worker per processor, so reading several large documents at
+ * once, e.g. the files of a folder, neither multiplies the threads nor the loaded instances of the documents.
+ * The text and hyperlinks of the ranges are merged in page order, so the result is the same as reading the
+ * document at once. With a single processor, documents are always read at once.
+ * </p>
  */
 public class PDFFileReader implements FileReaderInterface {
+    private static final long BYTES_PER_MB = 1024L * 1024;
+    private static final int PAGE_RANGE_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService PAGE_RANGE_EXECUTOR = Executors.newFixedThreadPool(PAGE_RANGE_WORKERS, runnable -> {
+        Thread thread = new Thread(runnable, "pdf-page-range-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PdfExtractionStrategy extractionStrategy;
+    private final int parallelPageThreshold;
+    private final int pagesPerRange;
+    private final MemoryUsageSetting memoryUsageSetting;
+
+    /**
+     * Creates a reader using the default settings for parallel reading.
+     */
+    public PDFFileReader() {
+        this(ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY);
+    }
+
+    /**
+     * Creates a reader using the given extraction strategy and the default settings for parallel reading.
+     *
+     * @param extractionStrategy the parts of the pages to read
+     */
+    public PDFFileReader(PdfExtractionStrategy extractionStrategy) {
+        this(extractionStrategy, ConfigModel.DEFAULT_PDF_PARALLEL_PAGE_THRESHOLD, ConfigModel.DEFAULT_PDF_PAGES_PER_RANGE);
+    }
+
+    /**
+     * Creates a reader that reads documents with more than the given number of pages in parallel page ranges.
+     *
+     * @param parallelPageThreshold the number of pages above which a document is read in parallel, 0 disables it
+     * @param pagesPerRange         the number of pages read together by one worker
+     */
+    public PDFFileReader(int parallelPageThreshold, int pagesPerRange) {
+        this(ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY, parallelPageThreshold, pagesPerRange);
+    }
+
+    /**
+     * Creates a reader with the given extraction strategy that reads documents with more than the given number of
+     * pages in parallel page ranges.
+     *
+     * @param extractionStrategy    the parts of the pages to read
+     * @param parallelPageThreshold the number of pages above which a document is read in parallel, 0 disables it
+     * @param pagesPerRange         the number of pages read together by one worker
+     */
+    public PDFFileReader(PdfExtractionStrategy extractionStrategy, int parallelPageThreshold, int pagesPerRange) {
+        this(extractionStrategy, parallelPageThreshold, pagesPerRange,
+                ConfigModel.DEFAULT_PDF_MAX_MAIN_MEMORY_MB * BYTES_PER_MB);
+    }
+
+    /**
+     * Creates a reader with the given extraction strategy, parallel reading settings and main memory limit.
+     *
+     * @param extractionStrategy    the parts of the pages to read
+     * @param parallelPageThreshold the number of pages above which a document is read in parallel, 0 disables it
+     * @param pagesPerRange         the number of pages read together by one worker
+     * @param maxMainMemoryBytes    the number of bytes of stream data kept in main memory per document before a
+     *                              scratch file is used, a negative value keeps all stream data in main memory
+     */
+    public PDFFileReader(PdfExtractionStrategy extractionStrategy, int parallelPageThreshold, int pagesPerRange,
+                         long maxMainMemoryBytes) {
+        if (pagesPerRange < 1) {
+            throw new IllegalArgumentException("Pages per range must be at least 1");
+        }
+        this.extractionStrategy = extractionStrategy;
+        this.parallelPageThreshold = parallelPageThreshold;
+        this.pagesPerRange = pagesPerRange;
+        this.memoryUsageSetting = maxMainMemoryBytes < 0
+                ? MemoryUsageSetting.setupMainMemoryOnly()
+                : MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+    }
+
+    /**
+     * Creates a reader with the PDF reader settings of the given configuration.
+     *
+     * @param config the configuration holding the PDF reader settings
+     * @return a new PDF file reader
+     */
+    public static PDFFileReader fromConfig(ConfigModel config) {
+        long maxMainMemoryBytes = config.getPdfMaxMainMemoryMB() < 0 ? -1 : config.getPdfMaxMainMemoryMB() * BYTES_PER_MB;
+        return new PDFFileReader(config.getPdfExtractionStrategy(), config.getPdfParallelPageThreshold(),
+                config.getPdfPagesPerRange(), maxMainMemoryBytes);
+    }
+
+    public PdfExtractionStrategy getExtractionStrategy() {
+        return extractionStrategy;
+    }
+
+    public int getParallelPageThreshold() {
+        return parallelPageThreshold;
+    }
+
+    public int getPagesPerRange() {
+        return pagesPerRange;
+    }
+
+    public MemoryUsageSetting getMemoryUsageSetting() {
+        return memoryUsageSetting;
+    }
 
     /**
      * Reads and extracts text and hyperlinks from a PDF file specified by the path.
@@ -28,29 +154,146 @@ public class PDFFileReader implements FileReaderInterface {
      */
     @Override
     public String readFile(Path filePath) throws IOException {
-        StringBuilder result = new StringBuilder();
+        File file = new File(filePath.toString());
+        int pageCount;
 
-        try (PDDocument document = Loader.loadPDF(new File(filePath.toString()))) {
-            PDFTextStripper pdfStripper = new PDFTextStripper();
-            result.append(pdfStripper.getText(document));
-            extractHyperlinks(document, result);
+        try (PDDocument document = load(file)) {
+            pageCount = document.getNumberOfPages();
+            if (!isParallel(pageCount) || PAGE_RANGE_WORKERS < 2) {
+                return readPageRange(document, 1, pageCount).merge();
+            }
+        }
+
+        return readPageRangesInParallel(file, pageCount);
+    }
+
+    /**
+     * Describes the extraction strategy, as it decides which URLs are found in a document.
+     *
+     * @return the class name and the extraction strategy
+     */
+    @Override
+    public String getExtractionSettings() {
+        return getClass().getSimpleName() + "/" + extractionStrategy.name();
+    }
+
+    /**
+     * Loads a document from the file, buffering stream data according to the memory usage setting.
+     * The document is loaded the same way for every extraction strategy.
+     *
+     * @param file the PDF file
+     * @return the loaded document, to be closed by the caller
+     * @throws IOException if the file cannot be read or is not a valid PDF
+     */
+    PDDocument load(File file) throws IOException {
+        return Loader.loadPDF(file, memoryUsageSetting.streamCache);
+    }
+
+    /**
+     * Checks whether a document with the given number of pages is read in parallel page ranges.
+     *
+     * @param pageCount the number of pages of the document
+     * @return true if the document is split into page ranges, false otherwise
+     */
+    boolean isParallel(int pageCount) {
+        return extractionStrategy.extractsText() && parallelPageThreshold > 0 && pageCount > parallelPageThreshold && pageCount > pagesPerRange;
+    }
+
+    /**
+     * Reads the page ranges of a document on the shared executor and merges their content in page order.
+     *
+     * @param file      the PDF file
+     * @param pageCount the number of pages of the document
+     * @return the text of all pages followed by the hyperlinks of all pages
+     * @throws IOException if a page range cannot be read
+     */
+    private String readPageRangesInParallel(File file, int pageCount) throws IOException {
+        int ranges = (pageCount + pagesPerRange - 1) / pagesPerRange;
+        List<Future<PageRangeContent>> futures = new ArrayList<>(ranges);
+        for (int startPage = 1; startPage <= pageCount; startPage += pagesPerRange) {
+            int start = startPage;
+            int end = Math.min(startPage + pagesPerRange - 1, pageCount);
+            futures.add(PAGE_RANGE_EXECUTOR.submit(() -> readPageRange(file, start, end)));
+        }
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder hyperlinks = new StringBuilder();
+        try {
+            for (Future<PageRangeContent> future : futures) {
+                PageRangeContent content = getContent(future);
+                text.append(content.text());
+                hyperlinks.append(content.hyperlinks());
+            }
+        } catch (IOException e) {
+            // The remaining ranges are not needed anymore, free the workers for other documents
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return text.append(hyperlinks).toString();
+    }
+
+    /**
+     * Waits for the content of a page range.
+     *
+     * @param future the future of the page range
+     * @return the content of the page range
+     * @throws IOException if the page range could not be read or the thread was interrupted
+     */
+    private static PageRangeContent getContent(Future<PageRangeContent> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading PDF pages");
         }
+    }
 
-        return result.toString();
+    /**
+     * Loads a separate instance of the document and reads a range of its pages.
+     *
+     * @param file      the PDF file
+     * @param startPage the first page of the range, starting at 1
+     * @param endPage   the last page of the range, inclusive
+     * @return the text and hyperlinks of the pages
+     * @throws IOException if an error occurs during file reading or processing.
+     */
+    private PageRangeContent readPageRange(File file, int startPage, int endPage) throws IOException {
+        try (PDDocument document = load(file)) {
+            return readPageRange(document, startPage, endPage);
+        }
     }
 
     /**
-     * Extracts and appends hyperlinks from the PDF document to the StringBuilder.
+     * Extracts the text and hyperlinks of a range of pages, as far as the extraction strategy requires them.
      *
-     * @param document The PDF document from which to extract hyperlinks.
-     * @param result   StringBuilder to append the extracted hyperlinks.
-     * @throws IOException if an error occurs during hyperlink extraction.
-     */
-    private void extractHyperlinks(PDDocument document, StringBuilder result) throws IOException {
-        for (PDPage page : document.getPages()) {
-            List<PDAnnotation> annotations = page.getAnnotations();
-            appendAnnotationsHyperlinks(annotations, result);
+     * @param document  the PDF document
+     * @param startPage the first page of the range, starting at 1
+     * @param endPage   the last page of the range, inclusive
+     * @return the text and hyperlinks of the pages
+     * @throws IOException if an error occurs during text or hyperlink extraction.
+     */
+    private PageRangeContent readPageRange(PDDocument document, int startPage, int endPage) throws IOException {
+        String text = "";
+        if (extractionStrategy.extractsText()) {
+            PDFTextStripper pdfStripper = new PDFTextStripper();
+            pdfStripper.setStartPage(startPage);
+            pdfStripper.setEndPage(endPage);
+            text = pdfStripper.getText(document);
+        }
+
+        StringBuilder hyperlinks = new StringBuilder();
+        if (extractionStrategy.extractsAnnotations()) {
+            for (int pageIndex = startPage - 1; pageIndex < endPage; pageIndex++) {
+                appendAnnotationsHyperlinks(document.getPage(pageIndex).getAnnotations(), hyperlinks);
+            }
         }
+
+        return new PageRangeContent(text, hyperlinks.toString());
     }
 
     /**
@@ -59,11 +302,28 @@ public class PDFFileReader implements FileReaderInterface {
      * @param annotations List of annotations to process for hyperlinks.
      * @param result      StringBuilder to append the extracted hyperlinks.
      */
-    private void appendAnnotationsHyperlinks(List<PDAnnotation> annotations, StringBuilder result) {
+    private static void appendAnnotationsHyperlinks(List<PDAnnotation> annotations, StringBuilder result) {
         for (PDAnnotation annotation : annotations) {
             if (annotation instanceof PDAnnotationLink link && link.getAction() instanceof PDActionURI uri) {
                 result.append("\n").append(uri.getURI());
             }
         }
     }
+
+    /**
+     * The content of a range of pages.
+     *
+     * @param text       the text of the pages
+     * @param hyperlinks the hyperlinks of the pages, each preceded by a line break
+     */
+    private record PageRangeContent(String text, String hyperlinks) {
+        /**
+         * Merges the content as it is returned for a whole document.
+         *
+         * @return the text of the pages followed by their hyperlinks
+         */
+        String merge() {
+            return text + hyperlinks;
+        }
+    }
 }
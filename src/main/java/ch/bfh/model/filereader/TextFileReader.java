@@ -1,15 +1,54 @@
 package ch.bfh.model.filereader;
 
 import ch.bfh.helper.I18n;
+import ch.bfh.helper.URLExtractor;
+import ch.bfh.model.ConfigModel;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * Implementation of FileReaderInterface for reading plain text files.
+ * Files larger than the memory map threshold are memory-mapped while extracting URLs, see {@link MappedFileReader}.
  */
 public class TextFileReader implements FileReaderInterface {
+    private static final long BYTES_PER_MB = 1024L * 1024;
+
+    private final long memoryMapThreshold;
+
+    /**
+     * Creates a reader using the default memory map threshold.
+     */
+    public TextFileReader() {
+        this(ConfigModel.DEFAULT_MEMORY_MAP_THRESHOLD_MB * BYTES_PER_MB);
+    }
+
+    /**
+     * Creates a reader that memory-maps files larger than the given threshold.
+     *
+     * @param memoryMapThreshold the file size in bytes above which files are memory-mapped
+     */
+    public TextFileReader(long memoryMapThreshold) {
+        this.memoryMapThreshold = memoryMapThreshold;
+    }
+
+    /**
+     * Creates a reader with the memory map threshold of the given configuration.
+     *
+     * @param config the configuration holding the memory map threshold in megabytes
+     * @return a new text file reader
+     */
+    public static TextFileReader fromConfig(ConfigModel config) {
+        return new TextFileReader(config.getMemoryMapThresholdMB() * BYTES_PER_MB);
+    }
+
+    public long getMemoryMapThreshold() {
+        return memoryMapThreshold;
+    }
 
     /**
      * Reads and returns the content of a text file at the given path.
@@ -26,4 +65,28 @@ public class TextFileReader implements FileReaderInterface {
             throw new IOException(I18n.getString("error.reading_file") + " " + filePath, e);
         }
     }
+
+    /**
+     * Streams the text file at the given path through the URL extractor, without loading it into memory at once.
+     * Files larger than the memory map threshold are decoded directly from a memory mapping.
+     *
+     * @param filePath Path of the text file to be read.
+     * @param consumer Receives the URLs found, duplicates included.
+     * @throws IOException if there is an error reading the file.
+     */
+    @Override
+    public void extractURLs(Path filePath, Consumer<String> consumer) throws IOException {
+        try (Reader reader = openReader(filePath)) {
+            URLExtractor.extractURLs(reader, consumer);
+        } catch (IOException e) {
+            throw new IOException(I18n.getString("error.reading_file") + " " + filePath, e);
+        }
+    }
+
+    private Reader openReader(Path filePath) throws IOException {
+        if (Files.size(filePath) > memoryMapThreshold) {
+            return new MappedFileReader(filePath, StandardCharsets.UTF_8);
+        }
+        return Files.newBufferedReader(filePath);
+    }
 }
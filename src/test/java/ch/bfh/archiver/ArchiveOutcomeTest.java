@@ -0,0 +1,59 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ArchiveOutcome} record.
+ */
+class ArchiveOutcomeTest {
+
+    /**
+     * An archived outcome should hold the archived URL and the time since archiving started.
+     */
+    @Test
+    void archivedOutcomeHoldsUrlAndDuration() {
+        Instant startedAt = Instant.now().minusSeconds(3);
+
+        ArchiveOutcome outcome = ArchiveOutcome.archived("https://example.com", "ArchiveToday", "https://archive.ph/abc", startedAt);
+
+        assertEquals(ArchiveOutcome.Status.ARCHIVED, outcome.status());
+        assertEquals(Optional.of("https://archive.ph/abc"), outcome.getArchivedUrl());
+        assertEquals(startedAt, outcome.startedAt());
+        assertTrue(outcome.duration().compareTo(Duration.ofSeconds(3)) >= 0);
+        assertNull(outcome.jobId());
+        assertNull(outcome.error());
+    }
+
+    /**
+     * A pending outcome should hold the id of the job and the placeholder used until the job completes.
+     */
+    @Test
+    void pendingOutcomeHoldsJobId() {
+        ArchiveOutcome outcome = ArchiveOutcome.pending("https://example.com", "WaybackMachine", "spn2-123", Instant.now());
+
+        assertEquals(ArchiveOutcome.Status.PENDING, outcome.status());
+        assertEquals("spn2-123", outcome.jobId());
+        assertEquals(Optional.of(ArchiveOutcome.PENDING), outcome.getArchivedUrl());
+    }
+
+    /**
+     * A failed outcome should hold the error and no archived URL.
+     */
+    @Test
+    void failedOutcomeHoldsError() {
+        ArchiverException error = new ArchiverException("Blocked URL");
+
+        ArchiveOutcome outcome = ArchiveOutcome.failed("https://example.com", "WaybackMachine", error, Instant.now());
+
+        assertEquals(ArchiveOutcome.Status.FAILED, outcome.status());
+        assertSame(error, outcome.error());
+        assertEquals(Optional.empty(), outcome.getArchivedUrl());
+    }
+}
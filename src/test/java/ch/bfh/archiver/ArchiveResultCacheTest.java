@@ -0,0 +1,121 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiveCacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ArchiveResultCache} class.
+ * A clock that can be moved forward replaces the system clock to expire the entries.
+ */
+class ArchiveResultCacheTest {
+    private static final String URL = "https://example.com";
+    private static final String ARCHIVED_URL = "https://web.archive.org/web/20240101000000/https://example.com";
+    private static final Duration FRESHNESS = Duration.ofHours(24);
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheFile;
+    private MovableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        cacheFile = tempDir.resolve("archive_cache.json");
+        clock = new MovableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    /**
+     * An archived URL should be found for the same service within the freshness window, also after reloading.
+     */
+    @Test
+    void freshEntryIsFound() throws ArchiveCacheException {
+        ArchiveResultCache cache = new ArchiveResultCache(cacheFile, FRESHNESS, clock);
+        cache.store(URL, "WaybackMachine", ARCHIVED_URL);
+        cache.save();
+
+        clock.advance(Duration.ofHours(23));
+        ArchiveResultCache loadedCache = ArchiveResultCache.load(cacheFile, FRESHNESS, clock);
+
+        assertEquals(Optional.of(ARCHIVED_URL), cache.lookup(URL, "WaybackMachine"));
+        assertEquals(Optional.of(ARCHIVED_URL), loadedCache.lookup(URL, "WaybackMachine"));
+        assertTrue(cache.lookup(URL, "ArchiveToday").isEmpty());
+    }
+
+    /**
+     * An entry older than the freshness window should not be used anymore and be dropped when saving.
+     */
+    @Test
+    void expiredEntryIsNotFound() throws ArchiveCacheException {
+        ArchiveResultCache cache = new ArchiveResultCache(cacheFile, FRESHNESS, clock);
+        cache.store(URL, "WaybackMachine", ARCHIVED_URL);
+
+        clock.advance(FRESHNESS);
+        cache.save();
+
+        assertTrue(cache.lookup(URL, "WaybackMachine").isEmpty());
+        assertEquals(0, ArchiveResultCache.load(cacheFile, FRESHNESS, clock).size());
+    }
+
+    /**
+     * The placeholder of a job that is not finished yet should not be cached.
+     */
+    @Test
+    void pendingPlaceholderIsNotStored() {
+        ArchiveResultCache cache = new ArchiveResultCache(cacheFile, FRESHNESS, clock);
+        cache.store(URL, "WaybackMachine", "pending");
+
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * A missing cache file should result in an empty cache, an invalid one in an exception.
+     */
+    @Test
+    void loadMissingOrInvalidFile() throws IOException, ArchiveCacheException {
+        assertEquals(0, ArchiveResultCache.load(cacheFile, FRESHNESS).size());
+
+        Files.writeString(cacheFile, "{invalid");
+        assertThrows(ArchiveCacheException.class, () -> ArchiveResultCache.load(cacheFile, FRESHNESS));
+    }
+
+    private static class MovableClock extends Clock {
+        private Instant instant;
+
+        MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link ArchiveTodayHttpArchiver} class.
+ * A local stub server replaces the submit form, the submit endpoint and the snapshots of Archive.today.
+ */
+class ArchiveTodayHttpArchiverTest {
+    private static final String URL = "https://example.com/page?a=1&b=2";
+    private static final String FORM = "<form id=\"submiturl\" action=\"/submit/\" method=\"GET\">"
+            + "<input type=\"hidden\" name=\"submitid\" value=\"token-123\"/><input id=\"url\" name=\"url\"/></form>";
+    private static final String CAPTCHA = "<form id=\"challenge-form\"><div class=\"g-recaptcha\"></div></form>";
+
+    private final List<String> submittedBodies = new ArrayList<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+    private int formStatus = 200;
+    private String formBody = FORM;
+    private int submitStatus = 200;
+    private String submitBody = "";
+    private String submitLocation;
+    private String submitRefresh;
+    private int lookupsUntilDone = 2;
+    private FallbackArchiver fallback;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> respond(exchange, formStatus, formBody, null, null));
+        server.createContext("/submit/", this::handleSubmit);
+        server.createContext("/wip/", exchange -> {
+            if (lookups.incrementAndGet() < lookupsUntilDone) {
+                respond(exchange, 200, "", null, "5;url=" + baseUrl + "wip/abc");
+            } else {
+                respond(exchange, 302, "", "/abc", null);
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        submitRefresh = "0;url=" + baseUrl + "wip/abc";
+        fallback = new FallbackArchiver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private ArchiveTodayHttpArchiver createArchiver(URLArchiver captchaFallback) {
+        return new ArchiveTodayHttpArchiver(HttpClient.newHttpClient(), baseUrl, captchaFallback,
+                Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+
+    private void handleSubmit(HttpExchange exchange) throws IOException {
+        submittedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        respond(exchange, submitStatus, submitBody, submitLocation, submitLocation == null ? submitRefresh : null);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String location, String refresh) throws IOException {
+        if (location != null) {
+            exchange.getResponseHeaders().add("Location", location);
+        }
+        if (refresh != null) {
+            exchange.getResponseHeaders().add("Refresh", refresh);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    /**
+     * A submitted URL should be looked up until its snapshot is captured and the snapshot URL should be returned.
+     */
+    @Test
+    void submittedURLReturnsSnapshotOnceCaptured() throws ArchiverException {
+        String archivedUrl = createArchiver(fallback).archiveURL(URL);
+
+        assertEquals(baseUrl + "abc", archivedUrl);
+        assertEquals(2, lookups.get());
+        assertEquals(1, submittedBodies.size());
+        String submitted = URLDecoder.decode(submittedBodies.getFirst(), StandardCharsets.UTF_8);
+        assertTrue(submitted.contains("submitid=token-123"));
+        assertTrue(submitted.contains("url=" + URL));
+        assertTrue(fallback.urls.isEmpty());
+    }
+
+    /**
+     * Archiving asynchronously should yield an outcome holding the snapshot URL and the timing.
+     */
+    @Test
+    void asyncArchivingYieldsOutcome() throws Exception {
+        ArchiveOutcome outcome = createArchiver(fallback).archiveAsync(URL, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ArchiveOutcome.Status.ARCHIVED, outcome.status());
+        assertEquals("ArchiveToday", outcome.serviceName());
+        assertEquals(URL, outcome.url());
+        assertEquals(baseUrl + "abc", outcome.archivedUrl());
+        assertFalse(outcome.duration().isNegative());
+    }
+
+    /**
+     * A redirect of the submit endpoint already points to the snapshot, so no lookup should be needed.
+     */
+    @Test
+    void redirectOfSubmitIsSnapshot() throws ArchiverException {
+        submitStatus = 302;
+        submitLocation = "/xyz";
+
+        assertEquals(baseUrl + "xyz", createArchiver(fallback).archiveURL(URL));
+        assertEquals(0, lookups.get());
+    }
+
+    /**
+     * The browser should only be used if the submit endpoint asks for a CAPTCHA.
+     */
+    @Test
+    void captchaFallsBackToBrowser() throws ArchiverException {
+        submitStatus = 429;
+        submitBody = CAPTCHA;
+
+        assertEquals("browser", createArchiver(fallback).archiveURL(URL));
+        assertEquals(List.of(URL), fallback.urls);
+    }
+
+    /**
+     * A CAPTCHA on the submit form should also fall back to the browser without submitting anything.
+     */
+    @Test
+    void captchaOnFormFallsBackToBrowser() throws ArchiverException {
+        formStatus = 403;
+        formBody = CAPTCHA;
+
+        assertEquals("browser", createArchiver(fallback).archiveURL(URL));
+        assertTrue(submittedBodies.isEmpty());
+    }
+
+    /**
+     * Without a fallback, a CAPTCHA should fail the URL permanently, because retrying will not solve it.
+     */
+    @Test
+    void captchaWithoutFallbackFails() {
+        submitBody = CAPTCHA;
+
+        ArchiverException exception = assertThrows(ArchiverException.class, () -> createArchiver(null).archiveURL(URL));
+        assertFalse(exception instanceof ArchiverTransientException);
+    }
+
+    /**
+     * A server error should be reported as transient, so the URL is retried.
+     */
+    @Test
+    void serverErrorIsTransient() {
+        formStatus = 503;
+        formBody = "Service unavailable";
+
+        assertThrows(ArchiverTransientException.class, () -> createArchiver(fallback).archiveURL(URL));
+    }
+
+    /**
+     * A snapshot that is not captured in time should fail.
+     */
+    @Test
+    void snapshotNotCapturedInTimeFails() {
+        lookupsUntilDone = Integer.MAX_VALUE;
+        ArchiveTodayHttpArchiver archiver = new ArchiveTodayHttpArchiver(HttpClient.newHttpClient(), baseUrl, fallback,
+                Duration.ofMillis(10), Duration.ofMillis(100));
+
+        assertThrows(ArchiverException.class, () -> archiver.archiveURL(URL));
+    }
+
+    /**
+     * The service should be available while the stub responds, even with a CAPTCHA, and unavailable once it stopped.
+     */
+    @Test
+    void availabilityFollowsServer() {
+        ArchiveTodayHttpArchiver archiver = createArchiver(fallback);
+        formStatus = 429;
+        formBody = CAPTCHA;
+        assertTrue(archiver.isAvailable());
+
+        server.stop(0);
+        assertFalse(archiver.isAvailable());
+    }
+
+    /**
+     * Archiver standing in for the browser based Archive.today archiver.
+     */
+    private static class FallbackArchiver implements URLArchiver {
+        private final List<String> urls = new ArrayList<>();
+
+        @Override
+        public String archiveURL(String url) {
+            urls.add(url);
+            return "browser";
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public String getServiceName() {
+            return "ArchiveToday";
+        }
+
+        @Override
+        public boolean isAutomated() {
+            return false;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package ch.bfh.archiver;
 
 import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import ch.bfh.model.FileModel;
+import ch.bfh.model.FolderModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -98,4 +113,476 @@ public class ArchiverManagerTest {
         assertFalse(result.unavailableArchivers().contains("ArchiveToday"));
     }
 
+    // Test batch archiving of a file.
+    // Every URL of the file should be reported exactly once with the archived URL.
+    @Test
+    void whenArchiveAllCalledWithFile_thenReportResultForEveryUrl() {
+        FileModel fileModel = createFileModel("test.txt", 10);
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(fileModel, List.of(new FakeArchiver("Fake", 0)), listener);
+
+        assertEquals(10, listener.results.size());
+        listener.results.forEach((url, result) -> assertEquals(List.of("archived:" + url), result.archivedUrls()));
+        assertTrue(listener.errors.isEmpty());
+    }
+
+    // Test batch archiving of a folder.
+    // The URLs of all files should be archived and reported together with their file.
+    @Test
+    void whenArchiveAllCalledWithFolder_thenArchiveUrlsOfAllFiles() {
+        FolderModel folderModel = new FolderModel("folder");
+        FileModel first = createFileModel("first.txt", 3);
+        FileModel second = createFileModel("second.txt", 4);
+        folderModel.addFile(first);
+        folderModel.addFile(second);
+        Map<String, FileModel> files = new ConcurrentHashMap<>();
+
+        manager.archiveAll(folderModel, List.of(new FakeArchiver("Fake", 0)), new RecordingListener() {
+            @Override
+            public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+                files.put(extractedURL, fileModel);
+            }
+        });
+
+        assertEquals(7, files.size());
+        first.getUrlPairs().forEach(pair -> assertSame(first, files.get(pair.getExtractedURL())));
+        second.getUrlPairs().forEach(pair -> assertSame(second, files.get(pair.getExtractedURL())));
+    }
+
+    // Test batch archiving of a folder whose files reference the same URLs.
+    // Every unique URL should be archived once, and the result should be visible in every file referencing it.
+    @Test
+    void whenArchiveAllCalledWithSharedUrls_thenArchiveEveryUrlOnce() {
+        FolderModel folderModel = new FolderModel("folder");
+        FileModel first = createFileModel("shared", 3);
+        FileModel second = createFileModel("shared", 3);
+        folderModel.addFile(first);
+        folderModel.addFile(second);
+        FakeArchiver archiver = new FakeArchiver("Fake", 0);
+        RecordingListener listener = new RecordingListener() {
+            @Override
+            public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+                super.onResult(fileModel, extractedURL, result);
+                result.archivedUrls().forEach(archivedUrl -> fileModel.addArchivedURL(extractedURL, archivedUrl));
+            }
+        };
+
+        manager.archiveAll(folderModel, List.of(archiver), listener);
+
+        assertEquals(3, archiver.calls.get());
+        assertEquals(3, listener.results.size());
+        for (FileModel fileModel : List.of(first, second)) {
+            fileModel.getUrlPairs().forEach(pair -> assertEquals(List.of("archived:" + pair.getExtractedURL()), pair.getArchivedURLs()));
+        }
+    }
+
+    // Test batch archiving of a folder where a file keeps its own URL pair for a shared URL.
+    // The URL should be archived once, and the result should be reported to the file with its own pair as well.
+    @Test
+    void whenArchiveAllCalledWithUnsharedUrlPair_thenReportResultToEveryPair() {
+        FolderModel folderModel = new FolderModel("folder");
+        FileModel first = createFileModel("shared", 2);
+        FileModel second = createFileModel("shared", 2);
+        FileModel third = createFileModel("shared", 2);
+        String url = third.getUrlPairs().getFirst().getExtractedURL();
+        third.addArchivedURL(url, "https://archive.ph/abc");
+        folderModel.addFile(first);
+        folderModel.addFile(second);
+        folderModel.addFile(third);
+        FakeArchiver archiver = new FakeArchiver("Fake", 0);
+        List<FileModel> reportedFiles = Collections.synchronizedList(new ArrayList<>());
+
+        manager.archiveAll(folderModel, List.of(archiver), new RecordingListener() {
+            @Override
+            public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+                if (extractedURL.equals(url)) {
+                    reportedFiles.add(fileModel);
+                }
+                result.archivedUrls().forEach(archivedUrl -> fileModel.addArchivedURL(extractedURL, archivedUrl));
+            }
+        });
+
+        assertEquals(2, archiver.calls.get());
+        assertEquals(List.of(first, third), reportedFiles);
+        assertEquals(List.of("archived:" + url), second.getUrlPair(url).getArchivedURLs());
+        assertEquals(List.of("https://archive.ph/abc", "archived:" + url), third.getUrlPair(url).getArchivedURLs());
+    }
+
+    // Test that the concurrency limit of an archiver is respected during batch archiving.
+    // The archiver should process several URLs at once, but never more than the limit.
+    @Test
+    void whenArchiveAllCalled_thenConcurrencyLimitIsRespected() {
+        FakeArchiver archiver = new FakeArchiver("Fake", 50);
+        manager.setConcurrencyLimit("Fake", 3);
+
+        manager.archiveAll(createFileModel("test.txt", 20), List.of(archiver), new RecordingListener());
+
+        assertTrue(archiver.maxConcurrentCalls.get() > 1, "URLs should be archived concurrently");
+        assertTrue(archiver.maxConcurrentCalls.get() <= 3, "The concurrency limit should never be exceeded");
+    }
+
+    // Test that a failing archiver is reported as error without stopping the batch run.
+    @Test
+    void whenArchiverFailsInBatch_thenReportErrorAndContinue() {
+        FakeArchiver failing = new FakeArchiver("Failing", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                throw new ArchiverException("failed: " + url);
+            }
+        };
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(createFileModel("test.txt", 5), List.of(failing, new FakeArchiver("Fake", 0)), listener);
+
+        assertEquals(5, listener.errors.size());
+        assertEquals(5, listener.results.size());
+        listener.results.values().forEach(result -> assertEquals(1, result.archivedUrls().size()));
+    }
+
+    // Test that an archiver which is unavailable at the start of the batch run is reported in every result.
+    @Test
+    void whenArchiverUnavailableInBatch_thenReportUnavailableForEveryUrl() {
+        FakeArchiver unavailable = new FakeArchiver("Unavailable", 0) {
+            @Override
+            public boolean isAvailable() {
+                return false;
+            }
+        };
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(createFileModel("test.txt", 3), List.of(unavailable), listener);
+
+        assertEquals(0, unavailable.calls.get());
+        listener.results.values().forEach(result -> {
+            assertTrue(result.archivedUrls().isEmpty());
+            assertEquals(List.of("Unavailable"), result.unavailableArchivers());
+        });
+    }
+
+    // Test that URLs archived recently are taken from the cache instead of calling the archiver again,
+    // both in batch runs and for single URLs.
+    @Test
+    void whenArchivedRecently_thenUseCachedArchivedUrl() throws ArchiverException {
+        FakeArchiver archiver = new FakeArchiver("Fake", 0);
+        manager.setArchiveResultCache(new ArchiveResultCache(Path.of("archive_cache.json"), Duration.ofHours(1)));
+        FileModel fileModel = createFileModel("test.txt", 5);
+
+        manager.archiveAll(fileModel, List.of(archiver), new RecordingListener());
+        RecordingListener listener = new RecordingListener();
+        manager.archiveAll(fileModel, List.of(archiver), listener);
+        ArchiverResult result = manager.archive("https://example.com/test.txt/0", List.of(archiver));
+
+        assertEquals(5, archiver.calls.get(), "Every URL should be archived only once");
+        listener.results.forEach((url, batchResult) -> assertEquals(List.of("archived:" + url), batchResult.archivedUrls()));
+        assertEquals(List.of("archived:https://example.com/test.txt/0"), result.archivedUrls());
+    }
+
+    // Test that a throttled request pauses the rate limiter of its service, while the other services continue.
+    @Test
+    void whenArchiverThrottled_thenPauseItsRateLimiter() throws ArchiverException {
+        URLArchiver throttledArchiver = new FakeArchiver("Throttled", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                throw new ArchiverThrottledException("Too many requests: 429", Duration.ofHours(1));
+            }
+        };
+        FakeArchiver otherArchiver = new FakeArchiver("Other", 0);
+        manager.setRateLimiter("Throttled", new RateLimiter(1, 0, Duration.ofSeconds(30)));
+
+        assertThrows(ArchiverThrottledException.class,
+                () -> manager.archive("https://example.com", List.of(throttledArchiver)));
+        ArchiverResult result = manager.archive("https://example.com", List.of(otherArchiver));
+
+        assertTrue(manager.getRateLimiter("Throttled").isPaused(), "The throttled service should be paused");
+        assertFalse(manager.getRateLimiter("Other").isPaused(), "The other services should continue");
+        assertEquals(List.of("archived:https://example.com"), result.archivedUrls());
+    }
+
+    // Test that a URL failing with a transient error is archived again according to the retry policy.
+    @Test
+    void whenArchiverFailsTransiently_thenRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        URLArchiver flakyArchiver = new FakeArchiver("Flaky", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new ArchiverTransientException("Server error 503");
+                }
+                return "archived:" + url;
+            }
+        };
+        manager.setRetryPolicy(new RetryPolicy(2, Duration.ZERO, Duration.ZERO));
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(createFileModel("test.txt", 1), List.of(flakyArchiver), listener);
+
+        assertEquals(2, attempts.get());
+        assertTrue(listener.errors.isEmpty(), "A recovered URL should not be reported as error");
+        assertEquals(List.of("archived:https://example.com/test.txt/0"),
+                listener.results.get("https://example.com/test.txt/0").archivedUrls());
+        assertEquals(1, manager.getRetryPolicy().getMetrics().getRecovered());
+    }
+
+    // Test that the availability of an archiver is cached instead of being checked before every URL.
+    @Test
+    void whenArchiveCalledRepeatedly_thenCheckAvailabilityOnce() throws ArchiverException {
+        AtomicInteger checks = new AtomicInteger();
+        FakeArchiver archiver = new FakeArchiver("Fake", 0) {
+            @Override
+            public boolean isAvailable() {
+                checks.incrementAndGet();
+                return true;
+            }
+        };
+
+        for (int i = 0; i < 5; i++) {
+            manager.archive("https://example.com/" + i, List.of(archiver));
+        }
+
+        assertEquals(5, archiver.calls.get());
+        assertEquals(1, checks.get(), "The availability should be checked only once");
+    }
+
+    // Test that an archiver failing repeatedly is not called anymore once its circuit breaker is open.
+    @Test
+    void whenArchiverFailsRepeatedly_thenOpenCircuitAndSkipIt() {
+        AtomicInteger attempts = new AtomicInteger();
+        URLArchiver failingArchiver = new FakeArchiver("Failing", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                attempts.incrementAndGet();
+                throw new ArchiverTransientException("Server error 502");
+            }
+        };
+        manager.setCircuitBreaker("Failing", new CircuitBreaker(Duration.ofMinutes(1), 2, Duration.ofMinutes(1)));
+        manager.setConcurrencyLimit("Failing", 1);
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(createFileModel("test.txt", 5), List.of(failingArchiver), listener);
+
+        assertEquals(2, attempts.get(), "The archiver should not be called after the circuit opened");
+        assertEquals(5, listener.errors.size());
+        assertFalse(manager.isAvailable(failingArchiver));
+    }
+
+    // Test that a probe of an open circuit that ends with a permanent error closes the circuit, as the service answered.
+    @Test
+    void whenProbeFailsPermanently_thenCloseCircuit() {
+        AtomicInteger attempts = new AtomicInteger();
+        URLArchiver flakyArchiver = new FakeArchiver("Flaky", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new ArchiverTransientException("Server error 502");
+                }
+                throw new ArchiverException("Blocked URL");
+            }
+        };
+        manager.setCircuitBreaker("Flaky", new CircuitBreaker(Duration.ofMinutes(1), 1, Duration.ofMillis(150)));
+        // One request every 200 milliseconds, so the second URL probes the service after the open duration
+        manager.setRateLimiter("Flaky", new RateLimiter(1, 300, Duration.ofSeconds(1)));
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveAll(createFileModel("test.txt", 2), List.of(flakyArchiver), listener);
+
+        assertEquals(2, attempts.get());
+        assertEquals(CircuitBreaker.State.CLOSED, manager.getCircuitBreaker("Flaky").getState());
+    }
+
+    // Test that archiving asynchronously runs all archivers at the same time and yields one outcome per archiver.
+    @Test
+    void whenArchiveAsyncCalled_thenRunArchiversInParallel() throws Exception {
+        FakeArchiver first = new FakeArchiver("First", 300);
+        FakeArchiver second = new FakeArchiver("Second", 300);
+
+        long start = System.nanoTime();
+        List<ArchiveOutcome> outcomes = manager.archiveAsync("https://example.com", List.of(first, second), null)
+                .get(5, TimeUnit.SECONDS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(List.of("First", "Second"), outcomes.stream().map(ArchiveOutcome::serviceName).toList());
+        for (ArchiveOutcome outcome : outcomes) {
+            assertEquals(ArchiveOutcome.Status.ARCHIVED, outcome.status());
+            assertEquals("archived:https://example.com", outcome.archivedUrl());
+            assertTrue(outcome.duration().toMillis() >= 300);
+        }
+        assertTrue(elapsed.toMillis() < 550, "The archivers should not wait for each other");
+    }
+
+    // Test that a failing or unavailable archiver yields its own outcome without affecting the others.
+    @Test
+    void whenArchiverFailsAsync_thenReportFailedOutcome() throws Exception {
+        URLArchiver failingArchiver = new FakeArchiver("Failing", 0) {
+            @Override
+            public String archiveURL(String url) throws ArchiverException {
+                throw new ArchiverException("Blocked URL");
+            }
+        };
+        URLArchiver unavailableArchiver = new FakeArchiver("Unavailable", 0) {
+            @Override
+            public boolean isAvailable() {
+                return false;
+            }
+        };
+        FakeArchiver archiver = new FakeArchiver("Fake", 0);
+
+        List<ArchiveOutcome> outcomes = manager.archiveAsync("https://example.com",
+                List.of(failingArchiver, unavailableArchiver, archiver), null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ArchiveOutcome.Status.FAILED, outcomes.get(0).status());
+        assertEquals("Blocked URL", outcomes.get(0).error().getMessage());
+        assertEquals(ArchiveOutcome.Status.UNAVAILABLE, outcomes.get(1).status());
+        assertEquals(ArchiveOutcome.Status.ARCHIVED, outcomes.get(2).status());
+    }
+
+    // Test that archiving asynchronously uses and fills the cache like the synchronous methods.
+    @Test
+    void whenArchiveAsyncCalledTwice_thenUseCachedArchivedUrl() throws Exception {
+        FakeArchiver archiver = new FakeArchiver("Fake", 0);
+        manager.setArchiveResultCache(new ArchiveResultCache(Path.of("archive_cache.json"), Duration.ofHours(1)));
+
+        manager.archiveAsync("https://example.com", List.of(archiver), null).get(5, TimeUnit.SECONDS);
+        ArchiveOutcome outcome = manager.archiveAsync("https://example.com", List.of(archiver), null)
+                .get(5, TimeUnit.SECONDS).getFirst();
+
+        assertEquals(1, archiver.calls.get());
+        assertEquals(ArchiveOutcome.Status.CACHED, outcome.status());
+        assertEquals("archived:https://example.com", outcome.archivedUrl());
+    }
+
+    // Test that archiving a URL with all services at the same time only waits for the slowest service
+    // and combines the results in the order of the archivers.
+    @Test
+    void whenArchiveConcurrentlyCalled_thenWaitForSlowestArchiverOnly() {
+        FakeArchiver first = new FakeArchiver("First", 300);
+        FakeArchiver second = new FakeArchiver("Second", 300);
+        RecordingListener listener = new RecordingListener();
+
+        long start = System.nanoTime();
+        ArchiverResult result = manager.archiveConcurrently("https://example.com", List.of(first, second), null, listener);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(List.of("archived:https://example.com", "archived:https://example.com"), result.archivedUrls());
+        assertTrue(elapsed.toMillis() < 550, "The archivers should not wait for each other");
+        assertEquals(result, listener.results.get("https://example.com"));
+        assertTrue(listener.errors.isEmpty());
+    }
+
+    // Test that a service exceeding its timeout is reported as error, while the results of the others are kept.
+    @Test
+    void whenArchiverExceedsTimeout_thenReportErrorAndKeepOtherResults() {
+        FakeArchiver slowArchiver = new FakeArchiver("Slow", 2000);
+        FakeArchiver fastArchiver = new FakeArchiver("Fast", 0);
+        manager.setArchiveTimeout("Slow", Duration.ofMillis(100));
+        RecordingListener listener = new RecordingListener();
+
+        long start = System.nanoTime();
+        ArchiverResult result = manager.archiveConcurrently("https://example.com", List.of(slowArchiver, fastArchiver), null, listener);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(List.of("archived:https://example.com"), result.archivedUrls());
+        assertTrue(elapsed.toMillis() < 1500, "The slow archiver should not be waited for after its timeout");
+        assertTrue(listener.errors.get("https://example.com").getMessage().contains("Slow"));
+        assertThrows(IllegalArgumentException.class, () -> manager.setArchiveTimeout("Slow", Duration.ZERO));
+    }
+
+    // Test that a service exceeding its timeout is cancelled, so its thread stops and its permit is released.
+    @Test
+    void whenArchiverExceedsTimeout_thenCancelArchiverAndReleasePermit() throws InterruptedException {
+        FakeArchiver slowArchiver = new FakeArchiver("Slow", 5000);
+        manager.setArchiveTimeout("Slow", Duration.ofMillis(100));
+        manager.setConcurrencyLimit("Slow", 1);
+        RecordingListener listener = new RecordingListener();
+
+        manager.archiveConcurrently("https://example.com/1", List.of(slowArchiver), null, listener);
+        manager.archiveConcurrently("https://example.com/2", List.of(slowArchiver), null, listener);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (slowArchiver.runningCalls.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(2, slowArchiver.calls.get(), "The second URL should not wait for the permit of the first");
+        assertEquals(0, slowArchiver.runningCalls.get(), "The cancelled archivers should be interrupted");
+        assertEquals(2, listener.errors.size());
+    }
+
+    // Test that an invalid concurrency limit is rejected.
+    @Test
+    void whenConcurrencyLimitInvalid_thenThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> manager.setConcurrencyLimit("Fake", 0));
+        assertEquals(ArchiverManager.DEFAULT_CONCURRENCY_LIMIT, manager.getConcurrencyLimit("Fake"));
+    }
+
+    private FileModel createFileModel(String fileName, int urlCount) {
+        FileModel fileModel = new FileModel(Path.of(fileName), "text/plain");
+        Set<String> urls = IntStream.range(0, urlCount)
+                .mapToObj(i -> "https://example.com/" + fileName + "/" + i)
+                .collect(Collectors.toSet());
+        fileModel.addExtractedURLs(urls);
+        return fileModel;
+    }
+
+    /**
+     * Archiver that returns a fake archived URL after an optional delay and records how many calls ran at once.
+     */
+    private static class FakeArchiver implements URLArchiver {
+        private final String serviceName;
+        private final long delayMillis;
+        private final AtomicInteger runningCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FakeArchiver(String serviceName, long delayMillis) {
+            this.serviceName = serviceName;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public String archiveURL(String url) throws ArchiverException {
+            calls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(runningCalls.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                runningCalls.decrementAndGet();
+            }
+            return "archived:" + url;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        @Override
+        public boolean isAutomated() {
+            return true;
+        }
+    }
+
+    /**
+     * Listener that records all results and errors of a batch run.
+     */
+    private static class RecordingListener implements ArchiverResultListener {
+        private final Map<String, ArchiverResult> results = new ConcurrentHashMap<>();
+        private final Map<String, ArchiverException> errors = new ConcurrentHashMap<>();
+
+        @Override
+        public void onResult(FileModel fileModel, String extractedURL, ArchiverResult result) {
+            results.put(extractedURL, result);
+        }
+
+        @Override
+        public void onError(FileModel fileModel, String extractedURL, URLArchiver archiver, ArchiverException exception) {
+            errors.put(extractedURL, exception);
+        }
+    }
 }
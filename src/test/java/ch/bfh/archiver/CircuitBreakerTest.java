@@ -0,0 +1,147 @@
+package ch.bfh.archiver;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CircuitBreaker} class.
+ * The time is read from a clock that the tests move forward, so no test has to wait.
+ */
+class CircuitBreakerTest {
+    private final MovableClock clock = new MovableClock();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(Duration.ofSeconds(60), 3, Duration.ofSeconds(30), clock);
+    private final AtomicInteger checks = new AtomicInteger();
+
+    /**
+     * The availability should only be checked again once the cached result expired.
+     */
+    @Test
+    void availabilityIsCachedForTtl() {
+        assertTrue(circuitBreaker.isAvailable(this::available));
+        clock.advance(Duration.ofSeconds(59));
+        assertTrue(circuitBreaker.isAvailable(this::available));
+        assertEquals(1, checks.get(), "The cached availability should be reused");
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(circuitBreaker.isAvailable(this::available));
+        assertEquals(2, checks.get(), "The expired availability should be checked again");
+    }
+
+    /**
+     * Consecutive failures should open the circuit, so the service is neither checked nor called.
+     */
+    @Test
+    void consecutiveFailuresOpenCircuit() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.isAvailable(this::available));
+        assertEquals(0, checks.get(), "An open circuit should not check the service");
+    }
+
+    /**
+     * A failed check below the failure threshold should not be cached, so the service is checked again.
+     */
+    @Test
+    void failedCheckIsNotCachedBelowThreshold() {
+        assertFalse(circuitBreaker.isAvailable(() -> false));
+        assertTrue(circuitBreaker.isAvailable(this::available));
+        assertEquals(1, checks.get(), "The failed check should not be reused");
+    }
+
+    /**
+     * A success should reset the count of consecutive failures.
+     */
+    @Test
+    void successResetsFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * After the open duration, a single probe should be let through, closing the circuit if it succeeds.
+     */
+    @Test
+    void halfOpenCircuitLetsOneProbeThrough() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        assertTrue(circuitBreaker.allowRequest(), "The first request should probe the service");
+        assertFalse(circuitBreaker.allowRequest(), "Further requests should wait for the probe");
+
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    /**
+     * A failed probe should open the circuit for another open duration.
+     */
+    @Test
+    void failedProbeOpensCircuitAgain() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertFalse(circuitBreaker.isAvailable(() -> false));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(circuitBreaker.isAvailable(this::available));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private boolean available() {
+        checks.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Clock whose time only changes when it is moved forward.
+     */
+    private static class MovableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
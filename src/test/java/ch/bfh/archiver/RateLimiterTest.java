@@ -0,0 +1,125 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.ConfigModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RateLimiter} class.
+ * The time is read from a counter that the tests move forward, so no test has to wait.
+ */
+class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * A full bucket should allow a burst of requests, after which requests are spread at the configured rate.
+     */
+    @Test
+    void reserveAllowsBurstThenLimitsRate() {
+        RateLimiter rateLimiter = new RateLimiter(2, 60, Duration.ofSeconds(30), now::get);
+
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.reserve(), "The third request should wait for a token");
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(0, rateLimiter.reserve());
+    }
+
+    /**
+     * Without a rate, only the requests in flight should be limited.
+     */
+    @Test
+    void reserveWithoutRateNeverWaits() {
+        RateLimiter rateLimiter = new RateLimiter(1, 0, Duration.ofSeconds(30), now::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+    }
+
+    /**
+     * A throttled request should pause the requests for the time the service asked for.
+     */
+    @Test
+    void onThrottledPausesForRetryAfter() {
+        RateLimiter rateLimiter = new RateLimiter(4, 60, Duration.ofSeconds(30), now::get);
+
+        rateLimiter.onThrottled(Optional.of(Duration.ofSeconds(5)));
+
+        assertTrue(rateLimiter.isPaused());
+        assertEquals(TimeUnit.SECONDS.toNanos(5), rateLimiter.reserve());
+        advance(Duration.ofSeconds(5));
+        assertFalse(rateLimiter.isPaused());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.reserve(), "No burst should start right after the pause");
+    }
+
+    /**
+     * Without a Retry-After, the pause should double with every throttled request and reset after a success.
+     */
+    @Test
+    void onThrottledBacksOffExponentially() {
+        RateLimiter rateLimiter = new RateLimiter(1, 0, Duration.ofSeconds(30), now::get);
+
+        rateLimiter.onThrottled(Optional.empty());
+        assertEquals(TimeUnit.SECONDS.toNanos(30), rateLimiter.reserve());
+        advance(Duration.ofSeconds(30));
+
+        rateLimiter.onThrottled(Optional.empty());
+        assertEquals(TimeUnit.SECONDS.toNanos(60), rateLimiter.reserve());
+        advance(Duration.ofSeconds(60));
+
+        rateLimiter.onSuccess();
+        rateLimiter.onThrottled(Optional.empty());
+        assertEquals(TimeUnit.SECONDS.toNanos(30), rateLimiter.reserve());
+    }
+
+    /**
+     * A permit should be held until it is closed, and closing it twice should release it only once.
+     */
+    @Test
+    void acquireLimitsRequestsInFlight() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(1);
+
+        RateLimiter.Permit permit = rateLimiter.acquire();
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try (RateLimiter.Permit ignored = rateLimiter.acquire()) {
+                // The permit is released right away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertFalse(waiting.join(Duration.ofMillis(100)), "The second request should wait for the first one");
+
+        permit.close();
+        permit.close();
+        assertTrue(waiting.join(Duration.ofSeconds(5)));
+        try (RateLimiter.Permit ignored = rateLimiter.acquire()) {
+            assertNotNull(ignored);
+        }
+    }
+
+    /**
+     * The rate of a service should be taken from the configuration, services without an entry are not limited.
+     */
+    @Test
+    void fromConfigUsesRateLimits() {
+        ConfigModel config = new ConfigModel();
+        config.setRateLimits(Map.of("WaybackMachine", 6));
+
+        assertEquals(6, RateLimiter.fromConfig(config, "WaybackMachine", 4).getRequestsPerMinute());
+        assertEquals(0, RateLimiter.fromConfig(config, "ArchiveToday", 1).getRequestsPerMinute());
+        assertEquals(1, RateLimiter.fromConfig(config, "ArchiveToday", 1).getMaxInFlight());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,144 @@
+package ch.bfh.archiver;
+
+import ch.bfh.exceptions.ArchiverException;
+import ch.bfh.exceptions.ArchiverThrottledException;
+import ch.bfh.exceptions.ArchiverTransientException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RetryPolicy} class.
+ * The delays are recorded instead of waited for, and the random factor of the jitter is fixed.
+ */
+class RetryPolicyTest {
+    private final List<Duration> delays = new ArrayList<>();
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, Duration.ofSeconds(2), Duration.ofSeconds(5), () -> 0.5, delays::add);
+
+    /**
+     * A call failing with transient errors should be retried until it succeeds.
+     */
+    @Test
+    void transientErrorIsRetried() throws ArchiverException {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ArchiverTransientException("Server error 502");
+            }
+            return "archived";
+        });
+
+        assertEquals("archived", result);
+        assertEquals(3, attempts.get());
+        assertEquals(List.of(Duration.ofSeconds(1), Duration.ofSeconds(2)), delays);
+        assertEquals(2, retryPolicy.getMetrics().getRetries());
+        assertEquals(1, retryPolicy.getMetrics().getRecovered());
+    }
+
+    /**
+     * A call should not be retried more often than the budget allows.
+     */
+    @Test
+    void lastErrorIsThrownWhenAttemptsAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ArchiverTransientException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ArchiverTransientException("Server error 503");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, retryPolicy.getMetrics().getExhausted());
+    }
+
+    /**
+     * An asynchronous call failing with a transient error should be started again until it succeeds.
+     */
+    @Test
+    void transientErrorOfAsyncCallIsRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.executeAsync(() -> attempts.incrementAndGet() < 2
+                ? CompletableFuture.<String>failedFuture(new ArchiverTransientException("Server error 502"))
+                : CompletableFuture.completedFuture("archived")).get();
+
+        assertEquals("archived", result);
+        assertEquals(2, attempts.get());
+        assertEquals(List.of(Duration.ofSeconds(1)), delays);
+        assertEquals(1, retryPolicy.getMetrics().getRecovered());
+    }
+
+    /**
+     * An asynchronous call failing with an error that is not transient should fail right away with that error.
+     */
+    @Test
+    void permanentErrorOfAsyncCallIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = retryPolicy.executeAsync(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new ArchiverException("Error in Wayback Machine job: blocked-url"));
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertEquals(ArchiverException.class, exception.getCause().getClass());
+        assertEquals(1, attempts.get());
+        assertTrue(delays.isEmpty());
+    }
+
+    /**
+     * Errors that are not transient should be thrown right away.
+     */
+    @Test
+    void permanentErrorIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ArchiverException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ArchiverException("Error in Wayback Machine job: blocked-url");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertTrue(delays.isEmpty());
+        assertEquals(0, retryPolicy.getMetrics().getRetries());
+    }
+
+    /**
+     * A throttled call should wait at least as long as the service asked for.
+     */
+    @Test
+    void throttledErrorWaitsForRetryAfter() throws ArchiverException {
+        AtomicInteger attempts = new AtomicInteger();
+
+        retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ArchiverThrottledException("Too many requests: 429", Duration.ofSeconds(30));
+            }
+            return "archived";
+        });
+
+        assertEquals(List.of(Duration.ofSeconds(30)), delays);
+    }
+
+    /**
+     * The upper bound of the delay should double with every retry, but never exceed the maximum.
+     */
+    @Test
+    void backoffGrowsExponentiallyWithJitter() {
+        assertEquals(Duration.ofSeconds(1), retryPolicy.backoff(1));
+        assertEquals(Duration.ofSeconds(2), retryPolicy.backoff(2));
+        assertEquals(Duration.ofMillis(2500), retryPolicy.backoff(3));
+        assertEquals(Duration.ofMillis(2500), retryPolicy.backoff(30));
+
+        RetryPolicy noJitter = new RetryPolicy(3, Duration.ofSeconds(2), Duration.ofSeconds(5), () -> 0, delays::add);
+        assertEquals(Duration.ZERO, noJitter.backoff(2));
+    }
+}
@@ -0,0 +1,65 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.ConfigModel;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link WaybackMachineArchiver} class.
+ * A local stub server replaces the save and status endpoints of the Wayback Machine.
+ */
+class WaybackMachineArchiverTest {
+    private static final String URL = "https://example.com";
+
+    private HttpServer server;
+    private WaybackMachineArchiver archiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> respond(exchange, "{\"url\":\"" + URL + "\",\"job_id\":\"job-1\"}"));
+        server.createContext("/status/", exchange -> respond(exchange, "{\"job_id\":\"job-1\",\"status\":\"pending\"}"));
+        server.start();
+
+        String apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        archiver = new WaybackMachineArchiver(new ConfigModel(), null, HttpClient.newHttpClient(), apiUrl);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * A submitted URL should yield a pending outcome holding the id of its job, also without a controller
+     * tracking the pending jobs.
+     */
+    @Test
+    void submittedUrlIsPendingWithoutController() throws Exception {
+        ArchiveOutcome outcome = archiver.archiveAsync(URL, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(ArchiveOutcome.Status.PENDING, outcome.status());
+        assertEquals("job-1", outcome.jobId());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
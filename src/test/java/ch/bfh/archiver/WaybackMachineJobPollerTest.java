@@ -0,0 +1,193 @@
+package ch.bfh.archiver;
+
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.FileModel;
+import ch.bfh.model.archiving.PendingWaybackMachineJob;
+import ch.bfh.model.archiving.WaybackMachineJob;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link WaybackMachineJobPoller} class.
+ * A local stub server replaces the status endpoint of the Wayback Machine and answers with prepared responses per job.
+ */
+class WaybackMachineJobPollerTest {
+    private static final String URL = "https://example.com";
+
+    private final Map<String, Deque<StubResponse>> responses = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private WaybackMachineJobPoller poller;
+    private FileModel fileModel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/status/", this::handleStatus);
+        server.start();
+
+        String apiUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        WaybackMachineArchiver archiver = new WaybackMachineArchiver(new ConfigModel(), null, HttpClient.newHttpClient(), apiUrl);
+        poller = new WaybackMachineJobPoller(archiver, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        fileModel = new FileModel(Path.of("test.txt"), "text/plain");
+        fileModel.addExtractedURLs(Set.of(URL));
+        fileModel.addArchivedURL(URL, "pending");
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+        server.stop(0);
+    }
+
+    /**
+     * A job that becomes successful should be pushed into its file, reported to the completion listener and removed
+     * from the pending jobs, even if the service asks to retry later in between.
+     */
+    @Test
+    void completedJobIsPushedIntoFile() throws InterruptedException {
+        respond("job-1",
+                new StubResponse(429, "", "0"),
+                new StubResponse(200, statusBody("job-1", "pending"), null),
+                new StubResponse(200, statusBody("job-1", "success"), null));
+
+        Map<String, String> completed = new ConcurrentHashMap<>();
+        poller.setCompletionListener(completed::put);
+        poller.addJob(createJob("job-1"));
+
+        waitUntil(() -> poller.getPendingJobs().isEmpty());
+        assertEquals(List.of("https://web.archive.org/web/20240101000000/" + URL), fileModel.getUrlPairs().getFirst().getArchivedURLs());
+        assertEquals(Map.of(URL, "https://web.archive.org/web/20240101000000/" + URL), completed);
+    }
+
+    /**
+     * A job that already succeeded when it is added should be completed right away without being polled.
+     */
+    @Test
+    void successfulJobIsCompletedWhenAdded() {
+        PendingWaybackMachineJob job = createJob("job-6");
+        job.getJob().setStatus("success");
+        job.getJob().setOriginal_url(URL);
+        job.getJob().setTimestamp("20240101000000");
+
+        Map<String, String> completed = new ConcurrentHashMap<>();
+        poller.setCompletionListener(completed::put);
+        poller.addJob(job);
+
+        assertTrue(poller.getPendingJobs().isEmpty());
+        assertEquals(List.of("https://web.archive.org/web/20240101000000/" + URL), fileModel.getUrlPairs().getFirst().getArchivedURLs());
+        assertEquals(Map.of(URL, "https://web.archive.org/web/20240101000000/" + URL), completed);
+    }
+
+    /**
+     * A failed job should keep its error status and stay in the pending jobs without being polled again.
+     * It should be reported as failed.
+     */
+    @Test
+    void failedJobIsNotPolledAgain() throws InterruptedException {
+        respond("job-2", new StubResponse(200, statusBody("job-2", "error"), null));
+
+        PendingWaybackMachineJob job = createJob("job-2");
+        poller.addJob(job);
+
+        waitUntil(() -> "error".equals(job.getJob().getStatus()));
+        Thread.sleep(100);
+        assertEquals(List.of(job), poller.getPendingJobs());
+        assertEquals(List.of(job), poller.getFailedJobs());
+        assertTrue(responses.get("job-2").isEmpty());
+        assertEquals(List.of("pending"), fileModel.getUrlPairs().getFirst().getArchivedURLs());
+    }
+
+    /**
+     * Waiting for the jobs should return as soon as no job is pending anymore, and time out while a job is pending.
+     */
+    @Test
+    void awaitCompletionWaitsForPendingJobs() throws InterruptedException {
+        respond("job-3",
+                new StubResponse(200, statusBody("job-3", "pending"), null),
+                new StubResponse(200, statusBody("job-3", "success"), null));
+        respond("job-4", new StubResponse(200, statusBody("job-4", "error"), null));
+
+        poller.addJob(createJob("job-3"));
+        poller.addJob(createJob("job-4"));
+
+        assertTrue(poller.awaitCompletion(Duration.ofSeconds(5)));
+        assertEquals(1, poller.getPendingJobs().size());
+
+        respond("job-5");
+        poller.addJob(createJob("job-5"));
+        assertFalse(poller.awaitCompletion(Duration.ofMillis(100)));
+    }
+
+    /**
+     * The backoff should double with every poll, but never exceed the maximum.
+     */
+    @Test
+    void nextBackoffGrowsExponentially() {
+        assertEquals(Duration.ofMillis(20), poller.nextBackoff(Duration.ofMillis(10)));
+        assertEquals(Duration.ofMillis(50), poller.nextBackoff(Duration.ofMillis(40)));
+    }
+
+    private PendingWaybackMachineJob createJob(String jobId) {
+        WaybackMachineJob job = new WaybackMachineJob();
+        job.setJob_id(jobId);
+        job.setStatus("pending");
+        return new PendingWaybackMachineJob(URL, job, fileModel);
+    }
+
+    private void respond(String jobId, StubResponse... stubResponses) {
+        responses.put(jobId, new ConcurrentLinkedDeque<>(List.of(stubResponses)));
+    }
+
+    private static String statusBody(String jobId, String status) {
+        return "{\"job_id\":\"" + jobId + "\",\"status\":\"" + status + "\",\"original_url\":\"" + URL + "\",\"timestamp\":\"20240101000000\"}";
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        String jobId = exchange.getRequestURI().getPath().substring("/status/".length());
+        StubResponse response = responses.getOrDefault(jobId, new ConcurrentLinkedDeque<>()).poll();
+        if (response == null) {
+            response = new StubResponse(404, "", null);
+        }
+        if (response.retryAfter() != null) {
+            exchange.getResponseHeaders().add("Retry-After", response.retryAfter());
+        }
+        byte[] body = response.body().getBytes();
+        exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition was not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private record StubResponse(int status, String body, String retryAfter) {
+    }
+}
@@ -4,6 +4,12 @@ import ch.bfh.helper.URLExtractor;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 /**
@@ -95,4 +101,59 @@ class URLExtractorTest {
         assertTrue(extractedURLs.contains("https://example.com"), "Should extract URL even when adjacent to other text");
     }
 
+    @Test
+    void extractURLsFromReaderMatchesStringExtraction() throws IOException {
+        // Test to verify that scanning a reader in chunks finds exactly the URLs found in the whole text,
+        // including URLs straddling the end of a chunk.
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            text.append(random.nextBoolean() ? "word " : "(see https://example.com/path/" + i + "?q=" + i + ").\n");
+        }
+        text.append("https://example.com/end");
+
+        List<String> expected = new ArrayList<>();
+        URLExtractor.extractURLs((CharSequence) text, expected::add);
+        List<String> actual = new ArrayList<>();
+        URLExtractor.extractURLs(new TrickleReader(text.toString(), 7), actual::add);
+
+        assertEquals(expected, actual);
+        assertEquals(URLExtractor.extractURLs(text.toString()), new HashSet<>(actual));
+    }
+
+    @Test
+    void extractURLsFromReaderWithLongToken() throws IOException {
+        // Test to verify that a URL longer than the chunk size is extracted completely.
+        String longURL = "https://example.com/" + "a".repeat(20000);
+        List<String> urls = new ArrayList<>();
+        URLExtractor.extractURLs(new StringReader("start " + longURL + " end"), urls::add);
+
+        assertEquals(List.of(longURL), urls);
+    }
+
+    @Test
+    void extractURLsFromEmptyReader() throws IOException {
+        // Test to verify that an empty reader yields no URLs.
+        List<String> urls = new ArrayList<>();
+        URLExtractor.extractURLs(new StringReader(""), urls::add);
+
+        assertTrue(urls.isEmpty(), "No URLs should be found in an empty reader");
+    }
+
+    /**
+     * Reader that returns at most a few characters per read, to force many chunk boundaries.
+     */
+    private static class TrickleReader extends StringReader {
+        private final int maxRead;
+
+        TrickleReader(String text, int maxRead) {
+            super(text);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, maxRead));
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.BatchArgumentException;
+import ch.bfh.model.BatchOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BatchArgumentParser} class.
+ */
+public class BatchArgumentParserTest {
+
+    @BeforeEach
+    void setup() {
+        I18n.getResourceBundle(Locale.ENGLISH);
+    }
+
+    /**
+     * The batch mode should only be detected if the batch flag is present.
+     */
+    @Test
+    public void testIsBatchMode() {
+        assertTrue(BatchArgumentParser.isBatchMode(new String[]{"--batch", "docs"}));
+        assertFalse(BatchArgumentParser.isBatchMode(new String[]{"docs"}));
+        assertFalse(BatchArgumentParser.isBatchMode(new String[]{}));
+    }
+
+    /**
+     * Options that are not given should use their default values.
+     */
+    @Test
+    public void testParse_Defaults() throws BatchArgumentException {
+        BatchOptions options = BatchArgumentParser.parse(new String[]{"--batch", "docs"});
+
+        assertEquals("docs", options.inputPath());
+        assertEquals(BatchArgumentParser.DEFAULT_ARCHIVERS, options.archiverNames());
+        assertNull(options.csvPath());
+        assertFalse(options.exportBib());
+        assertEquals(BatchArgumentParser.DEFAULT_WAIT_TIMEOUT, options.waitTimeout());
+    }
+
+    /**
+     * All options should be parsed independent of their order.
+     */
+    @Test
+    public void testParse_AllOptions() throws BatchArgumentException {
+        BatchOptions options = BatchArgumentParser.parse(new String[]{
+                "--archive", "both", "--export", "out.csv", "--batch", "docs", "--export-bib", "--wait", "30"});
+
+        assertEquals("docs", options.inputPath());
+        assertEquals(List.of("WaybackMachine", "ArchiveToday"), options.archiverNames());
+        assertEquals("out.csv", options.csvPath());
+        assertTrue(options.exportBib());
+        assertEquals(Duration.ofSeconds(30), options.waitTimeout());
+    }
+
+    /**
+     * Invalid arguments should be rejected with a {@link BatchArgumentException}.
+     */
+    @Test
+    public void testParse_InvalidArguments() {
+        assertThrows(BatchArgumentException.class, () -> BatchArgumentParser.parse(new String[]{"--batch"}));
+        assertThrows(BatchArgumentException.class, () -> BatchArgumentParser.parse(new String[]{"--batch", "--export", "out.csv"}));
+        assertThrows(BatchArgumentException.class, () -> BatchArgumentParser.parse(new String[]{"--batch", "docs", "--archive", "other"}));
+        assertThrows(BatchArgumentException.class, () -> BatchArgumentParser.parse(new String[]{"--batch", "docs", "--wait", "-1"}));
+        assertThrows(BatchArgumentException.class, () -> BatchArgumentParser.parse(new String[]{"--batch", "docs", "--unknown"}));
+    }
+}
@@ -2,7 +2,9 @@ package ch.bfh.helper;
 
 import ch.bfh.exceptions.ConfigFileException;
 import ch.bfh.model.ConfigModel;
+import ch.bfh.model.PdfExtractionStrategy;
 import ch.bfh.model.SupportedBrowsers;
+import ch.bfh.model.URLCanonicalizationRule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -11,6 +13,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -110,4 +113,60 @@ class ConfigFileHelperTest {
         assertEquals(SupportedBrowsers.UNSUPPORTED, browser);
     }
 
+
+    /**
+     * Verifies that the HTTP client settings survive a save and read round trip.
+     */
+    @Test
+    void saveAndReadHttpClientSettings() throws ConfigFileException {
+        ConfigModel config = new ConfigModel();
+        config.setHttp2Enabled(false);
+        config.setConnectTimeoutSeconds(5);
+        config.setKeepAliveSeconds(60);
+
+        ConfigFileHelper.save(config);
+        ConfigModel readConfig = ConfigFileHelper.read();
+
+        assertFalse(readConfig.isHttp2Enabled());
+        assertEquals(5, readConfig.getConnectTimeoutSeconds());
+        assertEquals(60, readConfig.getKeepAliveSeconds());
+    }
+
+    /**
+     * Verifies that HTTP client settings missing in the file fall back to their defaults.
+     */
+    @Test
+    void readConfigWithoutHttpClientSettings() throws IOException, ConfigFileException {
+        String jsonContent = "{\"accessKey\":\"testAccessKey\", \"secretKey\":\"testSecretKey\", \"browser\":\"CHROME\"}";
+        Files.writeString(Path.of(validConfigFilePath), jsonContent);
+
+        ConfigModel configModel = ConfigFileHelper.read();
+        assertTrue(configModel.isHttp2Enabled());
+        assertEquals(ConfigModel.DEFAULT_CONNECT_TIMEOUT_SECONDS, configModel.getConnectTimeoutSeconds());
+        assertEquals(ConfigModel.DEFAULT_KEEP_ALIVE_SECONDS, configModel.getKeepAliveSeconds());
+    }
+
+    /**
+     * Verifies that the PDF extraction strategy is read case-insensitively and falls back to the default if unknown.
+     */
+    @Test
+    void readPdfExtractionStrategy() throws IOException, ConfigFileException {
+        Files.writeString(Path.of(validConfigFilePath), "{\"pdfExtractionStrategy\":\"annotations\"}");
+        assertEquals(PdfExtractionStrategy.ANNOTATIONS, ConfigFileHelper.read().getPdfExtractionStrategy());
+
+        Files.writeString(Path.of(validConfigFilePath), "{\"pdfExtractionStrategy\":\"UNKNOWN\"}");
+        assertEquals(ConfigModel.DEFAULT_PDF_EXTRACTION_STRATEGY, ConfigFileHelper.read().getPdfExtractionStrategy());
+    }
+
+    /**
+     * Verifies that the URL canonicalization rules are read case-insensitively and unknown rules are skipped.
+     */
+    @Test
+    void readUrlCanonicalizationRules() throws IOException, ConfigFileException {
+        Files.writeString(Path.of(validConfigFilePath), "{\"urlCanonicalizationRules\":[\"remove_fragment\",\"UNKNOWN\"]}");
+        assertEquals(List.of(URLCanonicalizationRule.REMOVE_FRAGMENT), ConfigFileHelper.read().getUrlCanonicalizationRules());
+
+        Files.writeString(Path.of(validConfigFilePath), "{}");
+        assertEquals(ConfigModel.DEFAULT_URL_CANONICALIZATION_RULES, ConfigFileHelper.read().getUrlCanonicalizationRules());
+    }
 }
@@ -0,0 +1,102 @@
+package ch.bfh.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DirectoryWalker} class.
+ */
+public class DirectoryWalkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates the following tree: a.txt, b.pdf, sub/c.txt, sub/deep/d.txt, skip/e.txt
+     */
+    @BeforeEach
+    void setup() throws IOException {
+        Files.createDirectories(tempDir.resolve("sub/deep"));
+        Files.createDirectories(tempDir.resolve("skip"));
+        for (String file : List.of("a.txt", "b.pdf", "sub/c.txt", "sub/deep/d.txt", "skip/e.txt")) {
+            Files.writeString(tempDir.resolve(file), "https://example.com");
+        }
+    }
+
+    /**
+     * Without filters, all files of all levels should be found.
+     */
+    @Test
+    public void testWalk_AllFiles() throws IOException {
+        assertEquals(Set.of("a.txt", "b.pdf", "sub/c.txt", "sub/deep/d.txt", "skip/e.txt"),
+                walk(new DirectoryWalker(List.of(), List.of(), 0, false)));
+    }
+
+    /**
+     * Include patterns should match the file name in every level, exclude patterns should skip whole subfolders.
+     */
+    @Test
+    public void testWalk_Globs() throws IOException {
+        assertEquals(Set.of("a.txt", "sub/c.txt", "sub/deep/d.txt"),
+                walk(new DirectoryWalker(List.of("*.txt"), List.of("skip"), 0, false)));
+        assertEquals(Set.of("sub/c.txt", "sub/deep/d.txt"),
+                walk(new DirectoryWalker(List.of("sub/**"), List.of(), 0, false)));
+        assertEquals(Set.of("a.txt", "sub/c.txt", "skip/e.txt"),
+                walk(new DirectoryWalker(List.of("*.txt"), List.of("deep"), 0, false)));
+    }
+
+    /**
+     * The maximum depth should limit the visited folder levels.
+     */
+    @Test
+    public void testWalk_MaxDepth() throws IOException {
+        assertEquals(Set.of("a.txt", "b.pdf"), walk(new DirectoryWalker(null, null, 1, false)));
+        assertEquals(Set.of("a.txt", "b.pdf", "sub/c.txt", "skip/e.txt"), walk(new DirectoryWalker(null, null, 2, false)));
+    }
+
+    /**
+     * Symbolic links should only be visited if they are followed, and link loops should not be walked endlessly.
+     */
+    @Test
+    public void testWalk_Symlinks() throws IOException {
+        try {
+            Files.createSymbolicLink(tempDir.resolve("link.txt"), tempDir.resolve("a.txt"));
+            Files.createSymbolicLink(tempDir.resolve("sub/loop"), tempDir);
+        } catch (UnsupportedOperationException | IOException e) {
+            // Creating symbolic links is not permitted on every platform
+            return;
+        }
+
+        Set<String> notFollowed = walk(new DirectoryWalker(List.of(), List.of(), 0, false));
+        assertFalse(notFollowed.contains("link.txt"));
+
+        List<Path> failures = new ArrayList<>();
+        Set<String> followed = new HashSet<>();
+        new DirectoryWalker(List.of(), List.of(), 0, true).walk(tempDir,
+                file -> followed.add(relative(file)), (path, e) -> failures.add(path));
+        assertTrue(followed.contains("link.txt"));
+        assertEquals(List.of(tempDir.resolve("sub/loop")), failures);
+    }
+
+    private Set<String> walk(DirectoryWalker walker) throws IOException {
+        List<Path> files = new ArrayList<>();
+        walker.walk(tempDir, files::add, (path, e) -> fail("Unexpected failure for " + path));
+        return files.stream().map(this::relative).collect(Collectors.toSet());
+    }
+
+    private String relative(Path file) {
+        return tempDir.relativize(file).toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,136 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.ExtractionCacheException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ExtractionCache} class.
+ */
+class ExtractionCacheTest {
+    private static final String SETTINGS = "TextFileReader";
+    private static final Set<String> URLS = Set.of("https://example.com", "https://example.org");
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheFile;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheFile = tempDir.resolve("extraction_cache.json");
+        file = Files.writeString(tempDir.resolve("file.txt"), "https://example.com https://example.org");
+    }
+
+    /**
+     * An unchanged file should be found in the cache, also after saving and loading the cache again.
+     */
+    @Test
+    void unchangedFileIsFound() throws IOException, ExtractionCacheException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        assertTrue(cache.lookup(file, SETTINGS).isEmpty());
+
+        cache.store(file, SETTINGS, URLS);
+        cache.save();
+        ExtractionCache loadedCache = ExtractionCache.load(cacheFile);
+
+        assertEquals(Optional.of(URLS), cache.lookup(file, SETTINGS));
+        assertEquals(Optional.of(URLS), loadedCache.lookup(file, SETTINGS));
+    }
+
+    /**
+     * A file changed without changing its size should be detected by its content hash.
+     */
+    @Test
+    void changedFileIsNotFound() throws IOException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        cache.store(file, SETTINGS, URLS);
+
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "https://example.net https://example.org");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 1000));
+
+        assertTrue(cache.lookup(file, SETTINGS).isEmpty());
+    }
+
+    /**
+     * A file that was only touched should still be found once its content hash is known, as the hash did not change.
+     * The hash is not calculated when the URLs are stored the first time, so the first touch reads the file again.
+     */
+    @Test
+    void touchedFileIsFound() throws IOException, ExtractionCacheException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        cache.store(file, SETTINGS, URLS);
+
+        touch(file);
+        assertTrue(cache.lookup(file, SETTINGS).isEmpty());
+        cache.store(file, SETTINGS, URLS);
+        cache.save();
+
+        touch(file);
+        assertEquals(Optional.of(URLS), cache.lookup(file, SETTINGS));
+        touch(file);
+        assertEquals(Optional.of(URLS), ExtractionCache.load(cacheFile).lookup(file, SETTINGS));
+    }
+
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    }
+
+    /**
+     * URLs extracted with other reader settings should not be used.
+     */
+    @Test
+    void otherExtractionSettingsAreNotFound() throws IOException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        cache.store(file, "PDFFileReader/TEXT", URLS);
+
+        assertTrue(cache.lookup(file, "PDFFileReader/BOTH").isEmpty());
+    }
+
+    /**
+     * Files that do not exist anymore should be removed when saving.
+     */
+    @Test
+    void deletedFilesAreRemovedOnSave() throws IOException, ExtractionCacheException {
+        ExtractionCache cache = new ExtractionCache(cacheFile);
+        cache.store(file, SETTINGS, URLS);
+        Files.delete(file);
+
+        cache.save();
+
+        assertEquals(0, ExtractionCache.load(cacheFile).size());
+    }
+
+    /**
+     * A missing cache file should result in an empty cache, an invalid one in an exception.
+     */
+    @Test
+    void loadMissingOrInvalidFile() throws IOException, ExtractionCacheException {
+        assertEquals(0, ExtractionCache.load(cacheFile).size());
+
+        Files.writeString(cacheFile, "{invalid");
+        assertThrows(ExtractionCacheException.class, () -> ExtractionCache.load(cacheFile));
+    }
+
+    /**
+     * The hash should be the SHA-256 hash of the file content.
+     */
+    @Test
+    void hashIsSha256() throws IOException {
+        Path emptyFile = Files.createFile(tempDir.resolve("empty.txt"));
+
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", ExtractionCache.hash(emptyFile));
+    }
+}
@@ -0,0 +1,155 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.FileModelException;
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.FileIngestionResult;
+import ch.bfh.model.FileModel;
+import ch.bfh.model.URLPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link FileIngestor} class.
+ */
+public class FileIngestorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        I18n.getResourceBundle(Locale.ENGLISH);
+    }
+
+    /**
+     * The results should be returned in the order of the given paths, independent of the processing time of a file.
+     */
+    @Test
+    public void testIngest_KeepsOrder() throws IOException {
+        List<Path> filePaths = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // Files of different sizes finish in a different order than they were submitted
+            String content = "text ".repeat((20 - i) * 1000) + "https://example.com/" + i;
+            filePaths.add(Files.writeString(tempDir.resolve("file" + i + ".txt"), content));
+        }
+
+        List<FileIngestionResult> results = new FileIngestor(4).ingest(filePaths);
+
+        assertEquals(filePaths.size(), results.size());
+        for (int i = 0; i < filePaths.size(); i++) {
+            FileIngestionResult result = results.get(i);
+            assertTrue(result.isSuccess());
+            assertEquals(filePaths.get(i), result.filePath());
+            assertEquals("https://example.com/" + i, result.fileModel().getUrlPairs().getFirst().getExtractedURL());
+            assertNotNull(result.duration());
+        }
+    }
+
+    /**
+     * A failing file should be reported without affecting the other files.
+     */
+    @Test
+    public void testIngest_ReportsFailures() throws IOException {
+        Path valid = Files.writeString(tempDir.resolve("valid.txt"), "see https://example.com");
+        Path noUrls = Files.writeString(tempDir.resolve("empty.txt"), "no links here");
+        Path missing = tempDir.resolve("missing.txt");
+
+        List<FileIngestionResult> results = new FileIngestor(2).ingest(List.of(valid, noUrls, missing));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(FileModelException.class, results.get(1).error());
+        assertNull(results.get(1).fileModel());
+        assertFalse(results.get(2).isSuccess());
+    }
+
+    /**
+     * Files produced by a source should be processed while the source is still producing, with a bounded
+     * number of files in flight, and the results should be passed on in the order the files were produced.
+     */
+    @Test
+    public void testIngest_StreamsFromSource() throws IOException {
+        List<Path> filePaths = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            filePaths.add(Files.writeString(tempDir.resolve("file" + i + ".txt"), "https://example.com/" + i));
+        }
+
+        int[] produced = {0};
+        List<FileIngestionResult> results = new ArrayList<>();
+        new FileIngestor(2).ingest(consumer -> {
+            for (Path filePath : filePaths) {
+                consumer.accept(filePath);
+                produced[0]++;
+                // Two workers may have at most four files in flight
+                assertTrue(produced[0] - results.size() <= 4);
+            }
+        }, results::add);
+
+        assertEquals(filePaths, results.stream().map(FileIngestionResult::filePath).toList());
+    }
+
+    /**
+     * A worker count of 0 or less should use one worker per processor.
+     */
+    @Test
+    public void testWorkerCount() {
+        assertEquals(3, new FileIngestor(3).getWorkerCount());
+        assertEquals(Runtime.getRuntime().availableProcessors(), new FileIngestor(0).getWorkerCount());
+    }
+
+    /**
+     * Ingesting no files should return no results.
+     */
+    @Test
+    public void testIngest_NoFiles() {
+        assertTrue(new FileIngestor(2).ingest(List.of()).isEmpty());
+    }
+
+    /**
+     * An unchanged file should take its URLs from the cache instead of being read again,
+     * and a newly read file should be added to the cache.
+     */
+    @Test
+    public void testIngest_UsesExtractionCache() throws IOException {
+        Path cached = Files.writeString(tempDir.resolve("cached.txt"), "see https://example.com");
+        Path uncached = Files.writeString(tempDir.resolve("uncached.txt"), "see https://example.org");
+        ExtractionCache cache = new ExtractionCache(tempDir.resolve("extraction_cache.json"));
+        // Pretend an earlier run found another URL, to tell a cached result from a freshly read one
+        cache.store(cached, "TextFileReader", Set.of("https://cached.example.com"));
+
+        List<FileIngestionResult> results = new FileIngestor(new ConfigModel(), cache).ingest(List.of(cached, uncached));
+
+        assertEquals("https://cached.example.com", results.get(0).fileModel().getUrlPairs().getFirst().getExtractedURL());
+        assertEquals("https://example.org", results.get(1).fileModel().getUrlPairs().getFirst().getExtractedURL());
+        assertEquals(Optional.of(Set.of("https://example.org")), cache.lookup(uncached, "TextFileReader"));
+    }
+
+    /**
+     * Different spellings of the same URL should be added once in their canonical form,
+     * while the spellings found in the file are kept.
+     */
+    @Test
+    public void testIngest_CanonicalizesURLs() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("spellings.txt"),
+                "see https://x.org/a and https://X.org/a/ and https://x.org/a#sec");
+
+        FileModel fileModel = new FileIngestor(1).ingest(List.of(file)).getFirst().fileModel();
+
+        assertEquals(1, fileModel.getUrlPairs().size());
+        URLPair pair = fileModel.getUrlPairs().getFirst();
+        assertEquals("https://x.org/a", pair.getExtractedURL());
+        assertEquals(Set.of("https://x.org/a", "https://X.org/a/", "https://x.org/a#sec"), pair.getSourceURLs());
+    }
+}
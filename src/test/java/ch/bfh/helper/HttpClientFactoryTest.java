@@ -0,0 +1,108 @@
+package ch.bfh.helper;
+
+import ch.bfh.model.ConfigModel;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link HttpClientFactory} class.
+ * Uses a local stub server that records the client port of every request to count the opened connections.
+ */
+class HttpClientFactoryTest {
+    private static final int REQUESTS = 20;
+
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private URI uri;
+
+    /**
+     * Starts a local stub server answering every request with a small JSON body.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"status\":\"ok\"}".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/status");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Creating a client per request, as done before, opens a new connection for every URL.
+     */
+    @Test
+    void newClientPerRequestOpensOneConnectionPerRequest() throws IOException, InterruptedException {
+        for (int i = 0; i < REQUESTS; i++) {
+            send(HttpClientFactory.createHttpClient(new ConfigModel()));
+        }
+
+        assertEquals(REQUESTS, connections.size(), "Every request should need its own connection");
+    }
+
+    /**
+     * A shared client keeps the connection alive, so all requests are served over a single connection.
+     */
+    @Test
+    void sharedClientReusesConnection() throws IOException, InterruptedException {
+        HttpClient client = HttpClientFactory.createHttpClient(new ConfigModel());
+        for (int i = 0; i < REQUESTS; i++) {
+            send(client);
+        }
+
+        assertEquals(1, connections.size(), "All requests should reuse the same connection");
+    }
+
+    /**
+     * Verifies that the settings of the configuration are applied to the created client.
+     */
+    @Test
+    void createHttpClientAppliesConfiguration() {
+        ConfigModel config = new ConfigModel();
+        config.setHttp2Enabled(false);
+        config.setConnectTimeoutSeconds(3);
+
+        HttpClient client = HttpClientFactory.createHttpClient(config);
+
+        assertEquals(HttpClient.Version.HTTP_1_1, client.version());
+        assertEquals(Duration.ofSeconds(3), client.connectTimeout().orElseThrow());
+    }
+
+    /**
+     * Verifies that the shared client is only created once.
+     */
+    @Test
+    void getHttpClientReturnsSameInstance() {
+        assertSame(HttpClientFactory.getHttpClient(new ConfigModel()), HttpClientFactory.getHttpClient(new ConfigModel()));
+    }
+
+    private void send(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+    }
+}
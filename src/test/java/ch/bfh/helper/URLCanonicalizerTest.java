@@ -0,0 +1,94 @@
+package ch.bfh.helper;
+
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.URLCanonicalizationRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the {@link URLCanonicalizer} class.
+ */
+class URLCanonicalizerTest {
+    private final URLCanonicalizer canonicalizer = URLCanonicalizer.fromConfig(new ConfigModel());
+
+    /**
+     * Different spellings of the same URL should all be canonicalized to the same URL with the default rules.
+     */
+    @Test
+    void differentSpellingsHaveSameCanonicalForm() {
+        Set<String> canonicalURLs = List.of(
+                        "https://x.org/a",
+                        "https://X.org/a/",
+                        "https://x.org/a#sec",
+                        "HTTPS://x.org:443/a",
+                        "https://x.org/%61?utm_source=newsletter&utm_medium=mail")
+                .stream()
+                .map(canonicalizer::canonicalize)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("https://x.org/a"), canonicalURLs);
+    }
+
+    /**
+     * The host should be written in lower case, while the user info and the path keep their case.
+     */
+    @Test
+    void lowercaseSchemeAndHost() {
+        assertEquals("http://User@example.org/Path", canonicalizer.canonicalize("HTTP://User@Example.ORG/Path"));
+    }
+
+    /**
+     * Only the default port of the scheme should be removed.
+     */
+    @Test
+    void removeDefaultPort() {
+        assertEquals("http://example.org/a", canonicalizer.canonicalize("http://example.org:80/a"));
+        assertEquals("https://example.org:8443/a", canonicalizer.canonicalize("https://example.org:8443/a"));
+        assertEquals("https://example.org:80/a", canonicalizer.canonicalize("https://example.org:80/a"));
+    }
+
+    /**
+     * Tracking parameters should be removed, while the other parameters keep their order.
+     */
+    @Test
+    void removeTrackingParameters() {
+        assertEquals("https://example.org/a?id=3&page=2",
+                canonicalizer.canonicalize("https://example.org/a?utm_campaign=x&id=3&fbclid=abc&page=2"));
+        assertEquals("https://example.org/a?utmost=1", canonicalizer.canonicalize("https://example.org/a?utmost=1"));
+    }
+
+    /**
+     * Unreserved characters should be decoded, the other percent-encodings written in upper case.
+     */
+    @Test
+    void normalizePercentEncoding() {
+        assertEquals("https://example.org/~user%2Fdocs?q=a%20b",
+                canonicalizer.canonicalize("https://example.org/%7euser%2fdocs?q=a%20b"));
+        assertEquals("https://example.org/100%", canonicalizer.canonicalize("https://example.org/100%"));
+    }
+
+    /**
+     * Only the configured rules should be applied.
+     */
+    @Test
+    void onlyConfiguredRulesAreApplied() {
+        URLCanonicalizer fragmentOnly = new URLCanonicalizer(List.of(URLCanonicalizationRule.REMOVE_FRAGMENT), List.of());
+        assertEquals("https://Example.org/a/?utm_source=x", fragmentOnly.canonicalize("https://Example.org/a/?utm_source=x#top"));
+
+        URLCanonicalizer none = new URLCanonicalizer(List.of(), List.of());
+        assertEquals("https://Example.org/a/#top", none.canonicalize("https://Example.org/a/#top"));
+    }
+
+    /**
+     * Text without a scheme should be returned unchanged.
+     */
+    @Test
+    void urlWithoutSchemeIsUnchanged() {
+        assertEquals("Example.org/a/", canonicalizer.canonicalize("Example.org/a/"));
+    }
+}
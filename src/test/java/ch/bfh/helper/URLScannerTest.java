@@ -0,0 +1,90 @@
+package ch.bfh.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link URLScanner} class.
+ * The scanner has to find exactly the URLs matched by {@link URLExtractor#URL_PATTERN}.
+ */
+class URLScannerTest {
+    private static final String[] FRAGMENTS = {
+            "http://", "https://", "HTTP://", "hTTpS://", "http:/", "https//", "http", "s", "://", ".", "..", ",", ":",
+            "/", "-", "_", "a", "example", "com", "1", "?q=1", "&", "#", "@", "~", "+", "%20", "^", "=", " ", "\n",
+            "(", ")", "\"", "<", ">", "é", "İ"
+    };
+
+    /**
+     * Random texts built from URL fragments should result in the same matches as the regular expression.
+     */
+    @Test
+    void testScan_MatchesPattern() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int fragments = random.nextInt(30);
+            for (int j = 0; j < fragments; j++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertEquals(findWithPattern(text.toString()), scan(text.toString()), "Mismatch for: " + text);
+        }
+    }
+
+    /**
+     * Typical URLs and their surrounding punctuation should be handled like the regular expression.
+     */
+    @Test
+    void testScan_Examples() {
+        assertEquals(List.of("https://example.com/path"), scan("(see https://example.com/path)."));
+        assertEquals(List.of("http://a.b.c:8080/x?y=1#z"), scan("http://a.b.c:8080/x?y=1#z,"));
+        assertEquals(List.of("HTTPS://Example.COM"), scan("HTTPS://Example.COM..."));
+        assertEquals(List.of("https://a.b", "http://c.d"), scan("https://a.b http://c.d"));
+        assertEquals(List.of("http://x.y"), scan("http://localhost http://x.y"));
+        assertEquals(List.of(), scan("https://localhost:8080/path"));
+        assertEquals(List.of(), scan(""));
+    }
+
+    /**
+     * Long runs of dotted labels should be scanned without recursion,
+     * while the regular expression fails with a stack overflow on such input.
+     */
+    @Test
+    void testScan_LongDottedRun() {
+        String text = "http://" + "a.".repeat(200000) + ".";
+        assertEquals(List.of("http://" + "a.".repeat(199999) + "a"), scan(text));
+    }
+
+    /**
+     * Only characters that may occur in a URL should be reported as URL characters.
+     */
+    @Test
+    void testIsURLChar() {
+        for (char c : "aZ09_-.,@?^=%&:/~+#".toCharArray()) {
+            assertTrue(URLScanner.isURLChar(c), "Should be a URL character: " + c);
+        }
+        for (char c : " \t\n()[]{}<>\"'|\\!;é".toCharArray()) {
+            assertFalse(URLScanner.isURLChar(c), "Should not be a URL character: " + c);
+        }
+    }
+
+    private static List<String> scan(String text) {
+        List<String> urls = new ArrayList<>();
+        URLScanner.scan(text, urls::add);
+        return urls;
+    }
+
+    private static List<String> findWithPattern(String text) {
+        List<String> urls = new ArrayList<>();
+        Matcher matcher = URLExtractor.URL_PATTERN.matcher(text);
+        while (matcher.find()) {
+            urls.add(matcher.group());
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,107 @@
+package ch.bfh.helper;
+
+import ch.bfh.model.ConfigModel;
+import ch.bfh.model.SupportedBrowsers;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the browser options created by the {@link WebDriverFactory} class.
+ */
+class WebDriverFactoryTest {
+
+    private static ConfigModel createConfig(boolean headless, boolean blockImages, boolean blockMedia, String profileDirectory) {
+        ConfigModel config = new ConfigModel();
+        config.setBrowserHeadless(headless);
+        config.setBlockBrowserImages(blockImages);
+        config.setBlockBrowserMedia(blockMedia);
+        config.setBrowserProfileDirectory(profileDirectory);
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getBrowserSpecificOptions(MutableCapabilities options, String key) {
+        return (Map<String, Object>) options.asMap().get(key);
+    }
+
+    /**
+     * The Firefox options should contain the headless argument, the blocking preferences and the profile directory.
+     */
+    @Test
+    void firefoxOptionsFollowConfig() {
+        MutableCapabilities options = WebDriverFactory.getBrowserOptions(SupportedBrowsers.FIREFOX,
+                createConfig(true, true, true, "profiles/firefox"));
+
+        assertInstanceOf(FirefoxOptions.class, options);
+        Map<String, Object> firefoxOptions = getBrowserSpecificOptions(options, "moz:firefoxOptions");
+        List<?> arguments = (List<?>) firefoxOptions.get("args");
+        Map<?, ?> preferences = (Map<?, ?>) firefoxOptions.get("prefs");
+        assertTrue(arguments.contains("-headless"));
+        assertEquals(List.of("-profile", "profiles/firefox"), arguments.subList(arguments.indexOf("-profile"), arguments.indexOf("-profile") + 2));
+        assertEquals(2, preferences.get("permissions.default.image"));
+        assertEquals(5, preferences.get("media.autoplay.default"));
+    }
+
+    /**
+     * The Chrome options should contain the headless argument, the image preference and the profile directory.
+     */
+    @Test
+    void chromeOptionsFollowConfig() {
+        MutableCapabilities options = WebDriverFactory.getBrowserOptions(SupportedBrowsers.CHROME,
+                createConfig(true, true, true, "profiles/chrome"));
+
+        assertInstanceOf(ChromeOptions.class, options);
+        Map<String, Object> chromeOptions = getBrowserSpecificOptions(options, "goog:chromeOptions");
+        List<?> arguments = (List<?>) chromeOptions.get("args");
+        Map<?, ?> preferences = (Map<?, ?>) chromeOptions.get("prefs");
+        assertTrue(arguments.contains("--headless=new"));
+        assertTrue(arguments.contains("--autoplay-policy=user-gesture-required"));
+        assertTrue(arguments.contains("--user-data-dir=profiles/chrome"));
+        assertEquals(2, preferences.get("profile.managed_default_content_settings.images"));
+    }
+
+    /**
+     * Without any browser settings, the Edge options should only set the page load strategy.
+     */
+    @Test
+    void edgeOptionsWithoutSettings() {
+        MutableCapabilities options = WebDriverFactory.getBrowserOptions(SupportedBrowsers.EDGE,
+                createConfig(false, false, false, ""));
+
+        assertInstanceOf(EdgeOptions.class, options);
+        Map<String, Object> edgeOptions = getBrowserSpecificOptions(options, "ms:edgeOptions");
+        assertEquals(List.of(), edgeOptions.get("args"));
+        assertFalse(edgeOptions.containsKey("prefs"));
+        assertEquals(PageLoadStrategy.EAGER.toString(), String.valueOf(options.getCapability("pageLoadStrategy")));
+    }
+
+    /**
+     * The default configuration should launch a browser with a window and a temporary profile.
+     */
+    @Test
+    void defaultConfigKeepsWindowAndTemporaryProfile() {
+        MutableCapabilities options = WebDriverFactory.getBrowserOptions(SupportedBrowsers.CHROME, new ConfigModel());
+
+        List<?> arguments = (List<?>) getBrowserSpecificOptions(options, "goog:chromeOptions").get("args");
+        assertFalse(arguments.contains("--headless=new"));
+        assertTrue(arguments.stream().noneMatch(argument -> argument.toString().startsWith("--user-data-dir")));
+    }
+
+    /**
+     * Options for browsers that cannot be launched should be rejected.
+     */
+    @Test
+    void unsupportedBrowserIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> WebDriverFactory.getBrowserOptions(SupportedBrowsers.UNSUPPORTED, new ConfigModel()));
+    }
+}
@@ -0,0 +1,203 @@
+package ch.bfh.helper;
+
+import ch.bfh.exceptions.ArchiverException;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link WebDriverPool} class.
+ */
+class WebDriverPoolTest {
+    private final List<FakeDriver> launched = new ArrayList<>();
+
+    private WebDriverPool createPool(int maxSize, int maxUses) {
+        return new WebDriverPool(maxSize, maxUses, () -> {
+            FakeDriver fake = new FakeDriver();
+            launched.add(fake);
+            return fake.driver;
+        });
+    }
+
+    private FakeDriver fakeOf(WebDriver driver) {
+        return launched.stream().filter(fake -> fake.driver == driver).findFirst().orElseThrow();
+    }
+
+    /**
+     * A released session should be handed out again instead of launching a new browser.
+     */
+    @Test
+    void releasedDriverIsReused() throws ArchiverException {
+        WebDriverPool pool = createPool(1, 0);
+
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        WebDriver second = pool.borrow();
+
+        assertSame(first, second);
+        assertEquals(1, launched.size());
+        assertFalse(fakeOf(first).quit);
+    }
+
+    /**
+     * A session whose browser no longer responds should be quit and replaced by a new one.
+     */
+    @Test
+    void unhealthyDriverIsReplaced() throws ArchiverException {
+        WebDriverPool pool = createPool(1, 0);
+
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        fakeOf(first).healthy = false;
+        WebDriver second = pool.borrow();
+
+        assertNotSame(first, second);
+        assertTrue(fakeOf(first).quit);
+        assertEquals(2, launched.size());
+    }
+
+    /**
+     * A session should be quit after its maximum number of uses.
+     */
+    @Test
+    void driverIsRecycledAfterMaxUses() throws ArchiverException {
+        WebDriverPool pool = createPool(1, 2);
+
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        assertSame(first, pool.borrow());
+        pool.release(first);
+
+        assertTrue(fakeOf(first).quit);
+        assertEquals(0, pool.getIdleCount());
+        assertNotSame(first, pool.borrow());
+    }
+
+    /**
+     * Borrowing should block while all sessions are in use and continue once one is released.
+     */
+    @Test
+    void borrowBlocksWhenPoolIsExhausted() throws Exception {
+        WebDriverPool pool = createPool(1, 0);
+        WebDriver first = pool.borrow();
+
+        CompletableFuture<WebDriver> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (ArchiverException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+        pool.release(first);
+        assertSame(first, waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * An invalidated session should be quit and free its place for a new one.
+     */
+    @Test
+    void invalidatedDriverIsQuit() throws ArchiverException {
+        WebDriverPool pool = createPool(1, 0);
+
+        WebDriver first = pool.borrow();
+        pool.invalidate(first);
+        WebDriver second = pool.borrow();
+
+        assertTrue(fakeOf(first).quit);
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Shutting down should quit the idle sessions and the sessions in use, and reject new borrows.
+     */
+    @Test
+    void shutdownQuitsAllDrivers() throws ArchiverException {
+        WebDriverPool pool = createPool(2, 0);
+        WebDriver idle = pool.borrow();
+        WebDriver inUse = pool.borrow();
+        pool.release(idle);
+
+        pool.shutdown();
+        assertTrue(fakeOf(idle).quit);
+        assertTrue(fakeOf(inUse).quit);
+
+        pool.release(inUse);
+        assertEquals(1, fakeOf(inUse).quitCount);
+        assertThrows(ArchiverException.class, pool::borrow);
+    }
+
+    /**
+     * Clearing should quit the idle sessions right away and the sessions in use once released, while new sessions
+     * are still launched.
+     */
+    @Test
+    void clearQuitsIdleDrivers() throws ArchiverException {
+        WebDriverPool pool = createPool(2, 0);
+        WebDriver idle = pool.borrow();
+        WebDriver inUse = pool.borrow();
+        pool.release(idle);
+
+        pool.clear();
+        assertTrue(fakeOf(idle).quit);
+        assertFalse(fakeOf(inUse).quit);
+        assertEquals(0, pool.getIdleCount());
+
+        pool.release(inUse);
+        assertTrue(fakeOf(inUse).quit);
+        WebDriver next = pool.borrow();
+        assertNotSame(idle, next);
+        assertNotSame(inUse, next);
+    }
+
+    /**
+     * A session that cannot be launched should not use up a place in the pool.
+     */
+    @Test
+    void failedLaunchFreesItsPlace() throws ArchiverException {
+        WebDriverPool pool = new WebDriverPool(1, 0, () -> {
+            throw new ArchiverException("No browser installed");
+        });
+
+        assertThrows(ArchiverException.class, pool::borrow);
+        assertThrows(ArchiverException.class, pool::borrow);
+    }
+
+    /**
+     * A WebDriver stand-in answering only the calls made by the pool.
+     */
+    private static class FakeDriver {
+        private boolean healthy = true;
+        private boolean quit;
+        private int quitCount;
+        private final WebDriver driver = (WebDriver) Proxy.newProxyInstance(
+                WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class}, (proxy, method, args) ->
+                        switch (method.getName()) {
+                            case "getWindowHandle" -> {
+                                if (!healthy || quit) {
+                                    throw new NoSuchSessionException("Browser closed");
+                                }
+                                yield "window";
+                            }
+                            case "quit" -> {
+                                quit = true;
+                                quitCount++;
+                                yield null;
+                            }
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            case "toString" -> "FakeDriver";
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+}
@@ -77,4 +77,28 @@ class ConfigModelTest {
         config.setBrowser(SupportedBrowsers.FIREFOX);
         assertEquals(SupportedBrowsers.FIREFOX, config.getBrowser(), "Browser should be updated by setter");
     }
+
+    /**
+     * Tests the default HTTP client settings of ConfigModel.
+     * Verifies that HTTP/2, the connect timeout and the keep-alive timeout are set to their default values.
+     */
+    @Test
+    void testDefaultHttpClientSettings() {
+        ConfigModel config = new ConfigModel();
+        assertTrue(config.isHttp2Enabled(), "HTTP/2 should be enabled by default");
+        assertEquals(ConfigModel.DEFAULT_CONNECT_TIMEOUT_SECONDS, config.getConnectTimeoutSeconds(), "Default connect timeout should be used");
+        assertEquals(ConfigModel.DEFAULT_KEEP_ALIVE_SECONDS, config.getKeepAliveSeconds(), "Default keep-alive should be used");
+    }
+
+    /**
+     * Verifies that the folder ingestion uses one worker per processor by default.
+     */
+    @Test
+    void testDefaultIngestionWorkers() {
+        ConfigModel config = new ConfigModel();
+        assertEquals(ConfigModel.DEFAULT_INGESTION_WORKERS, config.getIngestionWorkers(), "Default worker count should be used");
+
+        config.setIngestionWorkers(8);
+        assertEquals(8, config.getIngestionWorkers());
+    }
 }
@@ -8,6 +8,8 @@ import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -100,4 +102,25 @@ class FileModelTest {
         assertTrue(pair.getArchivedURLs().contains(archivedURL),
                 "The archived URL should be added to the URL pair");
     }
+
+    /**
+     * Test that URLs keep their extraction order, are only added once, and can be looked up by extracted URL.
+     */
+    @Test
+    void testGetUrlPairKeepsOrderAndSkipsDuplicates() {
+        Set<String> extractedURLs = new LinkedHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            extractedURLs.add("https://example.com/" + i);
+        }
+        fileModel.addExtractedURLs(extractedURLs);
+        fileModel.addExtractedURLs(Set.of("https://example.com/42"));
+        fileModel.addArchivedURL("https://example.com/4999", "https://archive.com/4999");
+
+        List<URLPair> pairs = fileModel.getUrlPairs();
+        assertEquals(5000, pairs.size(), "Every URL should only be added once");
+        assertEquals("https://example.com/0", pairs.getFirst().getExtractedURL());
+        assertSame(pairs.getLast(), fileModel.getUrlPair("https://example.com/4999"));
+        assertEquals(List.of("https://archive.com/4999"), pairs.getLast().getArchivedURLs());
+        assertNull(fileModel.getUrlPair("https://unknown.com"));
+    }
 }
@@ -8,7 +8,10 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -91,4 +94,38 @@ class FolderModelTest {
         String expectedBasePath = tempDir.toString() + File.separator;
         assertEquals(expectedBasePath, folder.getBasePath(), "Base path should match the temporary directory path");
     }
+
+    /**
+     * Test the URL index and the sharing of URL pairs between files.
+     * Validates that every URL is listed once with all files referencing it, and that an archived URL
+     * added through one file is visible in every file referencing the URL, except files that already had
+     * other archived URLs for it.
+     */
+    @Test
+    void testSharedURLPairs() {
+        FolderModel sharedFolder = new FolderModel(tempDir.toString());
+        FileModel first = new FileModel(Path.of("first.txt"), "text/plain");
+        first.addExtractedURLs(Set.of("https://example.com", "https://example.org"));
+        FileModel second = new FileModel(Path.of("second.txt"), "text/plain");
+        second.addExtractedURLs(Set.of("https://example.com"));
+        FileModel third = new FileModel(Path.of("third.txt"), "text/plain");
+        third.addExtractedURLs(Set.of("https://example.com"));
+        third.addArchivedURL("https://example.com", "https://archive.ph/abc");
+        sharedFolder.addFile(first);
+        sharedFolder.addFile(second);
+        sharedFolder.addFile(third);
+
+        first.addArchivedURL("https://example.com", "https://archive.ph/def");
+
+        Map<String, List<FileModel>> urlIndex = sharedFolder.getURLIndex();
+        assertEquals(2, urlIndex.size(), "Every URL should be listed once");
+        assertEquals(List.of(first, second, third), urlIndex.get("https://example.com"));
+        assertEquals(List.of("https://archive.ph/def"), second.getUrlPairs().getFirst().getArchivedURLs(),
+                "Archived URLs should be shared between the files");
+        assertEquals(List.of("https://archive.ph/abc"), third.getUrlPairs().getFirst().getArchivedURLs(),
+                "Archived URLs a file already had should be kept");
+        assertSame(first.getUrlPairs().stream().filter(pair -> pair.getExtractedURL().equals("https://example.com")).findFirst().orElseThrow(),
+                second.getUrlPairs().getFirst());
+        assertEquals(2, first.getUrlPairs().size(), "Every file should keep its own URLs");
+    }
 }
@@ -0,0 +1,79 @@
+package ch.bfh.model.filereader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the {@link MappedFileReader} class.
+ */
+class MappedFileReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that multibyte characters split by the end of a window are decoded correctly.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Decode characters across window boundaries")
+    void testReadAcrossWindows() throws IOException {
+        String content = "Grüße aus Zürich 🌍 https://example.com/ä ".repeat(100);
+        Path file = Files.writeString(tempDir.resolve("test.txt"), content);
+
+        for (long windowSize : new long[]{1, 3, 7, 64, 1 << 20}) {
+            assertEquals(content, readAll(new MappedFileReader(file, StandardCharsets.UTF_8, windowSize)),
+                    "Content should match for window size " + windowSize);
+        }
+    }
+
+    /**
+     * Tests that an empty file is read as empty content.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Read an empty file")
+    void testReadEmptyFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("empty.txt"), "");
+
+        assertEquals("", readAll(new MappedFileReader(file, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests that malformed input is reported like when reading the file into a String.
+     *
+     * @throws IOException if an error occurs during file creation.
+     */
+    @Test
+    @DisplayName("Report malformed input")
+    void testReadMalformedInput() throws IOException {
+        Path file = Files.write(tempDir.resolve("malformed.txt"), new byte[]{'a', (byte) 0xC3});
+
+        assertThrows(CharacterCodingException.class, () -> readAll(new MappedFileReader(file, StandardCharsets.UTF_8)));
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        try (reader) {
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[5];
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+                content.append(buffer, 0, read);
+            }
+            return content.toString();
+        }
+    }
+}
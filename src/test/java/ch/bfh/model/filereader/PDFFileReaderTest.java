@@ -1,11 +1,15 @@
 package ch.bfh.model.filereader;
 
+import ch.bfh.model.PdfExtractionStrategy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.pdmodel.interactive.action.PDActionURI;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
 import org.junit.jupiter.api.Disabled;
@@ -13,11 +17,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Random;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Tests for the {@link PDFFileReader} class.
@@ -77,6 +84,100 @@ class PDFFileReaderTest {
                 "Should throw IOException for unreadable PDF");
     }
 
+    /**
+     * Verifies that reading a document in parallel page ranges gives the same result as reading it at once,
+     * with the hyperlinks in page order.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Read PDF pages in parallel")
+    void testReadFileInParallelPageRanges() throws IOException {
+        Path testPdf = createTestPdfWithLinkPerPage(10);
+        PDFFileReader parallelReader = new PDFFileReader(2, 3);
+        PDFFileReader sequentialReader = new PDFFileReader(0, 3);
+
+        String content = parallelReader.readFile(testPdf);
+
+        assertTrue(parallelReader.isParallel(10), "Document should be split into page ranges");
+        assertEquals(sequentialReader.readFile(testPdf), content, "Parallel and sequential content should be equal");
+        for (int page = 1; page < 10; page++) {
+            assertTrue(content.indexOf("http://example.com/page/" + page) < content.indexOf("http://example.com/page/" + (page + 1)),
+                    "Hyperlinks should be in page order");
+        }
+    }
+
+    /**
+     * Verifies when a document is split into page ranges.
+     */
+    @Test
+    @DisplayName("Split only large PDF documents")
+    void testIsParallel() {
+        PDFFileReader reader = new PDFFileReader(200, 50);
+
+        assertFalse(reader.isParallel(200), "Document at the threshold should be read at once");
+        assertTrue(reader.isParallel(201), "Document above the threshold should be read in parallel");
+        assertFalse(new PDFFileReader(0, 50).isParallel(1000), "Threshold 0 should disable parallel reading");
+        assertFalse(new PDFFileReader(1, 50).isParallel(20), "Document within one range should be read at once");
+        assertThrows(IllegalArgumentException.class, () -> new PDFFileReader(200, 0));
+    }
+
+    /**
+     * Verifies that the annotations-only strategy reads the hyperlinks and the text-only strategy skips them.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Read PDF with extraction strategy")
+    void testReadFileWithExtractionStrategy() throws IOException {
+        Path testPdf = createTestPdfWithLinkPerPage(3);
+
+        String annotations = new PDFFileReader(PdfExtractionStrategy.ANNOTATIONS).readFile(testPdf);
+        String text = new PDFFileReader(PdfExtractionStrategy.TEXT).readFile(testPdf);
+
+        assertEquals("\nhttp://example.com/page/1\nhttp://example.com/page/2\nhttp://example.com/page/3", annotations,
+                "Annotations-only content should only contain the hyperlinks");
+        assertFalse(text.contains("http://example.com"), "Text-only content should not contain the hyperlinks");
+        assertFalse(new PDFFileReader(PdfExtractionStrategy.ANNOTATIONS, 1, 1).isParallel(3),
+                "Annotations-only reading should never be split into page ranges");
+    }
+
+    /**
+     * Verifies that a large document is read without copying it into the heap.
+     * The bytes allocated by the reading thread have to stay far below the size of the file.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Read large PDF with bounded heap usage")
+    void testReadLargeFileWithBoundedHeapUsage() throws IOException {
+        Path testPdf = createLargeTestPdf(24, 2 * 1024 * 1024);
+        long fileSize = Files.size(testPdf);
+        PDFFileReader reader = new PDFFileReader(PdfExtractionStrategy.BOTH, 0, 50, 1024 * 1024);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        reader.readFile(testPdf);
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertTrue(fileSize > 48 * 1024 * 1024, "Test document should be large");
+        assertTrue(allocated < fileSize / 4, "Reading allocated " + allocated + " bytes for a file of " + fileSize + " bytes");
+    }
+
+    /**
+     * Verifies that the main memory limit is applied to the stream data of a document.
+     */
+    @Test
+    @DisplayName("Apply main memory limit")
+    void testMemoryUsageSetting() {
+        MemoryUsageSetting mixed = new PDFFileReader(PdfExtractionStrategy.BOTH, 0, 50, 1024).getMemoryUsageSetting();
+        MemoryUsageSetting mainMemoryOnly = new PDFFileReader(PdfExtractionStrategy.BOTH, 0, 50, -1).getMemoryUsageSetting();
+
+        assertTrue(mixed.useTempFile(), "Stream data beyond the limit should go to a scratch file");
+        assertEquals(1024, mixed.getMaxMainMemoryBytes());
+        assertFalse(mainMemoryOnly.useTempFile(), "A negative limit should keep all stream data in main memory");
+    }
+
     private Path createTestPdf(String text) throws IOException {
         PDDocument document = new PDDocument();
         PDPage page = new PDPage(PDRectangle.A4);
@@ -132,4 +233,45 @@ class PDFFileReaderTest {
 
         return pdfPath;
     }
+
+    private Path createTestPdfWithLinkPerPage(int pageCount) throws IOException {
+        Path pdfPath = tempDir.resolve("pages.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+
+                PDAnnotationLink link = new PDAnnotationLink();
+                PDActionURI action = new PDActionURI();
+                action.setURI("http://example.com/page/" + pageNumber);
+                link.setAction(action);
+                link.setRectangle(new PDRectangle(50, 740, 150, 20));
+                page.getAnnotations().add(link);
+            }
+            document.save(pdfPath.toFile());
+        }
+        return pdfPath;
+    }
+
+    private Path createLargeTestPdf(int pageCount, int imageBytesPerPage) throws IOException {
+        Path pdfPath = tempDir.resolve("large.pdf");
+        Random random = new Random(42);
+        try (PDDocument document = new PDDocument()) {
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+
+                // Uncompressed noise, like a scanned page that cannot be compressed well
+                byte[] pixels = new byte[imageBytesPerPage];
+                random.nextBytes(pixels);
+                PDImageXObject image = new PDImageXObject(document, new ByteArrayInputStream(pixels), null,
+                        1024, imageBytesPerPage / 1024, 8, PDDeviceGray.INSTANCE);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.drawImage(image, 0, 0, PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight());
+                }
+            }
+            document.save(pdfPath.toFile());
+        }
+        return pdfPath;
+    }
 }
@@ -1,6 +1,7 @@
 package ch.bfh.model.filereader;
 
 import ch.bfh.helper.I18n;
+import ch.bfh.model.ConfigModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +47,52 @@ class TextFileReaderTest {
         assertEquals("Sample content", content, "Content read should match the written content");
     }
 
+    /**
+     * Tests that streaming the URLs of a text file finds the same URLs as reading the whole content.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Stream URLs from a text file")
+    void testExtractURLs() throws IOException {
+        String content = "filler text ".repeat(2000) + "https://example.com/a " + "x".repeat(10000) + " http://test.com/b";
+        Path testFile = createTestFile(content);
+        TextFileReader reader = new TextFileReader();
+
+        List<String> urls = new ArrayList<>();
+        reader.extractURLs(testFile, urls::add);
+
+        assertEquals(List.of("https://example.com/a", "http://test.com/b"), urls);
+    }
+
+    /**
+     * Tests that files above the memory map threshold are read through a memory mapping with the same result.
+     *
+     * @throws IOException if an error occurs during file creation or reading.
+     */
+    @Test
+    @DisplayName("Stream URLs from a memory-mapped text file")
+    void testExtractURLsMemoryMapped() throws IOException {
+        Path testFile = createTestFile("Grüße https://example.com/ä und http://test.com/b");
+
+        List<String> urls = new ArrayList<>();
+        new TextFileReader(0).extractURLs(testFile, urls::add);
+
+        assertEquals(List.of("https://example.com/", "http://test.com/b"), urls);
+    }
+
+    /**
+     * Tests that the memory map threshold is taken from the configuration in megabytes.
+     */
+    @Test
+    @DisplayName("Create reader from configuration")
+    void testFromConfig() {
+        ConfigModel config = new ConfigModel();
+        config.setMemoryMapThresholdMB(2);
+
+        assertEquals(2L * 1024 * 1024, TextFileReader.fromConfig(config).getMemoryMapThreshold());
+    }
+
     /**
      * Tests the response to a nonexistent file path.
      * Verifies that an IOException is thrown.